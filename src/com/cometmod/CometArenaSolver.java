@@ -0,0 +1,303 @@
+package com.cometmod;
+
+import com.hypixel.hytale.math.shape.Box;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.server.core.universe.world.World;
+
+/**
+ * Places a whole wave around a comet in one pass.
+ *
+ * The arena ring (WaveThemeProvider.getSpawnRadius) is sampled once into
+ * candidate points on up to three radii. Each mob walks the candidates
+ * outward from its preferred angle and takes the first free one that its
+ * bounding box fits; every candidate is probed at most once per box, so the
+ * collision cost is shared by the whole wave instead of paid per mob.
+ *
+ * When the ring runs out of free spots, mobs reuse valid spots in the same
+ * walk order, so the fallback is deterministic. A mob only gets no position
+ * when no candidate in the ring fits it.
+ */
+public final class CometArenaSolver {
+
+    // Distance between candidate points along a ring, in blocks
+    private static final double SAMPLE_SPACING = 1.5;
+
+    // Rings sampled between the minimum and maximum radius
+    private static final int MAX_RINGS = 3;
+
+    // Boss spots (comet center and the second boss's offset) kept by an arena
+    private static final double[] BOSS_OFFSETS_X = { 0.0, 1.5 };
+
+    // Probe state per candidate and box
+    private static final byte UNKNOWN = 0;
+    private static final byte VALID_LOW = 1; // Fits at the arena height
+    private static final byte VALID_HIGH = 2; // Fits one block higher
+    private static final byte INVALID = 3;
+
+    private CometArenaSolver() {}
+
+    private static final class BossSpots {
+        final Vector3d[] spots = new Vector3d[BOSS_OFFSETS_X.length];
+        final boolean[] probed = new boolean[BOSS_OFFSETS_X.length];
+    }
+
+    /**
+     * The sampled ring around one comet and every collision probe made in it so
+     * far. Arenas are scanned when a comet lands and kept on its CometRecord
+     * until a block change nearby invalidates them, so starting a wave does no
+     * collision work. Only used on the world thread.
+     */
+    public static final class Arena {
+        private final World world;
+        private final Vector3d center;
+        private final double minRadius;
+        private final double maxRadius;
+
+        private final int ringCount;
+        private final int[] ringStart; // First candidate of each ring
+        private final int[] ringSize;
+        private final double[] candidateX;
+        private final double[] candidateZ;
+
+        // Probe results per distinct box, in the order boxes were first seen
+        private Box[] boxes = new Box[0];
+        private byte[][] probes = new byte[0][];
+
+        // Boss spot results per box
+        private final java.util.IdentityHashMap<Box, BossSpots> bossSpots = new java.util.IdentityHashMap<>();
+
+        private Arena(World world, Vector3d center, double minRadius, double maxRadius) {
+            this.world = world;
+            this.center = center;
+            this.minRadius = minRadius;
+            this.maxRadius = maxRadius;
+
+            double span = Math.max(0.0, maxRadius - minRadius);
+            this.ringCount = Math.max(1, Math.min(MAX_RINGS, (int) Math.ceil(span / 2.0) + 1));
+            this.ringStart = new int[ringCount];
+            this.ringSize = new int[ringCount];
+            double[] radii = new double[ringCount];
+            int total = 0;
+            for (int ring = 0; ring < ringCount; ring++) {
+                radii[ring] = ringCount == 1 ? (minRadius + maxRadius) / 2.0
+                        : minRadius + span * ring / (ringCount - 1);
+                ringStart[ring] = total;
+                ringSize[ring] = Math.max(1, (int) Math.ceil(2.0 * Math.PI * radii[ring] / SAMPLE_SPACING));
+                total += ringSize[ring];
+            }
+            this.candidateX = new double[total];
+            this.candidateZ = new double[total];
+            for (int ring = 0; ring < ringCount; ring++) {
+                for (int k = 0; k < ringSize[ring]; k++) {
+                    double angle = 2.0 * Math.PI * k / ringSize[ring];
+                    candidateX[ringStart[ring] + k] = center.x + Math.cos(angle) * radii[ring];
+                    candidateZ[ringStart[ring] + k] = center.z + Math.sin(angle) * radii[ring];
+                }
+            }
+        }
+
+        /**
+         * @return true if this arena was sampled for the given ring
+         */
+        public boolean matches(double minRadius, double maxRadius) {
+            return this.minRadius == minRadius && this.maxRadius == maxRadius;
+        }
+
+        /**
+         * @return true if a block change at (x, y, z) can affect any spot of this
+         *         arena
+         */
+        public boolean covers(int x, int y, int z) {
+            double dx = x + 0.5 - center.x;
+            double dz = z + 0.5 - center.z;
+            double reach = maxRadius + 2.0;
+            return dx * dx + dz * dz <= reach * reach && y >= center.y - 2 && y <= center.y + 4;
+        }
+
+        public Vector3d getCenter() {
+            return center;
+        }
+
+        public double getMaxRadius() {
+            return maxRadius;
+        }
+
+        /**
+         * Probe every ring spot for a box and both boss spots up front
+         *
+         * @return Number of ring spots the box fits
+         */
+        public int prescan(Box box) {
+            int b = boxIndex(box);
+            int valid = 0;
+            for (int candidate = 0; candidate < candidateX.length; candidate++) {
+                byte state = probe(b, candidate);
+                if (state == VALID_LOW || state == VALID_HIGH) {
+                    valid++;
+                }
+            }
+            for (int i = 0; i < BOSS_OFFSETS_X.length; i++) {
+                bossSpot(i, box);
+            }
+            return valid;
+        }
+
+        /**
+         * @return The valid spot for a boss with the given box at an index
+         *         (0 = comet center, 1 = beside it), or null if none fits or the
+         *         index has no cached spot
+         */
+        public Vector3d bossSpot(int index, Box box) {
+            if (index < 0 || index >= BOSS_OFFSETS_X.length) {
+                return null;
+            }
+            BossSpots spots = bossSpots.computeIfAbsent(box, k -> new BossSpots());
+            if (!spots.probed[index]) {
+                Vector3d preferred = new Vector3d(center.x + BOSS_OFFSETS_X[index], center.y, center.z);
+                spots.spots[index] = world == null ? preferred
+                        : CometSpawnUtil.findValidMobSpawn(world, box, preferred, 11);
+                spots.probed[index] = true;
+            }
+            Vector3d spot = spots.spots[index];
+            return spot != null ? new Vector3d(spot.x, spot.y, spot.z) : null;
+        }
+
+        private int boxIndex(Box box) {
+            for (int i = 0; i < boxes.length; i++) {
+                if (boxes[i] == box) {
+                    return i;
+                }
+            }
+            boxes = java.util.Arrays.copyOf(boxes, boxes.length + 1);
+            probes = java.util.Arrays.copyOf(probes, probes.length + 1);
+            boxes[boxes.length - 1] = box;
+            probes[probes.length - 1] = new byte[candidateX.length];
+            return boxes.length - 1;
+        }
+
+        private byte probe(int box, int candidate) {
+            byte state = probes[box][candidate];
+            if (state != UNKNOWN) {
+                return state;
+            }
+            if (world == null) {
+                state = VALID_LOW;
+            } else if (fits(box, candidate, 0)) {
+                state = VALID_LOW;
+            } else if (fits(box, candidate, 1)) {
+                state = VALID_HIGH;
+            } else {
+                state = INVALID;
+            }
+            probes[box][candidate] = state;
+            return state;
+        }
+
+        private boolean fits(int box, int candidate, int dy) {
+            return CometSpawnUtil.isValidMobSpawn(world, boxes[box],
+                    candidateX[candidate], center.y + dy, candidateZ[candidate]);
+        }
+    }
+
+    /**
+     * Sample the arena ring around a comet. No collision work is done until the
+     * arena is prescanned or solved.
+     *
+     * @param world     World to validate against, or null to skip validation
+     * @param center    Arena center (top of the comet block)
+     * @param minRadius Inner radius of the arena ring
+     * @param maxRadius Outer radius of the arena ring
+     */
+    public static Arena sample(World world, Vector3d center, double minRadius, double maxRadius) {
+        return new Arena(world, center, minRadius, maxRadius);
+    }
+
+    /**
+     * Find a standing position for every mob of a wave, spread evenly around
+     * the comet. Probes the arena only where it has not been probed yet.
+     *
+     * @param arena Sampled arena ring
+     * @param boxes Bounding box of each mob, in spawn order
+     * @param phase Angle of the first mob, in radians
+     * @return One position per mob; an entry is null if nothing in the ring
+     *         fits that mob
+     */
+    public static Vector3d[] solve(Arena arena, Box[] boxes, double phase) {
+        Vector3d[] result = new Vector3d[boxes.length];
+        if (boxes.length == 0) {
+            return result;
+        }
+        int[] boxIndex = new int[boxes.length];
+        for (int i = 0; i < boxes.length; i++) {
+            boxIndex[i] = arena.boxIndex(boxes[i]);
+        }
+        boolean[] claimed = new boolean[arena.candidateX.length];
+
+        // First pass: distinct spots
+        for (int mob = 0; mob < boxes.length; mob++) {
+            result[mob] = place(arena, boxIndex[mob], preferredAngle(mob, boxes.length, phase), claimed, true);
+        }
+        // Fallback: share a valid spot rather than drop the mob
+        for (int mob = 0; mob < boxes.length; mob++) {
+            if (result[mob] == null) {
+                result[mob] = place(arena, boxIndex[mob], preferredAngle(mob, boxes.length, phase), claimed, false);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Sample and solve in one go, for arenas that are not cached
+     */
+    public static Vector3d[] solve(World world, Vector3d center, double minRadius, double maxRadius, Box[] boxes,
+            double phase) {
+        return solve(sample(world, center, minRadius, maxRadius), boxes, phase);
+    }
+
+    /**
+     * @return Yaw that faces a spawned mob toward the arena center
+     */
+    public static float yawTowardCenter(Vector3d center, Vector3d pos) {
+        return (float) (Math.atan2(pos.z - center.z, pos.x - center.x) + Math.PI);
+    }
+
+    private static double preferredAngle(int mob, int mobCount, double phase) {
+        double angle = (phase + 2.0 * Math.PI * mob / mobCount) % (2.0 * Math.PI);
+        return angle < 0 ? angle + 2.0 * Math.PI : angle;
+    }
+
+    private static Vector3d place(Arena arena, int box, double target, boolean[] claimed, boolean distinct) {
+        int maxHalf = 0;
+        for (int ring = 0; ring < arena.ringCount; ring++) {
+            maxHalf = Math.max(maxHalf, arena.ringSize[ring] / 2);
+        }
+        int firstRing = (int) (target * 1000) % arena.ringCount;
+
+        // Walk outward from the preferred angle; rotate the ring tried first so
+        // mobs spread across the radius as well
+        for (int step = 0; step <= maxHalf; step++) {
+            for (int r = 0; r < arena.ringCount; r++) {
+                int ring = (firstRing + r) % arena.ringCount;
+                int size = arena.ringSize[ring];
+                if (step > size / 2) {
+                    continue;
+                }
+                int base = (int) Math.round(target / (2.0 * Math.PI) * size) % size;
+                for (int sign = 0; sign < (step == 0 ? 1 : 2); sign++) {
+                    int k = Math.floorMod(base + (sign == 0 ? step : -step), size);
+                    int candidate = arena.ringStart[ring] + k;
+                    if (distinct && claimed[candidate]) {
+                        continue;
+                    }
+                    byte state = arena.probe(box, candidate);
+                    if (state == VALID_LOW || state == VALID_HIGH) {
+                        claimed[candidate] = true;
+                        return new Vector3d(arena.candidateX[candidate],
+                                arena.center.y + (state == VALID_HIGH ? 1 : 0), arena.candidateZ[candidate]);
+                    }
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -15,12 +15,10 @@ import javax.annotation.Nullable;
 
 public class CometBlockBreakSystem extends EntityEventSystem<EntityStore, BreakBlockEvent> {
 
-    private final CometWaveManager waveManager;
     private static final java.util.logging.Logger LOGGER = java.util.logging.Logger.getLogger("CometBlockBreakSystem");
 
-    public CometBlockBreakSystem(CometWaveManager waveManager) {
+    public CometBlockBreakSystem() {
         super(BreakBlockEvent.class);
-        this.waveManager = waveManager;
     }
 
     @Override
@@ -35,12 +33,20 @@ public class CometBlockBreakSystem extends EntityEventSystem<EntityStore, BreakB
             @Nonnull CommandBuffer<EntityStore> commandBuffer,
             @Nonnull BreakBlockEvent event) {
 
+        com.hypixel.hytale.math.vector.Vector3i blockPos = event.getTargetBlock();
+
+        CometWorldShard shard = CometModPlugin.getShard(store);
+        if (shard == null) {
+            return;
+        }
+
         String blockTypeId = event.getBlockType().getId();
         if (!blockTypeId.startsWith("Comet_Stone")) {
+            // Any other break can open or close spawn spots around a waiting comet
+            shard.getWaveManager().invalidateArenasNear(shard.getWorld(), blockPos);
             return;
         }
-
-        com.hypixel.hytale.math.vector.Vector3i blockPos = event.getTargetBlock();
+        CometWaveManager waveManager = shard.getWaveManager();
 
         // Only the owner can break the crystal
         java.util.UUID owner = waveManager.getCometOwner(blockPos);
@@ -97,7 +103,7 @@ public class CometBlockBreakSystem extends EntityEventSystem<EntityStore, BreakB
             }
 
             waveManager.handleBlockBreak(store, blockPos);
-            CometDespawnTracker.getInstance().unregisterComet(blockPos);
+            shard.getDespawnTracker().unregisterComet(blockPos);
         } catch (Exception e) {
             LOGGER.severe("Error handling block break: " + e.getMessage());
             e.printStackTrace();
@@ -0,0 +1,42 @@
+package com.cometmod;
+
+import com.hypixel.hytale.component.ArchetypeChunk;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.server.core.event.events.ecs.PlaceBlockEvent;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.hypixel.hytale.component.system.EntityEventSystem;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Drops the cached arena of comets near a placed block, so their spawn spots
+ * are rescanned before the next wave
+ */
+public class CometBlockPlaceSystem extends EntityEventSystem<EntityStore, PlaceBlockEvent> {
+
+    public CometBlockPlaceSystem() {
+        super(PlaceBlockEvent.class);
+    }
+
+    @Override
+    @Nullable
+    public Query<EntityStore> getQuery() {
+        return Query.any();
+    }
+
+    @Override
+    public void handle(int index, @Nonnull ArchetypeChunk<EntityStore> archetypeChunk,
+            @Nonnull Store<EntityStore> store,
+            @Nonnull CommandBuffer<EntityStore> commandBuffer,
+            @Nonnull PlaceBlockEvent event) {
+
+        CometWorldShard shard = CometModPlugin.getShard(store);
+        if (shard == null) {
+            return;
+        }
+        shard.getWaveManager().invalidateArenasNear(shard.getWorld(), event.getTargetBlock());
+    }
+}
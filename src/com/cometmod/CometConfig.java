@@ -17,6 +17,7 @@ import com.cometmod.config.ThemeConfigParser;
 import com.cometmod.config.ThemeConfigWriter;
 import com.cometmod.config.TierSettings;
 import com.cometmod.config.TierRewards;
+import com.cometmod.config.WavePlan;
 import com.cometmod.config.ZoneSpawnChances;
 
 /**
@@ -47,10 +48,22 @@ public class CometConfig {
     // Global comets setting - if true, any player can trigger any comet (not just the owner)
     public boolean globalComets = false;
 
+    // Wave spawn budget per world tick - waves larger than this fill in over several ticks
+    public int waveSpawnsPerTick = 4;
+    public int waveSpawnMicrosPerTick = 2000;
+
+    // Server-wide cap on wave NPCs across all worlds (0 = unlimited). An activation
+    // that does not fit waits its turn ("queue") or starts with fewer mobs ("scale")
+    public int waveNpcBudget = 0;
+    public String waveBudgetPolicy = "queue";
+
     // Theme configurations (new)
     private Map<String, ThemeConfig> themes = new LinkedHashMap<>();
     private List<ThemeConfig> themeList = new ArrayList<>(); // Ordered list for random selection
 
+    // Compiled waves per theme, indexed by [tier - 1][waveIndex]
+    private volatile Map<String, WavePlan[][]> wavePlans = new java.util.HashMap<>();
+
     // Tier settings (new)
     private Map<Integer, TierSettings> tierSettings = new LinkedHashMap<>();
 
@@ -178,6 +191,7 @@ public class CometConfig {
             config.save();
         }
 
+        config.compileWavePlans();
         instance = config;
         return config;
     }
@@ -255,6 +269,28 @@ public class CometConfig {
                 if (value != null)
                     config.naturalSpawnsEnabled = Boolean.parseBoolean(value);
             }
+            if (parseFrom.contains("\"waveSpawnsPerTick\"")) {
+                String value = extractJsonValue(parseFrom, "waveSpawnsPerTick");
+                if (value != null)
+                    config.waveSpawnsPerTick = Math.max(1, Integer.parseInt(value));
+            }
+            if (parseFrom.contains("\"waveSpawnMicrosPerTick\"")) {
+                String value = extractJsonValue(parseFrom, "waveSpawnMicrosPerTick");
+                if (value != null)
+                    config.waveSpawnMicrosPerTick = Math.max(1, Integer.parseInt(value));
+            }
+            if (parseFrom.contains("\"waveNpcBudget\"")) {
+                String value = extractJsonValue(parseFrom, "waveNpcBudget");
+                if (value != null)
+                    config.waveNpcBudget = Math.max(0, Integer.parseInt(value));
+            }
+            if (parseFrom.contains("\"waveBudgetPolicy\"")) {
+                String value = extractJsonValue(parseFrom, "waveBudgetPolicy");
+                if (value != null) {
+                    value = value.replace("\"", "").trim().toLowerCase();
+                    config.waveBudgetPolicy = "scale".equals(value) ? "scale" : "queue";
+                }
+            }
 
             // Parse themes using ThemeConfigParser
             config.themes = ThemeConfigParser.parseThemes(json);
@@ -375,6 +411,7 @@ public class CometConfig {
         if (themes.isEmpty()) {
             themes = DefaultThemes.generateDefaults();
             themeList = new ArrayList<>(themes.values());
+            compileWavePlans();
         }
         if (tierSettings.isEmpty()) {
             tierSettings = DefaultThemes.getDefaultTierSettings();
@@ -387,8 +424,8 @@ public class CometConfig {
             String json = ThemeConfigWriter.generateFullConfig(
                     minDelaySeconds, maxDelaySeconds, spawnChance,
                     despawnTimeMinutes, minSpawnDistance, maxSpawnDistance,
-                    naturalSpawnsEnabled, globalComets,
-                    themes, tierSettings, rewardSettings, zoneSpawnChances);
+                    naturalSpawnsEnabled, globalComets, waveSpawnsPerTick, waveSpawnMicrosPerTick,
+                    waveNpcBudget, waveBudgetPolicy, themes, tierSettings, rewardSettings, zoneSpawnChances);
             writer.write(json);
             writer.flush();
             LOGGER.info("Saved Comet Mod configuration to: " + configFile.getAbsolutePath());
@@ -437,6 +474,38 @@ public class CometConfig {
         return themes.get(id);
     }
 
+    /**
+     * Get the compiled plan of a wave
+     *
+     * @param themeId   The theme ID
+     * @param tier      The comet tier (1-4)
+     * @param waveIndex The wave index (0-based)
+     * @return The plan, or null if the theme or wave does not exist
+     */
+    public WavePlan getWavePlan(String themeId, int tier, int waveIndex) {
+        WavePlan[][] plans = wavePlans.get(themeId);
+        if (plans == null || tier < 1 || tier > plans.length) {
+            return null;
+        }
+        WavePlan[] tierPlans = plans[tier - 1];
+        return waveIndex >= 0 && waveIndex < tierPlans.length ? tierPlans[waveIndex] : null;
+    }
+
+    /**
+     * Compile the wave plans of every theme; run whenever the themes change
+     */
+    private void compileWavePlans() {
+        Map<String, WavePlan[][]> compiled = new java.util.HashMap<>();
+        for (ThemeConfig theme : themes.values()) {
+            try {
+                compiled.put(theme.getId(), WavePlan.compile(theme));
+            } catch (Exception e) {
+                LOGGER.warning("Failed to compile waves for theme " + theme.getId() + ": " + e.getMessage());
+            }
+        }
+        wavePlans = compiled;
+    }
+
     /**
      * Get all themes available for a specific tier (excludes themes with naturalSpawn: false)
      *
@@ -618,6 +687,7 @@ public class CometConfig {
 
         // Add or update in themes map
         themes.put(theme.getId(), theme);
+        compileWavePlans();
 
         // Update theme list
         themeList.removeIf(t -> t.getId().equals(theme.getId()));
@@ -637,6 +707,7 @@ public class CometConfig {
 
         themes.remove(themeId);
         themeList.removeIf(t -> themeId.equals(t.getId()));
+        compileWavePlans();
 
         LOGGER.info("Removed theme: " + themeId);
     }
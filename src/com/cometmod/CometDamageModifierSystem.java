@@ -5,15 +5,12 @@ import com.hypixel.hytale.component.CommandBuffer;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.component.query.Query;
-import com.hypixel.hytale.server.core.entity.entities.Player;
 import com.hypixel.hytale.server.core.modules.entity.damage.Damage;
 import com.hypixel.hytale.server.core.modules.entity.damage.DamageEventSystem;
 import com.hypixel.hytale.server.core.modules.entity.damage.DamageModule;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
-import com.hypixel.hytale.server.npc.entities.NPCEntity;
 import com.hypixel.hytale.component.SystemGroup;
 
-import java.util.UUID;
 import java.util.logging.Logger;
 
 /**
@@ -23,6 +20,10 @@ import java.util.logging.Logger;
  * 1. Intercepting damage events before they are applied
  * 2. Checking if the damage source is a comet NPC with a damage multiplier
  * 3. Multiplying the damage amount by the configured multiplier
+ *
+ * The query matches the damage target, which is usually a player, so it cannot
+ * be narrowed to comet mobs; instead the source is resolved with a single
+ * CometStatsComponent read.
  */
 public class CometDamageModifierSystem extends DamageEventSystem {
 
@@ -55,36 +56,13 @@ public class CometDamageModifierSystem extends DamageEventSystem {
                 return;
             }
 
-            // Check if source is a player (don't modify player damage)
-            if (Player.getComponentType() != null) {
-                Player player = store.getComponent(sourceRef, Player.getComponentType());
-                if (player != null) {
-                    return; // Source is a player, don't modify
-                }
-            }
-
-            // Check if source is an NPC
-            if (NPCEntity.getComponentType() == null) {
+            // Only comet NPCs carry damage multipliers
+            CometStatsComponent stats = store.getComponent(sourceRef, CometStatsComponent.getComponentType());
+            if (stats == null) {
                 return;
             }
 
-            NPCEntity npc = store.getComponent(sourceRef, NPCEntity.getComponentType());
-            if (npc == null) {
-                return; // Source is not an NPC
-            }
-
-            // Get the NPC's UUID
-            com.hypixel.hytale.server.core.entity.UUIDComponent uuidComponent = store.getComponent(sourceRef,
-                    com.hypixel.hytale.server.core.entity.UUIDComponent.getComponentType());
-            if (uuidComponent == null) {
-                return;
-            }
-
-            UUID npcUUID = uuidComponent.getUuid();
-
-            // Get damage multiplier from our tracking system
-            float damageMultiplier = CometStatModifierSystem.getDamageMultiplier(npcUUID);
-
+            float damageMultiplier = stats.getDamageMultiplier();
             if (damageMultiplier == 1.0f) {
                 return; // No multiplier (1x), skip
             }
@@ -98,8 +76,8 @@ public class CometDamageModifierSystem extends DamageEventSystem {
 
             damage.setAmount(newDamage);
 
-            LOGGER.info("[CometDamageModifier] Modified damage from NPC " + npc.getRoleName() +
-                    ": " + originalDamage + " -> " + newDamage + " (" + damageMultiplier + "x)");
+            LOGGER.fine("[CometDamageModifier] Modified damage from comet NPC: " + originalDamage + " -> "
+                    + newDamage + " (" + damageMultiplier + "x)");
 
         } catch (Exception e) {
             LOGGER.warning("[CometDamageModifier] Error in handle: " + e.getMessage());
@@ -0,0 +1,208 @@
+package com.cometmod;
+
+import com.hypixel.hytale.math.vector.Vector3i;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.logging.Logger;
+
+/**
+ * Per-world deadline heap for all timed comet work: despawns, wave countdowns,
+ * wave timeouts and title hides.
+ *
+ * Due timers are run from CometWaveSystem on the world thread, so tasks can
+ * touch the world directly. Timers can be grouped under a comet and are then
+ * cancelled together when the comet is removed. Cancellation only flags the
+ * timer; cancelled entries are skipped when they reach the head of the heap.
+ */
+public class CometDeadlineQueue {
+
+    private static final Logger LOGGER = Logger.getLogger("CometDeadlineQueue");
+
+    // Rebuild the heap once more than this many entries are cancelled and they
+    // make up more than half of it
+    private static final int PURGE_THRESHOLD = 64;
+
+    // No comet group
+    private static final long NO_GROUP = Long.MIN_VALUE;
+
+    /**
+     * Handle to a scheduled task
+     */
+    public static final class Timer {
+        final long deadline;
+        final long group;
+        final long sequence; // FIFO order for equal deadlines
+        final Runnable task;
+        volatile boolean cancelled;
+
+        Timer(long deadline, long group, long sequence, Runnable task) {
+            this.deadline = deadline;
+            this.group = group;
+            this.sequence = sequence;
+            this.task = task;
+        }
+
+        public long getDeadline() {
+            return deadline;
+        }
+
+        /**
+         * @return true once the timer has been cancelled or has run
+         */
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    private final PriorityQueue<Timer> heap = new PriorityQueue<>(
+            (a, b) -> a.deadline != b.deadline ? Long.compare(a.deadline, b.deadline)
+                    : Long.compare(a.sequence, b.sequence));
+
+    // Comet key -> timers scheduled for that comet
+    private final Long2ObjectOpenHashMap<List<Timer>> groups = new Long2ObjectOpenHashMap<>();
+
+    private long nextSequence = 0;
+    private int cancelledCount = 0;
+
+    /**
+     * Schedule a task that does not belong to any comet (e.g. a title hide that
+     * must outlive the comet block)
+     */
+    public Timer schedule(long deadline, Runnable task) {
+        return add(deadline, NO_GROUP, task);
+    }
+
+    /**
+     * Schedule a task for a comet; it is cancelled when the comet is removed
+     */
+    public Timer schedule(Vector3i comet, long deadline, Runnable task) {
+        return add(deadline, CometRegistry.pack(comet), task);
+    }
+
+    private synchronized Timer add(long deadline, long group, Runnable task) {
+        Timer timer = new Timer(deadline, group, nextSequence++, task);
+        heap.add(timer);
+        if (group != NO_GROUP) {
+            groups.computeIfAbsent(group, k -> new ArrayList<>(4)).add(timer);
+        }
+        return timer;
+    }
+
+    /**
+     * Cancel a single timer (null-safe)
+     */
+    public synchronized void cancel(Timer timer) {
+        if (timer == null || timer.cancelled) {
+            return;
+        }
+        timer.cancelled = true;
+        cancelledCount++;
+        if (timer.group != NO_GROUP) {
+            List<Timer> group = groups.get(timer.group);
+            if (group != null) {
+                group.remove(timer);
+                if (group.isEmpty()) {
+                    groups.remove(timer.group);
+                }
+            }
+        }
+        purgeIfNeeded();
+    }
+
+    /**
+     * Cancel every pending timer of a comet
+     */
+    public synchronized void cancelComet(long cometKey) {
+        List<Timer> group = groups.remove(cometKey);
+        if (group == null) {
+            return;
+        }
+        for (Timer timer : group) {
+            if (!timer.cancelled) {
+                timer.cancelled = true;
+                cancelledCount++;
+            }
+        }
+        purgeIfNeeded();
+    }
+
+    /**
+     * Run every timer whose deadline has passed, in deadline order. Tasks
+     * scheduled while running are picked up if they are already due.
+     *
+     * @return Number of tasks run
+     */
+    public int runDue(long now) {
+        int ran = 0;
+        while (true) {
+            Timer timer = pollDue(now);
+            if (timer == null) {
+                return ran;
+            }
+            try {
+                timer.task.run();
+            } catch (Exception e) {
+                LOGGER.warning("Error running comet timer: " + e.getMessage());
+            }
+            ran++;
+        }
+    }
+
+    private synchronized Timer pollDue(long now) {
+        while (!heap.isEmpty()) {
+            Timer head = heap.peek();
+            if (head.cancelled) {
+                heap.poll();
+                cancelledCount--;
+                continue;
+            }
+            if (head.deadline > now) {
+                return null;
+            }
+            heap.poll();
+            // Mark as done so a later cancel is a no-op
+            head.cancelled = true;
+            if (head.group != NO_GROUP) {
+                List<Timer> group = groups.get(head.group);
+                if (group != null) {
+                    group.remove(head);
+                    if (group.isEmpty()) {
+                        groups.remove(head.group);
+                    }
+                }
+            }
+            return head;
+        }
+        return null;
+    }
+
+    private void purgeIfNeeded() {
+        if (cancelledCount > PURGE_THRESHOLD && cancelledCount > heap.size() / 2) {
+            heap.removeIf(timer -> timer.cancelled);
+            cancelledCount = 0;
+        }
+    }
+
+    public synchronized int size() {
+        return heap.size() - cancelledCount;
+    }
+
+    /**
+     * Drop every pending timer without running it (world shutdown)
+     *
+     * @return Number of live timers that were dropped
+     */
+    public synchronized int clear() {
+        int dropped = size();
+        for (Timer timer : heap) {
+            timer.cancelled = true;
+        }
+        heap.clear();
+        groups.clear();
+        cancelledCount = 0;
+        return dropped;
+    }
+}
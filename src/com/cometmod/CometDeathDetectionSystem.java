@@ -13,16 +13,11 @@ import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import javax.annotation.Nonnull;
 
 public class CometDeathDetectionSystem extends DamageEventSystem {
-    private final CometWaveManager waveManager;
-
-    public CometDeathDetectionSystem(CometWaveManager waveManager) {
-        this.waveManager = waveManager;
-    }
 
     @Override
     @Nonnull
     public Query<EntityStore> getQuery() {
-        return Query.any();
+        return CometMobComponent.getComponentType();
     }
 
     @Override
@@ -36,7 +31,10 @@ public class CometDeathDetectionSystem extends DamageEventSystem {
         commandBuffer.run(deferredStore -> {
             DeathComponent deathComponent = deferredStore.getComponent(entityRef, DeathComponent.getComponentType());
             if (deathComponent != null) {
-                waveManager.handleMobDeath(entityRef);
+                CometWaveManager waveManager = CometModPlugin.getWaveManager(deferredStore);
+                if (waveManager != null) {
+                    waveManager.handleMobDeath(entityRef);
+                }
             }
         });
     }
@@ -7,64 +7,103 @@ import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
 import java.io.*;
 import java.nio.file.*;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
 /**
  * Tracks comet spawn times for persistent despawn across server restarts.
  * Saves data to JSON file and loads on startup.
+ *
+ * One tracker exists per world (owned by its CometWorldShard), each with its
+ * own data file. Spawn times live on the world's CometRecords; the file is
+ * rewritten whenever a despawn-tracked record is removed from the registry.
+ * Each tracked comet has exactly one despawn timer in the world's deadline
+ * queue, cancelled with the comet's other timers when it is removed.
  */
 public class CometDespawnTracker {
     
     private static final Logger LOGGER = Logger.getLogger("CometDespawnTracker");
-    private static final String DATA_FILE_NAME = "comet_despawns.json";
-    
-    // Track active comets: position -> spawn timestamp (milliseconds since epoch)
-    private final Map<String, Long> cometSpawnTimes = new ConcurrentHashMap<>();
+    private static final String LEGACY_DATA_FILE_NAME = "comet_despawns.json";
+
+    // Expired comets found at startup are removed shortly after, once the world has loaded
+    private static final long EXPIRED_STARTUP_DELAY_MS = 2000;
 
-    // Track comet tiers for logging
-    private final Map<String, String> cometTiers = new ConcurrentHashMap<>();
+    // The pre-sharding data file is migrated into the first world that starts up
+    private static boolean legacyFileClaimed = false;
 
-    // Track custom despawn times per comet (null = use global)
-    private final Map<String, Double> customDespawnTimes = new ConcurrentHashMap<>();
+    private final World world;
+    private final String worldName;
+    private final String dataFileName;
+    
+    // Comets of this world; despawn-tracked records carry a spawn time
+    private final CometRegistry registry;
+
+    // Despawn timers, run on the world thread
+    private final CometDeadlineQueue deadlines;
     
     // Flag to prevent processing multiple times
     private boolean hasProcessedStartup = false;
-    
-    private static CometDespawnTracker instance;
-    
-    public static CometDespawnTracker getInstance() {
-        if (instance == null) {
-            LOGGER.info("[TRACKER] Creating new CometDespawnTracker instance...");
-            instance = new CometDespawnTracker();
-        }
-        return instance;
-    }
-    
-    private CometDespawnTracker() {
-        LOGGER.info("[TRACKER] CometDespawnTracker constructor called");
+
+    public CometDespawnTracker(World world, CometRegistry registry, CometDeadlineQueue deadlines) {
+        this.world = world;
+        this.worldName = world.getName();
+        this.registry = registry;
+        this.deadlines = deadlines;
+        this.dataFileName = "comet_despawns_" + worldName.replaceAll("[^A-Za-z0-9_.-]", "_") + ".json";
+        // Persist whenever a tracked comet goes away, whoever removed it
+        registry.addRemovalListener(record -> {
+            if (record.isDespawnTracked()) {
+                LOGGER.info("Unregistered comet at " + record.getPos());
+                save();
+            }
+        });
         // Load existing data on creation
         load();
-        LOGGER.info("[TRACKER] Loaded " + cometSpawnTimes.size() + " comets from file");
+        LOGGER.info("[TRACKER] Loaded " + getTrackedRecords().size() + " comets for world " + worldName);
     }
-    
+
     /**
-     * Convert Vector3i to string key for map storage
+     * @return All records registered for persistent despawn
      */
-    private String posToKey(Vector3i pos) {
-        return pos.x + "," + pos.y + "," + pos.z;
+    private List<CometRecord> getTrackedRecords() {
+        List<CometRecord> tracked = new ArrayList<>();
+        for (CometRecord record : registry.snapshot()) {
+            if (record.isDespawnTracked()) {
+                tracked.add(record);
+            }
+        }
+        return tracked;
     }
-    
+
     /**
-     * Convert string key back to Vector3i
+     * Reset startup processing; pending despawn timers are dropped with the
+     * world's deadline queue
      */
-    private Vector3i keyToPos(String key) {
-        String[] parts = key.split(",");
-        return new Vector3i(
-            Integer.parseInt(parts[0]),
-            Integer.parseInt(parts[1]),
-            Integer.parseInt(parts[2])
-        );
+    public void shutdown() {
+        hasProcessedStartup = false;
+    }
+
+    /**
+     * Merge the single pre-sharding data file into this world's tracker. Only
+     * the first world to start claims it, matching the old behavior where the
+     * tracker was processed against the first world a player joined.
+     */
+    private void migrateLegacyFile() {
+        synchronized (CometDespawnTracker.class) {
+            if (legacyFileClaimed) return;
+            legacyFileClaimed = true;
+        }
+
+        File legacyFile = getDataFile(LEGACY_DATA_FILE_NAME);
+        if (!legacyFile.exists()) return;
+
+        int before = getTrackedRecords().size();
+        loadFrom(legacyFile);
+        save();
+        if (!legacyFile.delete()) {
+            LOGGER.warning("Failed to delete legacy comet data file " + legacyFile.getAbsolutePath());
+        }
+        LOGGER.info("Migrated " + (getTrackedRecords().size() - before) + " comets from " + legacyFile.getName()
+                + " into world " + worldName);
     }
     
     /**
@@ -75,45 +114,37 @@ public class CometDespawnTracker {
     }
 
     /**
-     * Register a new comet with custom despawn time
+     * Register a new comet with custom despawn time and schedule its despawn
      * @param pos The comet position
      * @param tierName The tier name for logging
      * @param customDespawnMinutes Custom despawn time in minutes (null = use global)
      */
     public void registerComet(Vector3i pos, String tierName, Double customDespawnMinutes) {
-        String key = posToKey(pos);
         long spawnTime = System.currentTimeMillis();
-        cometSpawnTimes.put(key, spawnTime);
-        cometTiers.put(key, tierName);
+        registry.getOrCreate(pos).trackDespawn(spawnTime, tierName, customDespawnMinutes);
+        scheduleDespawn(pos, spawnTime + (long) (getDespawnTimeForComet(pos) * 60 * 1000));
         if (customDespawnMinutes != null) {
-            customDespawnTimes.put(key, customDespawnMinutes);
             LOGGER.info("Registered comet at " + pos + " (tier: " + tierName + ") spawn time: " + spawnTime + " custom despawn: " + customDespawnMinutes + " min");
         } else {
-            customDespawnTimes.remove(key);
             LOGGER.info("Registered comet at " + pos + " (tier: " + tierName + ") spawn time: " + spawnTime);
         }
         save();
     }
     
     /**
-     * Unregister a comet (was broken or despawned)
+     * Unregister a comet (was broken or despawned). Removes the whole comet
+     * record; the removal listener saves the file.
      */
     public void unregisterComet(Vector3i pos) {
-        String key = posToKey(pos);
-        if (cometSpawnTimes.remove(key) != null) {
-            cometTiers.remove(key);
-            customDespawnTimes.remove(key);
-            LOGGER.info("Unregistered comet at " + pos);
-            save();
-        }
+        registry.remove(pos);
     }
 
     /**
      * Get the despawn time for a specific comet in minutes (custom or global)
      */
     public double getDespawnTimeForComet(Vector3i pos) {
-        String key = posToKey(pos);
-        Double custom = customDespawnTimes.get(key);
+        CometRecord record = registry.get(pos);
+        Double custom = record != null ? record.getCustomDespawnMinutes() : null;
         if (custom != null) {
             return custom;
         }
@@ -124,7 +155,8 @@ public class CometDespawnTracker {
      * Check if a comet is registered
      */
     public boolean isRegistered(Vector3i pos) {
-        return cometSpawnTimes.containsKey(posToKey(pos));
+        CometRecord record = registry.get(pos);
+        return record != null && record.isDespawnTracked();
     }
     
     /**
@@ -132,9 +164,9 @@ public class CometDespawnTracker {
      * Returns 0 or negative if already expired
      */
     public long getRemainingTime(Vector3i pos, double despawnMinutes) {
-        String key = posToKey(pos);
-        Long spawnTime = cometSpawnTimes.get(key);
-        if (spawnTime == null) return -1;
+        CometRecord record = registry.get(pos);
+        if (record == null || !record.isDespawnTracked()) return -1;
+        long spawnTime = record.getSpawnTime();
         
         long despawnMs = (long)(despawnMinutes * 60 * 1000);
         long despawnAt = spawnTime + despawnMs;
@@ -146,8 +178,8 @@ public class CometDespawnTracker {
      */
     public Set<Vector3i> getAllPositions() {
         Set<Vector3i> positions = new HashSet<>();
-        for (String key : cometSpawnTimes.keySet()) {
-            positions.add(keyToPos(key));
+        for (CometRecord record : getTrackedRecords()) {
+            positions.add(record.getPos());
         }
         return positions;
     }
@@ -160,25 +192,25 @@ public class CometDespawnTracker {
             LOGGER.info("[STARTUP] Already processed startup, skipping...");
             return;
         }
+
+        migrateLegacyFile();
         
-        LOGGER.info("[STARTUP] ===== Processing " + cometSpawnTimes.size() + " tracked comets on startup =====");
+        List<CometRecord> tracked = getTrackedRecords();
+        LOGGER.info("[STARTUP] ===== Processing " + tracked.size() + " tracked comets on startup =====");
         LOGGER.info("[STARTUP] Despawn time: " + despawnMinutes + " minutes (" + (despawnMinutes * 60) + " seconds)");
         LOGGER.info("[STARTUP] Current time: " + System.currentTimeMillis());
         LOGGER.info("[STARTUP] World: " + (world != null ? world.getName() : "NULL"));
         
-        if (cometSpawnTimes.isEmpty()) {
+        if (tracked.isEmpty()) {
             LOGGER.info("[STARTUP] No comets to process");
             hasProcessedStartup = true;
             return;
         }
         
-        // Copy keys to avoid concurrent modification
-        List<String> keys = new ArrayList<>(cometSpawnTimes.keySet());
-        
-        for (String key : keys) {
-            Vector3i pos = keyToPos(key);
-            Long spawnTime = cometSpawnTimes.get(key);
-            String tier = cometTiers.getOrDefault(key, "Unknown");
+        for (CometRecord record : tracked) {
+            Vector3i pos = record.getPos();
+            long spawnTime = record.getSpawnTime();
+            String tier = record.getDespawnTierName() != null ? record.getDespawnTierName() : "Unknown";
             
             LOGGER.info("[STARTUP] Checking comet at " + pos + " (tier: " + tier + ", spawn time: " + spawnTime + ")");
             
@@ -194,117 +226,38 @@ public class CometDespawnTracker {
                 // Schedule with 2 second delay to ensure world is fully loaded
                 long expiredBy = -remaining;
                 LOGGER.info("[STARTUP]   - STATUS: EXPIRED (was due " + (expiredBy/1000) + "s ago), scheduling immediate removal...");
-                final Vector3i finalPos = pos;
-                com.hypixel.hytale.server.core.HytaleServer.SCHEDULED_EXECUTOR.schedule(() -> {
-                    world.execute(() -> {
-                        try {
-                            LOGGER.info("[STARTUP] Executing delayed despawn for expired comet at " + finalPos);
-                            despawnCometBlock(world, finalPos);
-                            unregisterComet(finalPos);
-                        } catch (Exception e) {
-                            LOGGER.warning("[STARTUP] Error despawning expired comet at " + finalPos + ": " + e.getMessage());
-                            e.printStackTrace();
-                        }
-                    });
-                }, 2, java.util.concurrent.TimeUnit.SECONDS);
+                scheduleDespawn(pos, System.currentTimeMillis() + EXPIRED_STARTUP_DELAY_MS);
             } else {
                 // Still has time - reschedule
                 LOGGER.info("[STARTUP]   - STATUS: ACTIVE (" + (remaining/1000) + "s remaining), rescheduling despawn...");
-                scheduleDespawn(world, pos, remaining);
+                scheduleDespawn(pos, despawnAt);
             }
         }
         
         hasProcessedStartup = true;
         LOGGER.info("[STARTUP] ===== Startup processing complete =====");
-        
-        // Start periodic cleanup check (every 5 minutes)
-        startPeriodicCleanup(world, despawnMinutes);
     }
     
     /**
-     * Start periodic cleanup task that runs every 5 minutes to catch any missed comets
+     * Schedule (or reschedule) the single despawn timer of a comet. The timer
+     * runs on the world thread at the exact deadline.
      */
-    private void startPeriodicCleanup(World world, double despawnMinutes) {
-        LOGGER.info("[PERIODIC] Starting periodic cleanup task (every 5 minutes)");
+    private void scheduleDespawn(Vector3i pos, long despawnAt) {
+        CometRecord record = registry.get(pos);
+        if (record == null) return;
         
-        com.hypixel.hytale.server.core.HytaleServer.SCHEDULED_EXECUTOR.scheduleWithFixedDelay(() -> {
+        deadlines.cancel(record.getDespawnTimer());
+        record.setDespawnTimer(deadlines.schedule(pos, despawnAt, () -> {
             try {
-                world.execute(() -> {
-                    try {
-                        checkAndDespawnExpired(world, despawnMinutes);
-                    } catch (Exception e) {
-                        LOGGER.warning("[PERIODIC] Error in periodic cleanup: " + e.getMessage());
-                        e.printStackTrace();
-                    }
-                });
-            } catch (Exception e) {
-                LOGGER.warning("[PERIODIC] Error scheduling periodic cleanup: " + e.getMessage());
-            }
-        }, 5, 5, java.util.concurrent.TimeUnit.MINUTES);
-    }
-    
-    /**
-     * Check all tracked comets and despawn any that have expired
-     */
-    private void checkAndDespawnExpired(World world, double despawnMinutes) {
-        if (cometSpawnTimes.isEmpty()) {
-            return; // Nothing to check
-        }
-        
-        LOGGER.info("[PERIODIC] Checking " + cometSpawnTimes.size() + " tracked comets for expiration...");
-        
-        // Copy keys to avoid concurrent modification
-        List<String> keys = new ArrayList<>(cometSpawnTimes.keySet());
-        List<Vector3i> expired = new ArrayList<>();
-        
-        for (String key : keys) {
-            Vector3i pos = keyToPos(key);
-            long remaining = getRemainingTime(pos, despawnMinutes);
-            
-            if (remaining <= 0) {
-                // Expired - despawn it
-                long expiredBy = -remaining;
-                LOGGER.info("[PERIODIC] Found expired comet at " + pos + " (expired " + (expiredBy/1000) + "s ago)");
-                expired.add(pos);
-            }
-        }
-        
-        // Despawn all expired comets
-        for (Vector3i pos : expired) {
-            try {
-                LOGGER.info("[PERIODIC] Despawning expired comet at " + pos);
                 despawnCometBlock(world, pos);
                 unregisterComet(pos);
             } catch (Exception e) {
-                LOGGER.warning("[PERIODIC] Error despawning comet at " + pos + ": " + e.getMessage());
+                LOGGER.warning("Error despawning comet at " + pos + ": " + e.getMessage());
             }
-        }
+        }));
         
-        if (!expired.isEmpty()) {
-            LOGGER.info("[PERIODIC] Cleaned up " + expired.size() + " expired comet(s)");
-        } else {
-            LOGGER.info("[PERIODIC] All comets are still active");
-        }
-    }
-    
-    /**
-     * Schedule a despawn for a comet with remaining time
-     */
-    private void scheduleDespawn(World world, Vector3i pos, long remainingMs) {
-        long remainingSeconds = Math.max(1, remainingMs / 1000);
-        
-        com.hypixel.hytale.server.core.HytaleServer.SCHEDULED_EXECUTOR.schedule(() -> {
-            world.execute(() -> {
-                try {
-                    despawnCometBlock(world, pos);
-                    unregisterComet(pos);
-                } catch (Exception e) {
-                    LOGGER.warning("Error despawning comet at " + pos + ": " + e.getMessage());
-                }
-            });
-        }, remainingSeconds, java.util.concurrent.TimeUnit.SECONDS);
-        
-        LOGGER.info("Scheduled despawn for comet at " + pos + " in " + remainingSeconds + " seconds");
+        LOGGER.info("Scheduled despawn for comet at " + pos + " in "
+                + Math.max(0, (despawnAt - System.currentTimeMillis()) / 1000) + " seconds");
     }
     
     /**
@@ -357,7 +310,7 @@ public class CometDespawnTracker {
             }
             
             // Clean up wave manager tracking and remove map marker (world available; store not)
-            CometWaveManager waveManager = CometModPlugin.getWaveManager();
+            CometWaveManager waveManager = CometModPlugin.getWaveManager(world);
             if (waveManager != null) {
                 waveManager.handleBlockBreak(world, pos);
                 LOGGER.info("[DESPAWN] Cleaned up wave manager tracking and removed map marker");
@@ -373,6 +326,13 @@ public class CometDespawnTracker {
      * Get the data file path
      */
     private File getDataFile() {
+        return getDataFile(dataFileName);
+    }
+
+    /**
+     * Resolve a file in the mod's data folder (also used by CometWaveCheckpoint)
+     */
+    static File getDataFile(String fileName) {
         try {
             String appData = System.getenv("APPDATA");
             if (appData != null) {
@@ -381,14 +341,14 @@ public class CometDespawnTracker {
                 if (!modFolder.exists()) {
                     modFolder.mkdirs();
                 }
-                return new File(modFolder, DATA_FILE_NAME);
+                return new File(modFolder, fileName);
             }
         } catch (Exception e) {
             LOGGER.warning("Error getting data file path: " + e.getMessage());
         }
         
         // Fallback to current directory
-        return new File(DATA_FILE_NAME);
+        return new File(fileName);
     }
     
     /**
@@ -401,17 +361,16 @@ public class CometDespawnTracker {
             writer.println("{");
             writer.println("  \"comets\": [");
             
+            List<CometRecord> tracked = getTrackedRecords();
             int count = 0;
-            int total = cometSpawnTimes.size();
+            int total = tracked.size();
             
-            for (Map.Entry<String, Long> entry : cometSpawnTimes.entrySet()) {
-                String key = entry.getKey();
-                Long spawnTime = entry.getValue();
-                String tier = cometTiers.getOrDefault(key, "Unknown");
-                String[] parts = key.split(",");
+            for (CometRecord record : tracked) {
+                Vector3i pos = record.getPos();
+                String tier = record.getDespawnTierName() != null ? record.getDespawnTierName() : "Unknown";
                 
-                writer.print("    {\"x\":" + parts[0] + ",\"y\":" + parts[1] + ",\"z\":" + parts[2] + 
-                           ",\"spawnTime\":" + spawnTime + ",\"tier\":\"" + tier + "\"}");
+                writer.print("    {\"x\":" + pos.x + ",\"y\":" + pos.y + ",\"z\":" + pos.z + 
+                           ",\"spawnTime\":" + record.getSpawnTime() + ",\"tier\":\"" + tier + "\"}");
                 
                 count++;
                 if (count < total) {
@@ -437,7 +396,10 @@ public class CometDespawnTracker {
      */
     public void load() {
         LOGGER.info("[TRACKER] Loading comet despawn data...");
-        File dataFile = getDataFile();
+        loadFrom(getDataFile());
+    }
+
+    private void loadFrom(File dataFile) {
         LOGGER.info("[TRACKER] Data file path: " + dataFile.getAbsolutePath());
         
         if (!dataFile.exists()) {
@@ -486,9 +448,7 @@ public class CometDespawnTracker {
                     long spawnTime = parseLongValue(obj, "spawnTime");
                     String tier = parseStringValue(obj, "tier");
                     
-                    String key = x + "," + y + "," + z;
-                    cometSpawnTimes.put(key, spawnTime);
-                    cometTiers.put(key, tier);
+                    registry.getOrCreate(new Vector3i(x, y, z)).trackDespawn(spawnTime, tier, null);
                     loaded++;
                     
                 } catch (Exception e) {
@@ -3,6 +3,8 @@ package com.cometmod;
 import com.hypixel.hytale.math.vector.Vector3i;
 import com.hypixel.hytale.server.core.Message;
 import com.hypixel.hytale.server.core.command.system.CommandContext;
+import com.hypixel.hytale.server.core.command.system.arguments.system.OptionalArg;
+import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
 import com.hypixel.hytale.server.core.command.system.basecommands.AbstractWorldCommand;
 import com.hypixel.hytale.server.core.entity.entities.Player;
 import com.hypixel.hytale.server.core.universe.world.World;
@@ -17,14 +19,18 @@ import java.util.logging.Logger;
 
 /**
  * Command to destroy all comet blocks in the world.
- * Usage: /comet destroyall
+ * Usage: /comet destroyall [--radius blocks]
  */
 public class CometDestroyAllCommand extends AbstractWorldCommand {
     
     private static final Logger LOGGER = Logger.getLogger("CometDestroyAllCommand");
     
+    // Optional radius around the player; all comets in the world if omitted
+    private final OptionalArg<String> radiusArg;
+    
     public CometDestroyAllCommand() {
         super("destroyall", "Destroy all comet blocks in the world");
+        this.radiusArg = withOptionalArg("radius", "Only destroy comets within this many blocks of you", ArgTypes.STRING);
     }
     
     @Override
@@ -40,34 +46,44 @@ public class CometDestroyAllCommand extends AbstractWorldCommand {
         try {
             Player player = context.senderAs(Player.class);
             
-            // Get all tracked comets from CometDespawnTracker
-            CometDespawnTracker tracker = CometDespawnTracker.getInstance();
-            List<Vector3i> cometPositions = new ArrayList<>();
-            
-            // Get all registered comet positions
-            // We need to access the internal map - let's use a helper method
-            java.util.Map<String, Long> spawnTimes = getCometSpawnTimes(tracker);
+            // Get all registered comets from this world's registry
+            CometWorldShard shard = CometModPlugin.getShard(world);
+            if (shard == null) {
+                context.sendMessage(Message.raw("Error: Comet system not initialized for this world!"));
+                return;
+            }
+            CometDespawnTracker tracker = shard.getDespawnTracker();
             
-            if (spawnTimes != null && !spawnTimes.isEmpty()) {
-                // Convert string keys to Vector3i positions
-                for (String key : spawnTimes.keySet()) {
-                    String[] parts = key.split(",");
-                    if (parts.length == 3) {
-                        try {
-                            Vector3i pos = new Vector3i(
-                                Integer.parseInt(parts[0]),
-                                Integer.parseInt(parts[1]),
-                                Integer.parseInt(parts[2])
-                            );
-                            cometPositions.add(pos);
-                        } catch (NumberFormatException e) {
-                            LOGGER.warning("Invalid position key: " + key);
-                        }
-                    }
+            List<CometRecord> records;
+            if (radiusArg.provided(context)) {
+                int radius;
+                try {
+                    radius = Integer.parseInt(radiusArg.get(context).trim());
+                } catch (Exception e) {
+                    context.sendMessage(Message.raw("Invalid radius! Use a whole number of blocks."));
+                    return;
+                }
+                com.hypixel.hytale.component.Ref<EntityStore> playerRef = player.getReference();
+                com.hypixel.hytale.server.core.modules.entity.component.TransformComponent transform = playerRef != null
+                        ? store.getComponent(playerRef,
+                                com.hypixel.hytale.server.core.modules.entity.component.TransformComponent.getComponentType())
+                        : null;
+                if (transform == null) {
+                    context.sendMessage(Message.raw("Error: Could not get your position!"));
+                    return;
                 }
-                LOGGER.info("Found " + cometPositions.size() + " tracked comets");
+                com.hypixel.hytale.math.vector.Vector3d playerPos = transform.getPosition();
+                records = shard.getRegistry().findInRadius((int) playerPos.x, (int) playerPos.y, (int) playerPos.z, radius);
+            } else {
+                records = shard.getRegistry().snapshot();
             }
             
+            List<Vector3i> cometPositions = new ArrayList<>();
+            for (CometRecord record : records) {
+                cometPositions.add(record.getPos());
+            }
+            LOGGER.info("Found " + cometPositions.size() + " tracked comets");
+            
             if (cometPositions.isEmpty()) {
                 context.sendMessage(Message.raw("No tracked comet blocks found in the world."));
                 return;
@@ -79,24 +95,15 @@ public class CometDestroyAllCommand extends AbstractWorldCommand {
             // Destroy all comets on the world thread
             world.execute(() -> {
                 int destroyed = 0;
-                CometWaveManager waveManager = CometModPlugin.getWaveManager();
+                CometWaveManager waveManager = CometModPlugin.getWaveManager(world);
                 
                 for (Vector3i pos : cometPositions) {
                     try {
                         // Check if block is actually a comet block before destroying
                         if (isCometBlock(world, pos)) {
-                            // Clear any active waves for this comet
+                            // Remove the marker and the comet's record (abandons any running wave)
                             if (waveManager != null) {
-                                // Remove from active comets map
-                                java.util.Map<Vector3i, ?> activeComets = getActiveComets(waveManager);
-                                if (activeComets != null) {
-                                    activeComets.remove(pos);
-                                }
-                                // Remove from comet tiers map
-                                java.util.Map<Vector3i, ?> cometTiers = getCometTiers(waveManager);
-                                if (cometTiers != null) {
-                                    cometTiers.remove(pos);
-                                }
+                                waveManager.handleBlockBreak(world, pos);
                             }
                             
                             // Remove the block
@@ -132,48 +139,6 @@ public class CometDestroyAllCommand extends AbstractWorldCommand {
         }
     }
     
-    /**
-     * Get comet spawn times map from tracker using reflection
-     */
-    private java.util.Map<String, Long> getCometSpawnTimes(CometDespawnTracker tracker) {
-        try {
-            java.lang.reflect.Field field = CometDespawnTracker.class.getDeclaredField("cometSpawnTimes");
-            field.setAccessible(true);
-            return (java.util.Map<String, Long>) field.get(tracker);
-        } catch (Exception e) {
-            LOGGER.warning("Could not access cometSpawnTimes via reflection: " + e.getMessage());
-            return null;
-        }
-    }
-    
-    /**
-     * Get active comets map from wave manager using reflection
-     */
-    private java.util.Map<Vector3i, ?> getActiveComets(CometWaveManager waveManager) {
-        try {
-            java.lang.reflect.Field field = CometWaveManager.class.getDeclaredField("activeComets");
-            field.setAccessible(true);
-            return (java.util.Map<Vector3i, ?>) field.get(waveManager);
-        } catch (Exception e) {
-            LOGGER.warning("Could not access activeComets via reflection: " + e.getMessage());
-            return null;
-        }
-    }
-    
-    /**
-     * Get comet tiers map from wave manager using reflection
-     */
-    private java.util.Map<Vector3i, ?> getCometTiers(CometWaveManager waveManager) {
-        try {
-            java.lang.reflect.Field field = CometWaveManager.class.getDeclaredField("cometTiers");
-            field.setAccessible(true);
-            return (java.util.Map<Vector3i, ?>) field.get(waveManager);
-        } catch (Exception e) {
-            LOGGER.warning("Could not access cometTiers via reflection: " + e.getMessage());
-            return null;
-        }
-    }
-    
     /**
      * Check if a block at the given position is a comet block
      */
@@ -2,19 +2,16 @@ package com.cometmod;
 
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.component.Ref;
-import com.hypixel.hytale.component.query.Query;
 import com.hypixel.hytale.math.vector.Vector3d;
 import com.hypixel.hytale.math.vector.Vector3i;
 import com.hypixel.hytale.server.core.modules.entity.component.TransformComponent;
-import com.hypixel.hytale.server.core.modules.projectile.component.Projectile;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
-import com.hypixel.hytale.server.core.entity.UUIDComponent;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
 public class CometFallingSystem {
@@ -33,283 +30,235 @@ public class CometFallingSystem {
         LOGGER.info("Despawn time set to: " + minutes + " minutes");
     }
 
-    // Map to track projectile target positions by UUID
-    // Key: projectile UUID, Value: target block position
-    private final Map<UUID, Vector3i> trackedProjectiles = new HashMap<>();
+    // Fall physics of the comet projectiles; mirror "Physics" (Gravity,
+    // TerminalVelocityAir) and LaunchForce in Server/ProjectileConfigs/Comet_Falling*.json
+    private static final double FALL_GRAVITY = 35.0;
+    private static final double FALL_TERMINAL_VELOCITY = 100.0;
+    private static final double FALL_LAUNCH_SPEED = 0.0;
+
+    // Time allowed past the predicted impact for the projectile's own hit to
+    // land the comet before the impact timer does
+    private static final long IMPACT_GRACE_MS = 500;
+
+    /**
+     * One comet in flight. Immutable, so a reader always sees a whole entry;
+     * the cached Ref is updated by replacing the entry.
+     */
+    public static final class FallingComet {
+        final UUID projectileId;
+        final Ref<EntityStore> ref; // Ref returned by spawnProjectile, re-resolved by UUID if it goes stale
+        final Vector3i target;
+        final CometTier tier;
+        final String themeId; // Forced theme, or null
+        final UUID ownerId; // Player the comet's marker is shown to, or null
+        final CometDeadlineQueue.Timer impactTimer; // Lands the comet if the hit is never seen
+
+        FallingComet(UUID projectileId, Ref<EntityStore> ref, Vector3i target, CometTier tier, String themeId,
+                UUID ownerId, CometDeadlineQueue.Timer impactTimer) {
+            this.projectileId = projectileId;
+            this.ref = ref;
+            this.target = target;
+            this.tier = tier != null ? tier : CometTier.UNCOMMON;
+            this.themeId = themeId;
+            this.ownerId = ownerId;
+            this.impactTimer = impactTimer;
+        }
 
-    // Map to track spawn Y positions for fallback position checking
-    // Key: projectile UUID, Value: spawn Y position
-    private final Map<UUID, Double> projectileSpawnY = new HashMap<>();
+        FallingComet withRef(Ref<EntityStore> ref) {
+            return new FallingComet(projectileId, ref, target, tier, themeId, ownerId, impactTimer);
+        }
 
-    // Map to track tier for each projectile
-    // Key: projectile UUID, Value: comet tier
-    private final Map<UUID, CometTier> projectileTiers = new HashMap<>();
+        public Vector3i getTarget() {
+            return target;
+        }
 
-    // Map to track forced theme ID for each projectile (String-based)
-    // Key: projectile UUID, Value: theme ID
-    private final Map<UUID, String> projectileThemes = new HashMap<>();
+        public CometTier getTier() {
+            return tier;
+        }
 
-    // Map to track owner UUID for each projectile (for marker visibility)
-    // Key: projectile UUID, Value: owner player UUID
-    private final Map<UUID, UUID> projectileOwners = new HashMap<>();
+        public String getThemeId() {
+            return themeId;
+        }
 
-    // Map to track spawn time for each projectile (for timeout detection)
-    // Key: projectile UUID, Value: spawn timestamp in milliseconds
-    private final Map<UUID, Long> projectileSpawnTime = new HashMap<>();
+        public UUID getOwnerId() {
+            return ownerId;
+        }
+    }
 
-    // Timeout for projectile falling (in seconds) - if exceeded, force spawn comet at target
-    private static final long PROJECTILE_TIMEOUT_SECONDS = 15;
+    // Comets in flight by projectile UUID. Written on the world thread, read by
+    // the entity remove handler
+    private final Map<UUID, FallingComet> fallingComets = new ConcurrentHashMap<>();
 
     private final World world;
+    private final CometDeadlineQueue deadlines;
 
-    public CometFallingSystem(World world) {
+    public CometFallingSystem(World world, CometDeadlineQueue deadlines) {
         this.world = world;
+        this.deadlines = deadlines;
     }
 
     public World getWorld() {
         return world;
     }
 
-    public void trackProjectile(UUID projectileUUID, Vector3i targetBlockPos, double spawnY, CometTier tier,
-            String themeId, UUID ownerUUID) {
-        trackedProjectiles.put(projectileUUID, targetBlockPos);
-        projectileSpawnY.put(projectileUUID, spawnY);
-        projectileTiers.put(projectileUUID, tier);
-        projectileSpawnTime.put(projectileUUID, System.currentTimeMillis());
-        if (themeId != null) {
-            projectileThemes.put(projectileUUID, themeId);
-        }
-        if (ownerUUID != null) {
-            projectileOwners.put(projectileUUID, ownerUUID);
-        }
-        LOGGER.fine("Tracking projectile " + projectileUUID + " -> " + targetBlockPos);
+    /**
+     * Track a comet projectile and schedule its landing at the predicted
+     * impact. The projectile's removal on hit normally lands it first (see
+     * CometModPlugin); the impact timer only lands comets whose hit was missed
+     * or that got stuck on the way down.
+     *
+     * @param spawnY Height the projectile was dropped from
+     */
+    public void trackProjectile(UUID projectileUUID, Ref<EntityStore> projectileRef, Vector3i targetBlockPos,
+            double spawnY, CometTier tier, String themeId, UUID ownerUUID) {
+        long fallMillis = predictFallMillis(spawnY - targetBlockPos.y);
+        CometDeadlineQueue.Timer impactTimer = deadlines.schedule(
+                System.currentTimeMillis() + fallMillis + IMPACT_GRACE_MS, () -> landPredicted(projectileUUID));
+        fallingComets.put(projectileUUID, new FallingComet(projectileUUID, projectileRef, targetBlockPos, tier,
+                themeId, ownerUUID, impactTimer));
+        LOGGER.fine("Tracking projectile " + projectileUUID + " -> " + targetBlockPos + ", impact in " + fallMillis
+                + "ms");
     }
 
-    public Vector3i getTrackedTarget(UUID projectileUUID) {
-        return trackedProjectiles.get(projectileUUID);
+    /**
+     * @return The comet carried by a projectile, or null if it is not tracked
+     */
+    public FallingComet getTracked(UUID projectileUUID) {
+        return fallingComets.get(projectileUUID);
     }
 
-    public Vector3i removeTrackedProjectile(UUID projectileUUID) {
-        Vector3i targetPos = trackedProjectiles.remove(projectileUUID);
-        projectileSpawnY.remove(projectileUUID);
-        projectileTiers.remove(projectileUUID);
-        projectileThemes.remove(projectileUUID);
-        projectileOwners.remove(projectileUUID);
-        projectileSpawnTime.remove(projectileUUID);
-        return targetPos;
+    /**
+     * Check if any comet projectiles are currently in flight
+     */
+    public boolean hasTrackedProjectiles() {
+        return !fallingComets.isEmpty();
     }
 
-    public CometTier getProjectileTier(UUID projectileUUID) {
-        return projectileTiers.getOrDefault(projectileUUID, CometTier.UNCOMMON);
+    /**
+     * Stop tracking a projectile and cancel its impact timer. Only one caller
+     * gets the entry back, so a comet that is both seen hitting and predicted to
+     * land spawns once.
+     *
+     * @return The removed comet, or null if it was no longer tracked
+     */
+    public FallingComet removeTrackedProjectile(UUID projectileUUID) {
+        FallingComet comet = fallingComets.remove(projectileUUID);
+        if (comet != null) {
+            deadlines.cancel(comet.impactTimer);
+        }
+        return comet;
     }
 
-    public String getProjectileThemeId(UUID projectileUUID) {
-        return projectileThemes.get(projectileUUID);
+    /**
+     * Drop every comet in flight, e.g. when the world unloads (the impact
+     * timers are dropped with the shard's deadline queue)
+     */
+    public void clear() {
+        fallingComets.clear();
     }
 
-    public UUID getProjectileOwner(UUID projectileUUID) {
-        return projectileOwners.get(projectileUUID);
+    /**
+     * Time for a comet projectile dropped straight down to fall a distance:
+     * uniform acceleration from its launch speed, capped at terminal velocity
+     */
+    static long predictFallMillis(double height) {
+        double gravity = FALL_GRAVITY;
+        double terminal = FALL_TERMINAL_VELOCITY;
+        double launch = FALL_LAUNCH_SPEED;
+        height = Math.max(0.0, height);
+
+        // Accelerating phase, until terminal velocity is reached
+        double accelTime = (terminal - launch) / gravity;
+        double accelDistance = launch * accelTime + 0.5 * gravity * accelTime * accelTime;
+        double seconds;
+        if (accelDistance >= height) {
+            seconds = (-launch + Math.sqrt(launch * launch + 2.0 * gravity * height)) / gravity;
+        } else {
+            seconds = accelTime + (height - accelDistance) / terminal;
+        }
+        return (long) Math.ceil(seconds * 1000.0);
     }
 
-    public void checkProjectilesFallback(World world, Store<EntityStore> store) {
-        if (trackedProjectiles.isEmpty()) {
-            return;
+    /**
+     * Impact timer: the projectile's hit was not seen by the predicted impact.
+     * Lands the comet where the projectile is if it reached the ground, or at
+     * its target if it is stuck or already gone.
+     */
+    private void landPredicted(UUID projectileUUID) {
+        FallingComet comet = removeTrackedProjectile(projectileUUID);
+        if (comet == null) {
+            return; // Landed by the removal event
         }
-
         try {
-            // Iterate through all chunks and check entities
-            store.forEachChunk(Query.any(), (archetypeChunk, commandBuffer) -> {
-                try {
-                    // Check if this chunk has Projectile and UUIDComponent
-                    if (!archetypeChunk.getArchetype().contains(Projectile.getComponentType()) ||
-                            !archetypeChunk.getArchetype().contains(UUIDComponent.getComponentType())) {
-                        return; // Skip chunks that don't have both components
-                    }
-
-                    // Iterate through entities in this chunk
-                    int size = archetypeChunk.size();
-                    for (int i = 0; i < size; i++) {
-                        try {
-                            Ref<EntityStore> ref = archetypeChunk.getReferenceTo(i);
-                            if (ref == null || !ref.isValid()) {
-                                continue;
-                            }
-
-                            UUIDComponent uuidComponent = store.getComponent(ref, UUIDComponent.getComponentType());
-                            if (uuidComponent == null) {
-                                continue;
-                            }
-
-                            UUID entityUUID = uuidComponent.getUuid();
-                            Vector3i targetPos = trackedProjectiles.get(entityUUID);
-
-                            if (targetPos == null) {
-                                continue; // Not our tracked projectile
-                            }
-
-                            // Get position
-                            TransformComponent transform = store.getComponent(ref,
-                                    TransformComponent.getComponentType());
-                            if (transform == null) {
-                                continue;
-                            }
-
-                            Vector3d position = transform.getPosition();
-                            Double spawnY = projectileSpawnY.get(entityUUID);
-                            Long spawnTime = projectileSpawnTime.get(entityUUID);
-
-                            // Check for timeout (projectile stuck on entity)
-                            boolean timedOut = false;
-                            if (spawnTime != null) {
-                                long elapsedSeconds = (System.currentTimeMillis() - spawnTime) / 1000;
-                                if (elapsedSeconds >= PROJECTILE_TIMEOUT_SECONDS) {
-                                    timedOut = true;
-                                    LOGGER.info("Projectile " + entityUUID + " timed out after " + elapsedSeconds + "s, force-spawning comet at target");
-                                }
-                            }
-
-                            if (spawnY != null) {
-                                // Calculate target Y (ground level - spawnY was 100 blocks above target)
-                                double targetY = spawnY - 100.0;
-
-                                // Check if projectile has hit or passed the target Y level OR timed out
-                                if (position.y <= targetY + 1.0 || timedOut) {
-                                    LOGGER.fine("Fallback: Projectile " + entityUUID + " hit ground" + (timedOut ? " (timed out)" : ""));
-
-                                    com.hypixel.hytale.math.vector.Vector3i actualBlockPos;
-
-                                    if (timedOut) {
-                                        // Use original target position when timed out (projectile stuck)
-                                        actualBlockPos = targetPos;
-                                    } else {
-                                        // Use actual landing position - round to nearest block for X/Z
-                                        int blockX = (int) Math.round(position.x);
-                                        int blockZ = (int) Math.round(position.z);
-                                        int landingBlockY = (int) Math.floor(position.y);
-
-                                        // Find the actual solid ground below the landing position
-                                        // The projectile might land on grass/plants, so we need to find the solid block
-                                        int solidGroundY = findGroundLevelAtPosition(world, blockX, blockZ, landingBlockY);
-
-                                        int blockY;
-                                        if (solidGroundY != -1) {
-                                            // Found solid ground, place comet one block above it
-                                            blockY = solidGroundY + 1;
-                                        } else {
-                                            // Fallback: place one block above landing Y
-                                            blockY = landingBlockY + 1;
-                                        }
-
-                                        actualBlockPos = new com.hypixel.hytale.math.vector.Vector3i(
-                                                blockX, blockY, blockZ);
-                                    }
-
-                                    CometTier tier = getProjectileTier(entityUUID);
-                                    String themeId = getProjectileThemeId(entityUUID);
-                                    UUID ownerUUID = getProjectileOwner(entityUUID);
-                                    spawnCometBlock(world, actualBlockPos, store, tier, themeId, ownerUUID);
-                                    removeTrackedProjectile(entityUUID);
-
-                                    // Remove the projectile entity
-                                    try {
-                                        commandBuffer.removeEntity(ref,
-                                                com.hypixel.hytale.component.RemoveReason.REMOVE);
-                                    } catch (Exception e) {
-                                        LOGGER.warning(
-                                                "[CometFallingSystem] Could not remove projectile: " + e.getMessage());
-                                    }
-                                }
-                            }
-                        } catch (Exception e) {
-                            LOGGER.warning("[CometFallingSystem] Error checking entity in chunk: " + e.getMessage());
-                            e.printStackTrace();
-                        }
-                    }
-                } catch (Exception e) {
-                    LOGGER.warning("[CometFallingSystem] Error in chunk iteration: " + e.getMessage());
-                    e.printStackTrace();
+            Store<EntityStore> store = world.getEntityStore().getStore();
+            Vector3i blockPos = comet.target;
+            Ref<EntityStore> ref = store != null ? resolveProjectileRef(store, comet) : null;
+            if (ref != null) {
+                TransformComponent transform = store.getComponent(ref, TransformComponent.getComponentType());
+                if (transform != null && transform.getPosition().y <= comet.target.y + 1.0) {
+                    Vector3d position = transform.getPosition();
+                    // Use actual landing position - round to nearest block for X/Z
+                    int blockX = (int) Math.round(position.x);
+                    int blockZ = (int) Math.round(position.z);
+                    int landingBlockY = (int) Math.floor(position.y);
+
+                    // The projectile might land on grass/plants, so find the solid block
+                    int solidGroundY = findGroundLevelAtPosition(world, blockX, blockZ, landingBlockY);
+                    int blockY = solidGroundY != -1 ? solidGroundY + 1 : landingBlockY + 1;
+                    blockPos = new Vector3i(blockX, blockY, blockZ);
+                } else {
+                    LOGGER.info("Projectile " + projectileUUID + " missed its predicted impact, spawning comet at target "
+                            + comet.target);
                 }
-            });
-
-            // Cleanup pass: handle orphaned projectiles that timed out but entity is gone
-            cleanupOrphanedProjectiles(world, store);
-
+                removeProjectile(store, ref);
+            } else {
+                LOGGER.fine("Projectile " + projectileUUID + " gone without a hit, spawning comet at target "
+                        + comet.target);
+            }
+            spawnCometBlock(world, blockPos, store, comet.tier, comet.themeId, comet.ownerId);
         } catch (Exception e) {
-            LOGGER.warning("[CometFallingSystem] Error in fallback projectile check: " + e.getMessage());
-            e.printStackTrace();
+            LOGGER.warning("[CometFallingSystem] Error landing projectile " + projectileUUID + ": " + e.getMessage());
         }
     }
 
-    private void cleanupOrphanedProjectiles(World world, Store<EntityStore> store) {
-        if (trackedProjectiles.isEmpty()) {
-            return;
-        }
-
-        long currentTime = System.currentTimeMillis();
-        java.util.List<UUID> toRemove = new java.util.ArrayList<>();
-
-        for (Map.Entry<UUID, Long> entry : projectileSpawnTime.entrySet()) {
-            UUID projectileUUID = entry.getKey();
-            Long spawnTime = entry.getValue();
-
-            if (spawnTime != null) {
-                long elapsedSeconds = (currentTime - spawnTime) / 1000;
-                // Use a longer timeout for orphan cleanup (30 seconds) to give normal processing time
-                if (elapsedSeconds >= PROJECTILE_TIMEOUT_SECONDS * 2) {
-                    toRemove.add(projectileUUID);
-                }
-            }
+    /**
+     * @return The live Ref of a tracked projectile, or null if it is not in the
+     *         store (yet)
+     */
+    private Ref<EntityStore> resolveProjectileRef(Store<EntityStore> store, FallingComet comet) {
+        if (comet.ref != null && comet.ref.isValid()) {
+            return comet.ref;
         }
+        // The Ref returned by spawnProjectile may only become valid once its
+        // command buffer is consumed; fall back to the store's UUID index
+        Ref<EntityStore> ref = ((EntityStore) store.getExternalData()).getRefFromUUID(comet.projectileId);
+        return ref != null && ref.isValid() ? ref : null;
+    }
 
-        for (UUID projectileUUID : toRemove) {
-            Vector3i targetPos = trackedProjectiles.get(projectileUUID);
-            if (targetPos != null) {
-                LOGGER.warning("Cleaning up orphaned projectile " + projectileUUID + " - spawning comet at target " + targetPos);
-                CometTier tier = getProjectileTier(projectileUUID);
-                String themeId = getProjectileThemeId(projectileUUID);
-                UUID ownerUUID = getProjectileOwner(projectileUUID);
-                spawnCometBlock(world, targetPos, store, tier, themeId, ownerUUID);
+    /**
+     * Remove a projectile entity through a command buffer
+     */
+    private static void removeProjectile(Store<EntityStore> store, Ref<EntityStore> ref) {
+        try {
+            java.lang.reflect.Method takeMethod = store.getClass().getDeclaredMethod("takeCommandBuffer");
+            takeMethod.setAccessible(true);
+            com.hypixel.hytale.component.CommandBuffer<EntityStore> commandBuffer = (com.hypixel.hytale.component.CommandBuffer<EntityStore>) takeMethod
+                    .invoke(store);
+            if (commandBuffer == null) {
+                return;
             }
-            removeTrackedProjectile(projectileUUID);
+            commandBuffer.removeEntity(ref, com.hypixel.hytale.component.RemoveReason.REMOVE);
+            java.lang.reflect.Method consumeMethod = commandBuffer.getClass().getDeclaredMethod("consume");
+            consumeMethod.setAccessible(true);
+            consumeMethod.invoke(commandBuffer);
+        } catch (Exception e) {
+            LOGGER.warning("[CometFallingSystem] Could not remove projectile: " + e.getMessage());
         }
     }
 
     public int findGroundLevelAtPosition(World world, int x, int z, int startY) {
-        // Search downward from startY to find the first solid block
-        // Start from startY (the block the projectile is in/above)
-        int minY = Math.max(0, startY - 50); // Search down up to 50 blocks
-
-        // Check startY first (projectile might be directly above a solid block)
-        for (int y = startY; y >= minY; y--) {
-            try {
-                com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType blockType = world.getBlockType(x,
-                        y, z);
-
-                if (blockType != null) {
-                    // Check if block is solid using the same method as spawning system
-                    int blockId = com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType.getAssetMap()
-                            .getIndex(blockType.getId());
-
-                    // Check if block is solid (not air, not empty)
-                    if (blockId != 0) {
-                        // Check material - same as LocalSpawnControllerSystem
-                        Object material = blockType.getMaterial();
-                        if (material != null) {
-                            String materialStr = material.toString();
-                            // Solid blocks are valid ground
-                            if (materialStr.equals("Solid") || materialStr.equals("Opaque")) {
-                                return y;
-                            }
-                        }
-                    }
-                }
-            } catch (Exception e) {
-                // Continue searching if block type check fails
-                continue;
-            }
-        }
-
-        return -1; // Ground not found
+        // Search downward from startY (the block the projectile is in/above) up to 50 blocks
+        return CometGroundFinder.findGround(world, x, z, startY, Math.max(0, startY - 50));
     }
 
     public void spawnFallingComet(Ref<EntityStore> playerRef, Vector3i targetBlockPos, CometTier tier, String themeId,
@@ -356,7 +305,7 @@ public class CometFallingSystem {
                     .spawnProjectile(projectileUUID, playerRef, commandBuffer, projectileConfig, spawnPos, direction);
 
             if (projectileRef != null) {
-                trackProjectile(projectileUUID, targetBlockPos, spawnPos.y, tier, themeId, ownerUUID);
+                trackProjectile(projectileUUID, projectileRef, targetBlockPos, spawnPos.y, tier, themeId, ownerUUID);
             } else {
                 LOGGER.warning("Failed to spawn projectile, falling back to direct block spawn");
                 spawnCometBlock(targetWorld, targetBlockPos, store, tier, themeId, ownerUUID);
@@ -426,7 +375,7 @@ public class CometFallingSystem {
             chunk.markNeedsSaving();
 
             // Register tier with wave manager (with owner for marker visibility)
-            CometWaveManager waveManager = CometModPlugin.getWaveManager();
+            CometWaveManager waveManager = CometModPlugin.getWaveManager(world);
             if (waveManager != null) {
                 waveManager.registerCometTier(world, blockPos, tier, ownerUUID);
 
@@ -451,96 +400,14 @@ public class CometFallingSystem {
                 }
             }
 
-            // Register comet for persistent tracking and schedule despawn
-            CometDespawnTracker.getInstance().registerComet(blockPos, tier.getName());
-            scheduleDespawn(world, blockPos, blockIdName);
-
-        } catch (Exception e) {
-            LOGGER.severe("Error in spawnCometBlock: " + e.getMessage());
-            e.printStackTrace();
-        }
-    }
-
-    private void scheduleDespawn(World world, Vector3i blockPos, String blockIdName) {
-        // Schedule despawn after configured time (convert minutes to seconds)
-        // Use long to handle decimal minutes correctly (e.g., 0.1 minutes = 6 seconds)
-        long despawnSeconds = Math.round(despawnTimeMinutes * 60.0);
-        com.hypixel.hytale.server.core.HytaleServer.SCHEDULED_EXECUTOR.schedule(() -> {
-            world.execute(() -> {
-                try {
-                    despawnCometBlock(world, blockPos, blockIdName);
-                } catch (Exception e) {
-                    LOGGER.warning("Error despawning comet block at " + blockPos + ": " + e.getMessage());
-                    e.printStackTrace();
-                }
-            });
-        }, despawnSeconds, java.util.concurrent.TimeUnit.SECONDS);
-    }
-
-    private void despawnCometBlock(World world, Vector3i blockPos, String blockIdName) {
-        try {
-            // Get chunk
-            long chunkIndex = com.hypixel.hytale.math.util.ChunkUtil.indexChunkFromBlock(
-                    blockPos.x, blockPos.z);
-            WorldChunk chunk = world.getChunkIfInMemory(chunkIndex);
-
-            if (chunk == null) {
-                chunk = world.getChunk(chunkIndex);
-            }
-
-            if (chunk == null) {
-                LOGGER.warning("Could not get chunk for despawn at " + blockPos);
-                return;
-            }
-
-            // Check if the block is still a comet block
-            com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType currentBlockType = world
-                    .getBlockType(blockPos.x, blockPos.y, blockPos.z);
-
-            if (currentBlockType != null && currentBlockType.getId().startsWith("Comet_Stone_")) {
-                // Remove the block using world.breakBlock method (uses world coordinates)
-                try {
-                    // Use world.breakBlock to remove the block (sets it to air)
-                    boolean broken = world.breakBlock(blockPos.x, blockPos.y, blockPos.z, 0);
-                    if (broken) {
-                        chunk.markNeedsSaving();
-                        LOGGER.info("Despawned " + blockIdName + " block at " + blockPos);
-                    } else {
-                        LOGGER.warning("Failed to break block at " + blockPos + " for despawn");
-                    }
-                } catch (Exception e) {
-                    // Fallback: try using chunk.breakBlock with world coordinates
-                    try {
-                        boolean broken = chunk.breakBlock(blockPos.x, blockPos.y, blockPos.z, 0);
-                        if (broken) {
-                            chunk.markNeedsSaving();
-                            LOGGER.info(
-                                    "Despawned " + blockIdName + " block at " + blockPos + " (using chunk.breakBlock)");
-                        } else {
-                            LOGGER.warning("Failed to break block at " + blockPos + " using chunk.breakBlock");
-                        }
-                    } catch (Exception e2) {
-                        LOGGER.warning("Failed to despawn block at " + blockPos + ": " + e2.getMessage());
-                        e2.printStackTrace();
-                    }
-                }
-            } else {
-                LOGGER.info("Block at " + blockPos + " is no longer a comet block (was " +
-                        (currentBlockType != null ? currentBlockType.getId() : "null") + "), skipping despawn");
+            // Register comet for persistent tracking; the tracker schedules the despawn
+            CometDespawnTracker despawnTracker = CometModPlugin.getDespawnTracker(world);
+            if (despawnTracker != null) {
+                despawnTracker.registerComet(blockPos, tier.getName());
             }
 
-            // Clean up wave manager tracking and remove map marker (world available; store
-            // not)
-            CometWaveManager waveManager = CometModPlugin.getWaveManager();
-            if (waveManager != null) {
-                waveManager.handleBlockBreak(world, blockPos);
-            }
-
-            // Unregister from despawn tracker
-            CometDespawnTracker.getInstance().unregisterComet(blockPos);
-
         } catch (Exception e) {
-            LOGGER.warning("Error despawning comet block: " + e.getMessage());
+            LOGGER.severe("Error in spawnCometBlock: " + e.getMessage());
             e.printStackTrace();
         }
     }
@@ -0,0 +1,183 @@
+package com.cometmod;
+
+import com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
+
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+
+import java.util.logging.Logger;
+
+/**
+ * Finds the ground in a block column for comet landings and spawns.
+ *
+ * Whether a block is ground (a non-air block of Solid or Opaque material) is
+ * decided once per block id into a lookup table built from the BlockType asset
+ * map, so a column scan reads raw block ids from the chunk and tests them
+ * against the table without resolving assets or comparing material names. The
+ * table is dropped when block types are reloaded and rebuilt on next use.
+ *
+ * Surface searches start at the chunk's heightmap instead of the build limit,
+ * so finding the ground under open sky takes a read or two rather than a
+ * sweep of the whole column.
+ */
+public final class CometGroundFinder {
+
+    private static final Logger LOGGER = Logger.getLogger("CometGroundFinder");
+
+    // Ground flag per block id; replaced as a whole, never modified after build
+    private static volatile boolean[] solidById;
+
+    // Marks a column not looked up yet in a ColumnCache
+    private static final int UNKNOWN = Integer.MIN_VALUE;
+
+    private CometGroundFinder() {}
+
+    /**
+     * Surface heights of the columns looked at during one spawn attempt, so
+     * retries and neighbouring checks do not search a column twice. Short-lived
+     * and used by one thread.
+     */
+    public static final class ColumnCache {
+        private final Long2IntOpenHashMap surfaces = new Long2IntOpenHashMap();
+
+        public ColumnCache() {
+            surfaces.defaultReturnValue(UNKNOWN);
+        }
+
+        private static long key(int x, int z) {
+            return ((long) x << 32) | (z & 0xFFFFFFFFL);
+        }
+    }
+
+    /**
+     * Drop the lookup table, e.g. after block types were (re)loaded
+     */
+    public static void invalidate() {
+        solidById = null;
+    }
+
+    /**
+     * @return true if blocks with this id count as ground
+     */
+    public static boolean isSolid(int blockId) {
+        boolean[] table = solidById;
+        if (table == null) {
+            table = rebuild();
+        } else if (blockId >= table.length && blockId < BlockType.getAssetMap().getNextIndex()) {
+            // Block types were added since the table was built
+            table = rebuild();
+        }
+        return blockId > 0 && blockId < table.length && table[blockId];
+    }
+
+    private static synchronized boolean[] rebuild() {
+        boolean[] table = new boolean[0];
+        try {
+            int count = BlockType.getAssetMap().getNextIndex();
+            table = new boolean[count];
+            int solid = 0;
+            // Id 0 is air
+            for (int id = 1; id < count; id++) {
+                BlockType blockType = BlockType.getAssetMap().getAsset(id);
+                if (blockType == null || blockType.getMaterial() == null) {
+                    continue;
+                }
+                String material = blockType.getMaterial().toString();
+                if (material.equals("Solid") || material.equals("Opaque")) {
+                    table[id] = true;
+                    solid++;
+                }
+            }
+            LOGGER.fine("Built ground lookup table: " + solid + " of " + count + " block types are solid");
+        } catch (Exception e) {
+            LOGGER.warning("Could not build ground lookup table: " + e.getMessage());
+        }
+        solidById = table;
+        return table;
+    }
+
+    /**
+     * Scan a column downward for the first ground block
+     *
+     * @param fromY Highest Y to test
+     * @param minY  Lowest Y to test
+     * @return Y of the ground block, or -1 if there is none in range or the
+     *         chunk is not available
+     */
+    public static int findGround(World world, int x, int z, int fromY, int minY) {
+        WorldChunk chunk = getChunk(world, x, z);
+        if (chunk == null) {
+            return -1;
+        }
+        return scan(chunk, x, z, fromY, minY);
+    }
+
+    /**
+     * Find the topmost ground block of a column. Jumps to the chunk's heightmap
+     * and walks down from there; the walk is only long where the top block is
+     * not ground (foliage, plants, fluids).
+     *
+     * @param maxY  Highest Y to consider
+     * @param minY  Lowest Y to consider
+     * @param cache Columns already searched this spawn attempt, or null
+     * @return Y of the ground block, or -1 if there is none in range or the
+     *         chunk is not available
+     */
+    public static int findSurface(World world, int x, int z, int maxY, int minY, ColumnCache cache) {
+        long key = ColumnCache.key(x, z);
+        if (cache != null) {
+            int cached = cache.surfaces.get(key);
+            if (cached != UNKNOWN) {
+                return cached;
+            }
+        }
+
+        int surface = -1;
+        WorldChunk chunk = getChunk(world, x, z);
+        if (chunk != null) {
+            int fromY = maxY;
+            try {
+                // Highest non-air block of the column
+                fromY = Math.min(maxY, chunk.getHeight(x & 31, z & 31));
+            } catch (Exception e) {
+                // No heightmap: sweep from maxY
+            }
+            surface = scan(chunk, x, z, fromY, minY);
+        }
+
+        if (cache != null) {
+            cache.surfaces.put(key, surface);
+        }
+        return surface;
+    }
+
+    private static int scan(WorldChunk chunk, int x, int z, int fromY, int minY) {
+        // Hytale chunks are 32x32 blocks
+        int localX = x & 31;
+        int localZ = z & 31;
+        for (int y = fromY; y >= minY; y--) {
+            try {
+                if (isSolid(chunk.getBlock(localX, y, localZ))) {
+                    return y;
+                }
+            } catch (Exception e) {
+                // Continue searching
+            }
+        }
+        return -1;
+    }
+
+    private static WorldChunk getChunk(World world, int x, int z) {
+        try {
+            long chunkIndex = com.hypixel.hytale.math.util.ChunkUtil.indexChunkFromBlock(x, z);
+            WorldChunk chunk = world.getChunkIfInMemory(chunkIndex);
+            if (chunk == null) {
+                chunk = world.getChunk(chunkIndex);
+            }
+            return chunk;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -27,7 +27,7 @@ public class CometMarkerProvider implements WorldMapManager.MarkerProvider {
     public void update(@Nonnull World world, @Nonnull Player viewingPlayer, @Nonnull MarkersCollector collector) {
 
         // Get the wave manager to access active comets
-        CometWaveManager waveManager = CometModPlugin.getWaveManager();
+        CometWaveManager waveManager = CometModPlugin.getWaveManager(world);
         if (waveManager == null) {
             return;
         }
@@ -35,32 +35,29 @@ public class CometMarkerProvider implements WorldMapManager.MarkerProvider {
         try {
             java.util.UUID viewingPlayerUUID = viewingPlayer.getUuid();
             
-            // Get active comets from wave manager
-            java.util.Map<Vector3i, CometWaveManager.CometState> activeComets = 
-                waveManager.getActiveComets();
-            java.util.Map<Vector3i, CometTier> cometTiers = 
-                waveManager.getCometTiers();
-            java.util.Map<Vector3i, java.util.UUID> cometOwners = 
-                waveManager.getCometOwners();
-            
-            if (activeComets == null || activeComets.isEmpty()) {
+            // Read comets straight from the world's registry (one record per comet)
+            CometRegistry registry = waveManager.getRegistry();
+            if (registry.isEmpty()) {
                 return;  // No logging - this is called constantly
             }
             
             // Iterate through all active comets
-            for (java.util.Map.Entry<Vector3i, CometWaveManager.CometState> entry : activeComets.entrySet()) {
-                Vector3i blockPos = entry.getKey();
-                CometWaveManager.CometState state = entry.getValue();
+            for (CometRecord record : registry.snapshot()) {
+                CometWaveManager.CometState state = record.getState();
+                if (state == null) {
+                    continue;
+                }
+                Vector3i blockPos = record.getPos();
                 
                 // Check ownership - only show markers for comets owned by this player
-                java.util.UUID ownerUUID = cometOwners != null ? cometOwners.get(blockPos) : null;
+                java.util.UUID ownerUUID = record.getOwner();
                 if (ownerUUID != null && !ownerUUID.equals(viewingPlayerUUID)) {
                     // This comet belongs to someone else, don't show marker
                     continue;
                 }
                 
                 // Get tier for this comet
-                CometTier tier = cometTiers != null ? cometTiers.get(blockPos) : null;
+                CometTier tier = record.getTier();
                 if (tier == null) {
                     tier = CometTier.UNCOMMON; // Default tier
                 }
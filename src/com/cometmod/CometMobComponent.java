@@ -0,0 +1,111 @@
+package com.cometmod;
+
+import com.hypixel.hytale.codec.Codec;
+import com.hypixel.hytale.codec.KeyedCodec;
+import com.hypixel.hytale.codec.builder.BuilderCodec;
+import com.hypixel.hytale.component.Component;
+import com.hypixel.hytale.component.ComponentType;
+import com.hypixel.hytale.math.vector.Vector3i;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Tag component attached to every NPC spawned by a comet wave.
+ *
+ * Comet ECS systems query this component type instead of Query.any(), so the
+ * engine only dispatches damage/add/remove work for comet mobs. Serialized
+ * with the entity, so mobs of a wave recovered from its checkpoint after a
+ * restart are still recognized as wave mobs when their chunk loads.
+ */
+public class CometMobComponent implements Component<EntityStore> {
+
+    @Nonnull
+    public static final BuilderCodec<CometMobComponent> CODEC;
+
+    static {
+        CODEC = BuilderCodec.builder(CometMobComponent.class, CometMobComponent::new)
+                .append(new KeyedCodec<>("WaveX", Codec.INTEGER),
+                        (c, v) -> c.waveKey.x = v, c -> c.waveKey.x)
+                .add()
+                .append(new KeyedCodec<>("WaveY", Codec.INTEGER),
+                        (c, v) -> c.waveKey.y = v, c -> c.waveKey.y)
+                .add()
+                .append(new KeyedCodec<>("WaveZ", Codec.INTEGER),
+                        (c, v) -> c.waveKey.z = v, c -> c.waveKey.z)
+                .add()
+                .append(new KeyedCodec<>("Tier", Codec.STRING),
+                        (c, v) -> c.tier = CometTier.fromString(v), c -> c.tier != null ? c.tier.getName() : null)
+                .add()
+                .append(new KeyedCodec<>("ThemeId", Codec.STRING),
+                        (c, v) -> c.themeId = v, c -> c.themeId)
+                .add()
+                .append(new KeyedCodec<>("RoleId", Codec.STRING),
+                        (c, v) -> c.roleId = v, c -> c.roleId)
+                .add()
+                .append(new KeyedCodec<>("Boss", Codec.BOOLEAN),
+                        (c, v) -> c.boss = v, c -> c.boss)
+                .add()
+                .build();
+    }
+
+    private static ComponentType<EntityStore, CometMobComponent> componentType;
+
+    private Vector3i waveKey = new Vector3i(0, 0, 0);
+    private CometTier tier;
+    private String themeId;
+    private String roleId;
+    private boolean boss;
+
+    public CometMobComponent() {
+    }
+
+    public CometMobComponent(Vector3i waveKey, CometTier tier, String themeId, String roleId, boolean boss) {
+        this.waveKey = waveKey;
+        this.tier = tier;
+        this.themeId = themeId;
+        this.roleId = roleId;
+        this.boss = boss;
+    }
+
+    public static ComponentType<EntityStore, CometMobComponent> getComponentType() {
+        return componentType;
+    }
+
+    static void setComponentType(ComponentType<EntityStore, CometMobComponent> type) {
+        componentType = type;
+    }
+
+    /**
+     * @return The comet block position of the wave this mob belongs to
+     */
+    public Vector3i getWaveKey() {
+        return waveKey;
+    }
+
+    public CometTier getTier() {
+        return tier;
+    }
+
+    public String getThemeId() {
+        return themeId;
+    }
+
+    /**
+     * @return The NPC role id the mob was spawned with
+     */
+    public String getRoleId() {
+        return roleId;
+    }
+
+    public boolean isBoss() {
+        return boss;
+    }
+
+    @Nullable
+    @Override
+    public Component<EntityStore> clone() {
+        return new CometMobComponent(waveKey, tier, themeId, roleId, boss);
+    }
+}
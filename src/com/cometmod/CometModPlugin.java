@@ -10,71 +10,104 @@ import java.util.logging.Logger;
 public class CometModPlugin extends JavaPlugin {
 
     private static final Logger LOGGER = Logger.getLogger("CometMod");
-    private final CometWaveManager waveManager = new CometWaveManager();
     private static CometModPlugin instance;
-    private java.util.concurrent.ScheduledFuture<?> timeoutTask;
-    private java.util.concurrent.ScheduledFuture<?> fallingCheckTask;
-    private CometFallingSystem fallingSystem;
-    private CometSpawnTask spawnTask;
     private CometConfig config;
     private FixedSpawnManager fixedSpawnManager;
+    private boolean fixedSpawnsStarted = false;
+
+    // Comet state and workloads for each world, keyed by world name
+    private final java.util.Map<String, CometWorldShard> shards = new java.util.concurrent.ConcurrentHashMap<>();
 
     public CometModPlugin(JavaPluginInit init) {
         super(init);
         instance = this;
-        waveManager.setPlugin(this);
     }
 
     public static CometModPlugin getInstance() {
         return instance;
     }
 
-    public static CometWaveManager getWaveManager() {
-        return instance != null ? instance.waveManager : null;
+    /**
+     * Get the comet shard for a world
+     *
+     * @return The shard, or null if the world has none (not added yet, removed,
+     *         or the plugin is shut down)
+     */
+    public static CometWorldShard getShard(com.hypixel.hytale.server.core.universe.world.World world) {
+        if (instance == null || world == null) return null;
+        return instance.shards.get(world.getName());
     }
 
-    public static CometFallingSystem getFallingSystem() {
-        return instance != null ? instance.fallingSystem : null;
+    /**
+     * Create the comet shard of a world that was added (or existed when the
+     * plugin started). The only place shards are created, so late events and
+     * ticks for a removed world cannot bring its shard back.
+     */
+    private CometWorldShard createShard(com.hypixel.hytale.server.core.universe.world.World world) {
+        return shards.computeIfAbsent(world.getName(), name -> new CometWorldShard(world, this));
     }
 
-    public static void setFallingSystem(CometFallingSystem fallingSystem) {
-        if (instance == null) return;
-        instance.fallingSystem = fallingSystem;
+    /**
+     * Get the comet shard for the world that owns an entity store
+     */
+    public static CometWorldShard getShard(
+            com.hypixel.hytale.component.Store<com.hypixel.hytale.server.core.universe.world.storage.EntityStore> store) {
+        if (store == null) return null;
+        try {
+            Object externalData = store.getExternalData();
+            if (externalData instanceof com.hypixel.hytale.server.core.universe.world.storage.EntityStore) {
+                return getShard(((com.hypixel.hytale.server.core.universe.world.storage.EntityStore) externalData).getWorld());
+            }
+        } catch (Exception e) {
+            // Ignore
+        }
+        return null;
+    }
 
-        if (instance.spawnTask == null && fallingSystem != null) {
-            com.hypixel.hytale.server.core.universe.world.World world = fallingSystem.getWorld();
-            if (world != null) {
-                try {
-                    com.hypixel.hytale.component.Store<com.hypixel.hytale.server.core.universe.world.storage.EntityStore> store = world
-                            .getEntityStore().getStore();
-                    if (store != null) {
-                        instance.spawnTask = new CometSpawnTask(world, store);
-                        if (instance.config != null) {
-                            instance.config.applyToSpawnTask(instance.spawnTask);
-                        }
-                        instance.spawnTask.start();
+    public static java.util.Collection<CometWorldShard> getShards() {
+        return instance != null ? instance.shards.values() : java.util.Collections.emptyList();
+    }
 
-                        try {
-                            double despawnMinutes = CometFallingSystem.getDespawnTimeMinutes();
-                            CometDespawnTracker.getInstance().processOnStartup(world, despawnMinutes);
-                        } catch (Exception ex) {
-                            LOGGER.warning("Failed to process despawn tracker: " + ex.getMessage());
-                        }
+    public static CometWaveManager getWaveManager(com.hypixel.hytale.server.core.universe.world.World world) {
+        CometWorldShard shard = getShard(world);
+        return shard != null ? shard.getWaveManager() : null;
+    }
 
-                        // Start fixed spawn manager
-                        if (instance.fixedSpawnManager != null) {
-                            instance.fixedSpawnManager.start(world, store);
-                        }
-                    }
-                } catch (Exception e) {
-                    LOGGER.warning("Failed to initialize CometSpawnTask: " + e.getMessage());
-                }
-            }
-        }
+    public static CometWaveManager getWaveManager(
+            com.hypixel.hytale.component.Store<com.hypixel.hytale.server.core.universe.world.storage.EntityStore> store) {
+        CometWorldShard shard = getShard(store);
+        return shard != null ? shard.getWaveManager() : null;
+    }
+
+    public static CometFallingSystem getFallingSystem(com.hypixel.hytale.server.core.universe.world.World world) {
+        CometWorldShard shard = getShard(world);
+        return shard != null ? shard.getFallingSystem() : null;
+    }
+
+    public static CometDespawnTracker getDespawnTracker(com.hypixel.hytale.server.core.universe.world.World world) {
+        CometWorldShard shard = getShard(world);
+        return shard != null ? shard.getDespawnTracker() : null;
+    }
+
+    public static CometSpawnTask getSpawnTask(com.hypixel.hytale.server.core.universe.world.World world) {
+        CometWorldShard shard = getShard(world);
+        return shard != null ? shard.getSpawnTask() : null;
     }
 
-    public static CometSpawnTask getSpawnTask() {
-        return instance != null ? instance.spawnTask : null;
+    /**
+     * Start a world's shard once its store is ready. Fixed spawns start with the
+     * first shard, as before.
+     */
+    private void startShard(CometWorldShard shard) {
+        if (shard == null || !shard.start(this.config)) return;
+
+        synchronized (this) {
+            if (!fixedSpawnsStarted && this.fixedSpawnManager != null) {
+                com.hypixel.hytale.server.core.universe.world.World world = shard.getWorld();
+                this.fixedSpawnManager.start(world, world.getEntityStore().getStore());
+                fixedSpawnsStarted = true;
+            }
+        }
     }
 
     public static FixedSpawnManager getFixedSpawnManager() {
@@ -98,8 +131,21 @@ public class CometModPlugin extends JavaPlugin {
         getCodecRegistry(Interaction.CODEC).register("Comet_Stone_Legendary_Activate",
                 CometStoneActivateInteraction.class, CometStoneActivateInteraction.CODEC);
 
+        // Tag component for wave-spawned NPCs (persisted, so recovered waves find their mobs)
+        CometMobComponent.setComponentType(getEntityStoreRegistry().registerComponent(CometMobComponent.class,
+                "CometMob", CometMobComponent.CODEC));
+
+        // Stat/damage multipliers for comet NPCs (persisted with the entity)
+        CometStatsComponent.setComponentType(getEntityStoreRegistry().registerComponent(CometStatsComponent.class,
+                "CometStats", CometStatsComponent.CODEC));
+
         getEventRegistry().registerGlobal(EntityRemoveEvent.class, this::onEntityRemove);
 
+        // Ground searches cache which block ids are solid; rebuild it when block types change
+        getEventRegistry().register(com.hypixel.hytale.assetstore.event.LoadedAssetsEvent.class,
+                com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType.class,
+                event -> CometGroundFinder.invalidate());
+
         com.hypixel.hytale.server.core.command.system.CommandManager.get().registerSystemCommand(new CometCommand());
 
         getEventRegistry().registerGlobal(
@@ -110,40 +156,14 @@ public class CometModPlugin extends JavaPlugin {
                         if (player == null) return;
 
                         com.hypixel.hytale.component.Ref<com.hypixel.hytale.server.core.universe.world.storage.EntityStore> playerRef = player.getReference();
+                        if (playerRef == null || !playerRef.isValid()) return;
 
-                        if (playerRef != null && playerRef.isValid() && spawnTask == null) {
-                            try {
-                                com.hypixel.hytale.component.Store<com.hypixel.hytale.server.core.universe.world.storage.EntityStore> store = playerRef.getStore();
-                                if (store != null) {
-                                    Object externalData = store.getExternalData();
-                                    if (externalData instanceof com.hypixel.hytale.server.core.universe.world.storage.EntityStore) {
-                                        com.hypixel.hytale.server.core.universe.world.World world = ((com.hypixel.hytale.server.core.universe.world.storage.EntityStore) externalData).getWorld();
-                                        if (world != null) {
-                                            this.spawnTask = new CometSpawnTask(world, store);
-                                            if (this.config != null) {
-                                                this.config.applyToSpawnTask(this.spawnTask);
-                                            }
-                                            this.spawnTask.start();
-
-                                            try {
-                                                double despawnMinutes = CometFallingSystem.getDespawnTimeMinutes();
-                                                CometDespawnTracker.getInstance().processOnStartup(world, despawnMinutes);
-                                            } catch (Exception ex) {
-                                                // Ignore
-                                            }
-
-                                            // Start fixed spawn manager
-                                            if (this.fixedSpawnManager != null) {
-                                                this.fixedSpawnManager.start(world, store);
-                                            }
-                                        }
-                                    }
-                                }
-                            } catch (Exception e) {
-                                // Ignore
-                            }
-                        }
+                        CometWorldShard shard = getShard(playerRef.getStore());
+                        if (shard == null) return;
+
+                        startShard(shard);
 
+                        CometSpawnTask spawnTask = shard.getSpawnTask();
                         if (spawnTask != null) {
                             spawnTask.addPlayer(player);
                         }
@@ -157,20 +177,25 @@ public class CometModPlugin extends JavaPlugin {
                 event -> {
                     try {
                         com.hypixel.hytale.server.core.universe.world.World world = event.getWorld();
+                        createShard(world);
                         world.getWorldMapManager().addMarkerProvider("comets", CometMarkerProvider.INSTANCE);
                     } catch (Exception e) {
                         // Ignore
                     }
                 });
 
-        com.hypixel.hytale.server.core.HytaleServer.SCHEDULED_EXECUTOR.scheduleAtFixedRate(() -> {
-            try {
-                CometWaveManager wm = getWaveManager();
-                if (wm != null) wm.checkTimeouts();
-            } catch (Exception e) {
-                // Ignore
-            }
-        }, 5L, 5L, java.util.concurrent.TimeUnit.SECONDS);
+        getEventRegistry().registerGlobal(
+                com.hypixel.hytale.server.core.universe.world.events.RemoveWorldEvent.class,
+                event -> {
+                    try {
+                        CometWorldShard shard = shards.remove(event.getWorld().getName());
+                        if (shard != null) {
+                            shard.shutdown();
+                        }
+                    } catch (Exception e) {
+                        // Ignore
+                    }
+                });
     }
 
     @Override
@@ -181,6 +206,7 @@ public class CometModPlugin extends JavaPlugin {
             for (com.hypixel.hytale.server.core.universe.world.World world : com.hypixel.hytale.server.core.universe.Universe
                     .get().getWorlds().values()) {
                 try {
+                    createShard(world);
                     world.getWorldMapManager().addMarkerProvider("comets", CometMarkerProvider.INSTANCE);
                 } catch (Exception e) {
                     // Ignore
@@ -191,17 +217,29 @@ public class CometModPlugin extends JavaPlugin {
         }
 
         try {
-            getEntityStoreRegistry().registerSystem(new CometDeathDetectionSystem(waveManager));
+            getEntityStoreRegistry().registerSystem(new CometDeathDetectionSystem());
         } catch (Exception e) {
             LOGGER.warning("Failed to register CometDeathDetectionSystem: " + e.getMessage());
         }
 
         try {
-            getEntityStoreRegistry().registerSystem(new CometBlockBreakSystem(waveManager));
+            getEntityStoreRegistry().registerSystem(new CometWaveSystem());
+        } catch (Exception e) {
+            LOGGER.warning("Failed to register CometWaveSystem: " + e.getMessage());
+        }
+
+        try {
+            getEntityStoreRegistry().registerSystem(new CometBlockBreakSystem());
         } catch (Exception e) {
             LOGGER.warning("Failed to register CometBlockBreakSystem: " + e.getMessage());
         }
 
+        try {
+            getEntityStoreRegistry().registerSystem(new CometBlockPlaceSystem());
+        } catch (Exception e) {
+            LOGGER.warning("Failed to register CometBlockPlaceSystem: " + e.getMessage());
+        }
+
         try {
             getEntityStoreRegistry().registerSystem(new CometStatModifierSystem());
         } catch (Exception e) {
@@ -214,79 +252,68 @@ public class CometModPlugin extends JavaPlugin {
             LOGGER.warning("Failed to register CometDamageModifierSystem: " + e.getMessage());
         }
 
-        this.fallingSystem = null;
-
         CometConfig config = CometConfig.load();
         CometFallingSystem.setDespawnTimeMinutes(config.despawnTimeMinutes);
-
-        this.spawnTask = null;
+        CometSpawnUtil.resolveSpawnBoxes(config);
         this.config = config;
 
         // Initialize fixed spawn manager
         this.fixedSpawnManager = new FixedSpawnManager();
         this.fixedSpawnManager.load();
-        this.fallingCheckTask = com.hypixel.hytale.server.core.HytaleServer.SCHEDULED_EXECUTOR.scheduleWithFixedDelay(
-                () -> {
-                    try {
-                        if (this.fallingSystem != null) {
-                            com.hypixel.hytale.server.core.universe.world.World world = this.fallingSystem.getWorld();
-                            if (world != null) {
-                                world.execute(() -> {
-                                    try {
-                                        com.hypixel.hytale.component.Store<com.hypixel.hytale.server.core.universe.world.storage.EntityStore> store = world
-                                                .getEntityStore().getStore();
-                                        if (store != null) {
-                                            this.fallingSystem.checkProjectilesFallback(world, store);
-                                        }
-                                    } catch (Exception e) {
-                                        // Ignore
-                                    }
-                                });
-                            }
-                        }
-                    } catch (Exception e) {
-                        // Ignore
-                    }
-                },
-                1000L, 1000L, java.util.concurrent.TimeUnit.MILLISECONDS);
-
-        this.timeoutTask = com.hypixel.hytale.server.core.HytaleServer.SCHEDULED_EXECUTOR.scheduleWithFixedDelay(
-                () -> {
-                    try {
-                        waveManager.checkTimeouts();
-                    } catch (Exception e) {
-                        // Ignore
-                    }
-                },
-                5000L, 5000L, java.util.concurrent.TimeUnit.MILLISECONDS);
     }
 
     @Override
     protected void shutdown() {
         LOGGER.info("CometMod shutdown");
-        if (timeoutTask != null) timeoutTask.cancel(false);
-        if (fallingCheckTask != null) fallingCheckTask.cancel(false);
-        if (spawnTask != null) spawnTask.stop();
+        for (CometWorldShard shard : shards.values()) {
+            try {
+                shard.shutdown();
+            } catch (Exception e) {
+                LOGGER.warning("Failed to shut down comet shard: " + e.getMessage());
+            }
+        }
+        shards.clear();
         if (fixedSpawnManager != null) fixedSpawnManager.stop();
-        waveManager.cleanup();
     }
 
     private void onEntityRemove(EntityRemoveEvent event) {
         com.hypixel.hytale.server.core.entity.Entity entity = event.getEntity();
         com.hypixel.hytale.component.Ref<com.hypixel.hytale.server.core.universe.world.storage.EntityStore> entityRef = entity.getReference();
+        if (entityRef == null || !entityRef.isValid()) {
+            return;
+        }
+
+        // Comet wave mobs carry the tag component; everything else is rejected
+        // unless it could be a tracked comet projectile
+        CometWorldShard shard = getShard(entityRef.getStore());
+        if (shard == null) {
+            return;
+        }
 
-        if (this.fallingSystem != null && entityRef != null && entityRef.isValid()) {
+        try {
+            if (entityRef.getStore().getComponent(entityRef, CometMobComponent.getComponentType()) != null) {
+                shard.getWaveManager().handleMobDeath(entityRef);
+                return;
+            }
+        } catch (Exception e) {
+            // Ignore
+        }
+
+        CometFallingSystem fallingSystem = shard.getFallingSystem();
+        if (fallingSystem.hasTrackedProjectiles()) {
             try {
                 com.hypixel.hytale.component.Store<com.hypixel.hytale.server.core.universe.world.storage.EntityStore> store = entityRef.getStore();
-                if (store != null) {
+                if (store != null && store.getComponent(entityRef,
+                        com.hypixel.hytale.server.core.modules.projectile.component.Projectile.getComponentType()) != null) {
                     com.hypixel.hytale.server.core.entity.UUIDComponent uuidComponent = store.getComponent(entityRef,
                             com.hypixel.hytale.server.core.entity.UUIDComponent.getComponentType());
 
                     if (uuidComponent != null) {
                         java.util.UUID entityUUID = uuidComponent.getUuid();
-                        com.hypixel.hytale.math.vector.Vector3i targetPos = this.fallingSystem.getTrackedTarget(entityUUID);
+                        // Claim the comet first so its impact timer cannot spawn it too
+                        CometFallingSystem.FallingComet comet = fallingSystem.removeTrackedProjectile(entityUUID);
 
-                        if (targetPos != null) {
+                        if (comet != null) {
                             com.hypixel.hytale.server.core.modules.entity.component.TransformComponent transform = store
                                     .getComponent(entityRef,
                                             com.hypixel.hytale.server.core.modules.entity.component.TransformComponent.getComponentType());
@@ -301,24 +328,16 @@ public class CometModPlugin extends JavaPlugin {
                                     int blockX = (int) Math.round(landingPos.x);
                                     int blockZ = (int) Math.round(landingPos.z);
                                     int landingBlockY = (int) Math.floor(landingPos.y);
-                                    int solidGroundY = this.fallingSystem.findGroundLevelAtPosition(world, blockX, blockZ, landingBlockY);
+                                    int solidGroundY = fallingSystem.findGroundLevelAtPosition(world, blockX, blockZ, landingBlockY);
                                     int blockY = (solidGroundY != -1) ? solidGroundY + 1 : landingBlockY + 1;
 
                                     com.hypixel.hytale.math.vector.Vector3i actualBlockPos = new com.hypixel.hytale.math.vector.Vector3i(blockX, blockY, blockZ);
-                                    CometTier tier = this.fallingSystem.getProjectileTier(entityUUID);
-                                    String themeId = this.fallingSystem.getProjectileThemeId(entityUUID);
-                                    java.util.UUID ownerUUID = this.fallingSystem.getProjectileOwner(entityUUID);
-                                    this.fallingSystem.spawnCometBlock(world, actualBlockPos, store, tier, themeId, ownerUUID);
-                                    this.fallingSystem.removeTrackedProjectile(entityUUID);
+                                    fallingSystem.spawnCometBlock(world, actualBlockPos, store, comet.getTier(),
+                                            comet.getThemeId(), comet.getOwnerId());
                                 });
                             } else if (world != null) {
-                                CometTier tier = this.fallingSystem.getProjectileTier(entityUUID);
-                                String themeId = this.fallingSystem.getProjectileThemeId(entityUUID);
-                                java.util.UUID ownerUUID = this.fallingSystem.getProjectileOwner(entityUUID);
-                                world.execute(() -> {
-                                    this.fallingSystem.spawnCometBlock(world, targetPos, store, tier, themeId, ownerUUID);
-                                    this.fallingSystem.removeTrackedProjectile(entityUUID);
-                                });
+                                world.execute(() -> fallingSystem.spawnCometBlock(world, comet.getTarget(), store,
+                                        comet.getTier(), comet.getThemeId(), comet.getOwnerId()));
                             }
                             return;
                         }
@@ -328,9 +347,5 @@ public class CometModPlugin extends JavaPlugin {
                 // Ignore
             }
         }
-
-        if (entityRef != null && entityRef.isValid()) {
-            waveManager.handleMobDeath(entityRef);
-        }
     }
 }
@@ -0,0 +1,125 @@
+package com.cometmod;
+
+import java.util.ArrayDeque;
+import java.util.logging.Logger;
+
+/**
+ * Server-wide budget of wave NPCs, shared by the comets of every world.
+ *
+ * A wave reserves its peak NPC count when its comet is activated and hands it
+ * back when the encounter ends. Activations that do not fit wait in arrival
+ * order, so a burst of activations across worlds can never have more wave NPCs
+ * alive than CometConfig.waveNpcBudget. Under the "scale" policy the head of
+ * the line is granted whatever is left instead of waiting for its full count.
+ * Called from several world threads, so every method is synchronized.
+ */
+public final class CometNpcBudget {
+
+    private static final Logger LOGGER = Logger.getLogger("CometNpcBudget");
+
+    private static final ArrayDeque<Object> waiting = new ArrayDeque<>(); // Tickets in arrival order
+    private static int inUse = 0;
+
+    private CometNpcBudget() {}
+
+    /**
+     * @return true if a budget is configured
+     */
+    public static boolean isLimited() {
+        CometConfig config = CometConfig.getInstance();
+        return config != null && config.waveNpcBudget > 0;
+    }
+
+    private static boolean scalePolicy() {
+        CometConfig config = CometConfig.getInstance();
+        return config != null && "scale".equals(config.waveBudgetPolicy);
+    }
+
+    /**
+     * Try to reserve NPCs for a wave. Only the oldest waiting ticket can be
+     * admitted, so large waves are not starved by smaller ones behind them.
+     *
+     * A wave larger than the whole budget asks for the whole budget instead,
+     * since it could never be admitted otherwise and would block the line.
+     *
+     * @param ticket Identifies the waiting wave; queued if it is not admitted
+     * @param npcs   Peak number of NPCs the wave wants alive at once
+     * @return NPCs reserved (npcs, or fewer if it exceeds the budget or under
+     *         the "scale" policy), or 0 if the wave has to keep waiting
+     */
+    public static synchronized int tryAdmit(Object ticket, int npcs) {
+        npcs = Math.max(1, npcs);
+        if (!isLimited()) {
+            waiting.remove(ticket);
+            inUse += npcs;
+            return npcs;
+        }
+        int requested = npcs;
+        npcs = Math.min(npcs, CometConfig.getInstance().waveNpcBudget);
+        if (!waiting.isEmpty() && waiting.peekFirst() != ticket) {
+            if (!waiting.contains(ticket)) {
+                waiting.addLast(ticket);
+            }
+            return 0;
+        }
+        int free = CometConfig.getInstance().waveNpcBudget - inUse;
+        int granted = free >= npcs ? npcs : (scalePolicy() ? Math.max(0, free) : 0);
+        if (granted == 0) {
+            if (waiting.isEmpty()) {
+                waiting.addLast(ticket);
+            }
+            return 0;
+        }
+        waiting.remove(ticket);
+        inUse += granted;
+        if (granted < requested) {
+            LOGGER.info("Scaled wave down to " + granted + " of " + requested + " NPCs (budget "
+                    + CometConfig.getInstance().waveNpcBudget + ", in use " + (inUse - granted) + ")");
+        }
+        return granted;
+    }
+
+    /**
+     * Reserve NPCs without waiting, for waves that are already running (e.g.
+     * recovered after a restart)
+     *
+     * @return NPCs reserved
+     */
+    public static synchronized int reserve(int npcs) {
+        npcs = Math.max(1, npcs);
+        inUse += npcs;
+        return npcs;
+    }
+
+    /**
+     * Give back NPCs reserved by tryAdmit or reserve
+     */
+    public static synchronized void release(int npcs) {
+        inUse = Math.max(0, inUse - npcs);
+    }
+
+    /**
+     * Drop a waiting ticket, e.g. when its comet is removed before admission
+     */
+    public static synchronized void cancel(Object ticket) {
+        waiting.remove(ticket);
+    }
+
+    /**
+     * @return 1-based place of a ticket in line, or 0 if it is not waiting
+     */
+    public static synchronized int getPosition(Object ticket) {
+        int position = 1;
+        for (Object waitingTicket : waiting) {
+            if (waitingTicket == ticket) {
+                return position;
+            }
+            position++;
+        }
+        return 0;
+    }
+
+    public static synchronized int getInUse() {
+        return inUse;
+    }
+}
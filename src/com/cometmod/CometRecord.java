@@ -0,0 +1,182 @@
+package com.cometmod;
+
+import com.hypixel.hytale.math.vector.Vector3i;
+
+/**
+ * Everything known about one comet block: wave-side state (tier, owner, theme,
+ * activation state, running wave) and despawn-side state (spawn time, custom
+ * despawn time).
+ *
+ * Records live in a CometRegistry and are removed as a whole, so the two sides
+ * can no longer drift apart. Fields are volatile for cross-thread reads;
+ * compound transitions go through the synchronized methods.
+ */
+public class CometRecord {
+
+    private final long key;
+    private final Vector3i pos;
+    private final CometRegistry registry; // Told when a wave starts or ends
+
+    // Wave manager state
+    private volatile CometTier tier;
+    private volatile java.util.UUID owner;
+    private volatile String themeId; // Theme rolled (or forced) for the current encounter
+    private volatile String forcedThemeId; // Theme forced by the spawn command
+    private volatile CometWaveManager.CometState state; // null = untouched
+    private volatile CometWaveManager.WaveData wave; // Running wave encounter, if any
+    private volatile CometArenaSolver.Arena arena; // Pre-scanned spawn spots, null until scanned
+    private volatile CometDeadlineQueue.Timer arenaScanTimer; // Pending arena scan, if any
+
+    // Despawn tracker state (spawnTime 0 = not tracked for despawn)
+    private volatile long spawnTime;
+    private volatile String despawnTierName;
+    private volatile Double customDespawnMinutes;
+    private volatile CometDeadlineQueue.Timer despawnTimer;
+
+    CometRecord(long key, Vector3i pos, CometRegistry registry) {
+        this.key = key;
+        this.pos = pos;
+        this.registry = registry;
+    }
+
+    public long getKey() {
+        return key;
+    }
+
+    public Vector3i getPos() {
+        return pos;
+    }
+
+    public CometTier getTier() {
+        return tier;
+    }
+
+    public void setTier(CometTier tier) {
+        this.tier = tier;
+    }
+
+    public java.util.UUID getOwner() {
+        return owner;
+    }
+
+    public void setOwner(java.util.UUID owner) {
+        this.owner = owner;
+    }
+
+    public String getThemeId() {
+        return themeId;
+    }
+
+    public void setThemeId(String themeId) {
+        this.themeId = themeId;
+    }
+
+    public String getForcedThemeId() {
+        return forcedThemeId;
+    }
+
+    public void setForcedThemeId(String forcedThemeId) {
+        this.forcedThemeId = forcedThemeId;
+    }
+
+    /**
+     * @return The activation state, or null if the comet has not been touched
+     */
+    public CometWaveManager.CometState getState() {
+        return state;
+    }
+
+    public void setState(CometWaveManager.CometState state) {
+        this.state = state;
+    }
+
+    CometWaveManager.WaveData getWave() {
+        return wave;
+    }
+
+    /**
+     * Start a wave if the comet is neither active nor completed
+     *
+     * @return true if this call moved the comet into WAVE_ACTIVE
+     */
+    synchronized boolean beginWave(CometWaveManager.WaveData waveData) {
+        if (state == CometWaveManager.CometState.WAVE_ACTIVE || state == CometWaveManager.CometState.COMPLETED) {
+            return false;
+        }
+        state = CometWaveManager.CometState.WAVE_ACTIVE;
+        wave = waveData;
+        registry.waveStarted(this);
+        return true;
+    }
+
+    /**
+     * Detach a wave from the comet, resetting the state only if that wave is still
+     * the current one
+     */
+    synchronized void endWave(CometWaveManager.WaveData waveData, CometWaveManager.CometState nextState) {
+        if (wave != waveData) {
+            return;
+        }
+        wave = null;
+        state = nextState;
+        registry.waveEnded(this);
+    }
+
+    synchronized void attachWave(CometWaveManager.WaveData waveData) {
+        wave = waveData;
+        if (waveData != null) {
+            registry.waveStarted(this);
+        } else {
+            registry.waveEnded(this);
+        }
+    }
+
+    CometArenaSolver.Arena getArena() {
+        return arena;
+    }
+
+    void setArena(CometArenaSolver.Arena arena) {
+        this.arena = arena;
+    }
+
+    CometDeadlineQueue.Timer getArenaScanTimer() {
+        return arenaScanTimer;
+    }
+
+    void setArenaScanTimer(CometDeadlineQueue.Timer arenaScanTimer) {
+        this.arenaScanTimer = arenaScanTimer;
+    }
+
+    /**
+     * @return true if the comet is registered for persistent despawn
+     */
+    public boolean isDespawnTracked() {
+        return spawnTime != 0;
+    }
+
+    public long getSpawnTime() {
+        return spawnTime;
+    }
+
+    public String getDespawnTierName() {
+        return despawnTierName;
+    }
+
+    public Double getCustomDespawnMinutes() {
+        return customDespawnMinutes;
+    }
+
+    CometDeadlineQueue.Timer getDespawnTimer() {
+        return despawnTimer;
+    }
+
+    void setDespawnTimer(CometDeadlineQueue.Timer despawnTimer) {
+        this.despawnTimer = despawnTimer;
+    }
+
+    synchronized void trackDespawn(long spawnTime, String tierName, Double customDespawnMinutes) {
+        this.spawnTime = spawnTime;
+        this.despawnTierName = tierName;
+        this.customDespawnMinutes = customDespawnMinutes;
+    }
+}
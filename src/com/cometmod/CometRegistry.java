@@ -0,0 +1,244 @@
+package com.cometmod;
+
+import com.hypixel.hytale.math.vector.Vector3i;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * All comets in one world, one CometRecord per comet block, keyed by the block
+ * position packed into a long.
+ *
+ * Shared by the wave manager, despawn tracker, marker provider and commands of
+ * a CometWorldShard. Access is guarded by the registry's monitor; it is only
+ * held for single map operations, never across world calls.
+ *
+ * Records are also bucketed by 32x32 chunk column, so radius queries only look
+ * at the chunks they cover, and the records with a running wave are kept apart
+ * so the wave tick never walks idle comets.
+ */
+public class CometRegistry {
+
+    // Packed layout: x (26 bits) | z (26 bits) | y (12 bits), all two's complement
+    private static final int XZ_BITS = 26;
+    private static final int Y_BITS = 12;
+    private static final long XZ_MASK = (1L << XZ_BITS) - 1;
+    private static final long Y_MASK = (1L << Y_BITS) - 1;
+
+    private static final int CHUNK_SHIFT = 5;
+
+    private final Long2ObjectOpenHashMap<CometRecord> records = new Long2ObjectOpenHashMap<>();
+
+    // Spatial index: chunk index -> records in that chunk column
+    private final Long2ObjectOpenHashMap<List<CometRecord>> chunkBuckets = new Long2ObjectOpenHashMap<>();
+
+    // Records with a running wave, kept up to date by CometRecord
+    private final java.util.LinkedHashSet<CometRecord> waveRecords = new java.util.LinkedHashSet<>();
+
+    // Called after a record is removed (outside the lock)
+    private final List<Consumer<CometRecord>> removalListeners = new java.util.concurrent.CopyOnWriteArrayList<>();
+
+    public static long pack(int x, int y, int z) {
+        return ((x & XZ_MASK) << (XZ_BITS + Y_BITS)) | ((z & XZ_MASK) << Y_BITS) | (y & Y_MASK);
+    }
+
+    public static long pack(Vector3i pos) {
+        return pack(pos.x, pos.y, pos.z);
+    }
+
+    public static Vector3i unpack(long key) {
+        int x = (int) (key >> (XZ_BITS + Y_BITS));
+        int z = (int) (key << (64 - XZ_BITS - Y_BITS) >> (64 - XZ_BITS));
+        int y = (int) (key << (64 - Y_BITS) >> (64 - Y_BITS));
+        return new Vector3i(x, y, z);
+    }
+
+    void addRemovalListener(Consumer<CometRecord> removalListener) {
+        removalListeners.add(removalListener);
+    }
+
+    /**
+     * @return The record for a block position, or null if no comet is registered
+     *         there
+     */
+    public CometRecord get(Vector3i pos) {
+        return get(pack(pos));
+    }
+
+    public synchronized CometRecord get(long key) {
+        return records.get(key);
+    }
+
+    /**
+     * Get the record for a block position, registering an empty one if needed
+     */
+    public synchronized CometRecord getOrCreate(Vector3i pos) {
+        long key = pack(pos);
+        CometRecord record = records.get(key);
+        if (record == null) {
+            record = new CometRecord(key, new Vector3i(pos.x, pos.y, pos.z), this);
+            records.put(key, record);
+            chunkBuckets.computeIfAbsent(chunkIndex(pos.x, pos.z), k -> new ArrayList<>(2)).add(record);
+        }
+        return record;
+    }
+
+    public boolean contains(Vector3i pos) {
+        return get(pos) != null;
+    }
+
+    /**
+     * Remove a comet and all of its state
+     *
+     * @return The removed record, or null if none was registered
+     */
+    public CometRecord remove(Vector3i pos) {
+        CometRecord removed;
+        synchronized (this) {
+            removed = records.remove(pack(pos));
+            if (removed != null) {
+                waveRecords.remove(removed);
+                long chunkKey = chunkIndex(pos.x, pos.z);
+                List<CometRecord> bucket = chunkBuckets.get(chunkKey);
+                if (bucket != null) {
+                    bucket.remove(removed);
+                    if (bucket.isEmpty()) {
+                        chunkBuckets.remove(chunkKey);
+                    }
+                }
+            }
+        }
+        if (removed != null) {
+            for (Consumer<CometRecord> listener : removalListeners) {
+                listener.accept(removed);
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * @return A copy of all records, safe to iterate while comets change
+     */
+    public synchronized List<CometRecord> snapshot() {
+        return new ArrayList<>(records.values());
+    }
+
+    public synchronized int size() {
+        return records.size();
+    }
+
+    public synchronized boolean isEmpty() {
+        return records.isEmpty();
+    }
+
+    /**
+     * @return A copy of the records with a running wave, safe to iterate while
+     *         waves start and end
+     */
+    public synchronized List<CometRecord> snapshotWaves() {
+        return new ArrayList<>(waveRecords);
+    }
+
+    /**
+     * @return true if any comet has a running wave
+     */
+    public synchronized boolean hasWaves() {
+        return !waveRecords.isEmpty();
+    }
+
+    synchronized void waveStarted(CometRecord record) {
+        // A late call for a record removed meanwhile must not resurrect it
+        if (records.get(record.getKey()) == record) {
+            waveRecords.add(record);
+        }
+    }
+
+    synchronized void waveEnded(CometRecord record) {
+        waveRecords.remove(record);
+    }
+
+    /**
+     * Drop all records without notifying the removal listeners (shutdown only)
+     */
+    public synchronized void clear() {
+        records.clear();
+        chunkBuckets.clear();
+        waveRecords.clear();
+    }
+
+    // ========== SPATIAL QUERIES ==========
+
+    private static long chunkIndex(int blockX, int blockZ) {
+        return com.hypixel.hytale.math.util.ChunkUtil.indexChunkFromBlock(blockX, blockZ);
+    }
+
+    private static double distanceSq(CometRecord record, int x, int y, int z) {
+        Vector3i pos = record.getPos();
+        double dx = pos.x - x;
+        double dy = pos.y - y;
+        double dz = pos.z - z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    /**
+     * Visit candidate records for a radius query: the covered chunk columns, or
+     * every bucket when the radius spans more chunks than are occupied
+     *
+     * @return false if the visitor stopped the scan early
+     */
+    private boolean scanRadius(int x, int z, int radius, Predicate<CometRecord> visitor) {
+        int minCx = (x - radius) >> CHUNK_SHIFT;
+        int maxCx = (x + radius) >> CHUNK_SHIFT;
+        int minCz = (z - radius) >> CHUNK_SHIFT;
+        int maxCz = (z + radius) >> CHUNK_SHIFT;
+        long span = (long) (maxCx - minCx + 1) * (maxCz - minCz + 1);
+
+        if (span > chunkBuckets.size()) {
+            for (List<CometRecord> bucket : chunkBuckets.values()) {
+                for (CometRecord record : bucket) {
+                    if (!visitor.test(record)) return false;
+                }
+            }
+            return true;
+        }
+
+        for (int cx = minCx; cx <= maxCx; cx++) {
+            for (int cz = minCz; cz <= maxCz; cz++) {
+                List<CometRecord> bucket = chunkBuckets.get(chunkIndex(cx << CHUNK_SHIFT, cz << CHUNK_SHIFT));
+                if (bucket == null) continue;
+                for (CometRecord record : bucket) {
+                    if (!visitor.test(record)) return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return All records within radius blocks (3D distance) of a position
+     */
+    public synchronized List<CometRecord> findInRadius(int x, int y, int z, int radius) {
+        double radiusSq = (double) radius * radius;
+        List<CometRecord> result = new ArrayList<>();
+        scanRadius(x, z, radius, record -> {
+            if (distanceSq(record, x, y, z) <= radiusSq) {
+                result.add(record);
+            }
+            return true;
+        });
+        return result;
+    }
+
+    /**
+     * @return true if any record matching the filter is within radius blocks
+     *         (3D distance) of a position
+     */
+    public synchronized boolean anyInRadius(int x, int y, int z, int radius, Predicate<CometRecord> filter) {
+        double radiusSq = (double) radius * radius;
+        return !scanRadius(x, z, radius,
+                record -> !(distanceSq(record, x, y, z) <= radiusSq && (filter == null || filter.test(record))));
+    }
+}
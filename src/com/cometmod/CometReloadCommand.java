@@ -33,15 +33,20 @@ public class CometReloadCommand extends AbstractWorldCommand {
             // Reload config
             CometConfig config = CometConfig.reload();
 
-            // Apply spawn settings to spawn task
-            CometSpawnTask spawnTask = CometModPlugin.getSpawnTask();
-            if (spawnTask != null) {
-                config.applyToSpawnTask(spawnTask);
+            // Apply spawn settings to every world's spawn task
+            for (CometWorldShard shard : CometModPlugin.getShards()) {
+                CometSpawnTask spawnTask = shard.getSpawnTask();
+                if (spawnTask != null) {
+                    config.applyToSpawnTask(spawnTask);
+                }
             }
 
             // Apply despawn time
             CometFallingSystem.setDespawnTimeMinutes(config.despawnTimeMinutes);
 
+            // Re-resolve NPC spawn boxes for the reloaded themes
+            CometSpawnUtil.resolveSpawnBoxes(config);
+
             // Reload fixed spawn points
             FixedSpawnManager fixedSpawnManager = CometModPlugin.getFixedSpawnManager();
             int fixedSpawnCount = 0;
@@ -79,7 +79,7 @@ public class CometSpawnCommand extends AbstractWorldCommand {
                 // consistent with command line usage where spaces split arguments
                 themeArgStr = themeArgStr.replace('_', ' ');
 
-                CometWaveManager waveManager = CometModPlugin.getWaveManager();
+                CometWaveManager waveManager = CometModPlugin.getWaveManager(world);
                 if (waveManager != null) {
                     themeId = waveManager.getThemeIdByName(themeArgStr);
                     if (themeId == null) {
@@ -131,12 +131,13 @@ public class CometSpawnCommand extends AbstractWorldCommand {
                 int maxDist = 8;
 
                 // Try up to 16 times to find a valid position (ground, not water)
+                CometGroundFinder.ColumnCache columns = new CometGroundFinder.ColumnCache();
                 for (int attempt = 0; attempt < 16; attempt++) {
                     double angle = RANDOM.nextDouble() * 2 * Math.PI;
                     double distance = minDist + RANDOM.nextDouble() * (maxDist - minDist);
                     int x = (int) (playerPos.x + Math.cos(angle) * distance);
                     int z = (int) (playerPos.z + Math.sin(angle) * distance);
-                    int y = findGroundLevel(world, x, z, (int) playerPos.y);
+                    int y = findGroundLevel(world, x, z, (int) playerPos.y, columns);
                     if (y == -1)
                         continue;
                     if (isInWater(world, x, y, z) || isInWater(world, x, y + 1, z))
@@ -159,7 +160,7 @@ public class CometSpawnCommand extends AbstractWorldCommand {
             final Vector3i targetBlockPos = new Vector3i(spawnX, spawnY + 1, spawnZ);
 
             if (themeId != null) {
-                CometWaveManager waveManager = CometModPlugin.getWaveManager();
+                CometWaveManager waveManager = CometModPlugin.getWaveManager(world);
                 if (waveManager != null) {
                     waveManager.forceTheme(targetBlockPos, themeId);
                 }
@@ -185,11 +186,11 @@ public class CometSpawnCommand extends AbstractWorldCommand {
             // Direction: straight down
             Vector3d direction = new Vector3d(0, -1, 0);
 
-            // Initialize falling system if not already initialized
-            CometFallingSystem fallingSystem = CometModPlugin.getFallingSystem();
+            // Falling system for this world's comet shard
+            CometFallingSystem fallingSystem = CometModPlugin.getFallingSystem(world);
             if (fallingSystem == null) {
-                fallingSystem = new CometFallingSystem(world);
-                CometModPlugin.setFallingSystem(fallingSystem);
+                context.sendMessage(Message.raw("Error: Comet system not initialized for this world!"));
+                return;
             }
 
             // Store tier and owner UUID with the projectile tracking
@@ -226,8 +227,8 @@ public class CometSpawnCommand extends AbstractWorldCommand {
                                 direction);
 
                 if (projectileRef != null) {
-                    fallingSystem.trackProjectile(projectileUUID, targetBlockPos, spawnPos.y, finalTier, themeId,
-                            ownerUUID);
+                    fallingSystem.trackProjectile(projectileUUID, projectileRef, targetBlockPos, spawnPos.y,
+                            finalTier, themeId, ownerUUID);
                 } else {
                     spawnCometBlockDirectly(world, targetBlockPos, store, finalTier, themeId, ownerUUID);
                 }
@@ -271,11 +272,11 @@ public class CometSpawnCommand extends AbstractWorldCommand {
                 );
 
                 // Auto-hide after 3 seconds
-                com.hypixel.hytale.server.core.HytaleServer.SCHEDULED_EXECUTOR.schedule(() -> {
-                    world.execute(() -> {
-                        EventTitleUtil.hideEventTitleFromPlayer(playerRefComponent, 0.0F);
-                    });
-                }, 3L, java.util.concurrent.TimeUnit.SECONDS);
+                CometWorldShard shard = CometModPlugin.getShard(world);
+                if (shard != null) {
+                    shard.getDeadlines().schedule(System.currentTimeMillis() + 3000L,
+                            () -> EventTitleUtil.hideEventTitleFromPlayer(playerRefComponent, 0.0F));
+                }
             }
 
         } catch (Exception e) {
@@ -304,43 +305,8 @@ public class CometSpawnCommand extends AbstractWorldCommand {
         }
     }
 
-    private int findGroundLevel(World world, int x, int z, int startY) {
-        int searchStartY = 255;
-        int minY = Math.max(0, startY - 150);
-
-        long chunkIndex = com.hypixel.hytale.math.util.ChunkUtil.indexChunkFromBlock(x, z);
-        com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk chunk = world.getChunkIfInMemory(chunkIndex);
-
-        for (int y = searchStartY; y >= minY; y--) {
-            try {
-                com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType blockType = null;
-
-                if (chunk != null) {
-                    blockType = chunk.getBlockType(x, y, z);
-                } else {
-                    blockType = world.getBlockType(x, y, z);
-                }
-
-                if (blockType != null) {
-                    int blockId = com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType.getAssetMap()
-                            .getIndex(blockType.getId());
-
-                    if (blockId != 0) {
-                        Object material = blockType.getMaterial();
-                        if (material != null) {
-                            String materialStr = material.toString();
-                            if (materialStr.equals("Solid") || materialStr.equals("Opaque")) {
-                                return y;
-                            }
-                        }
-                    }
-                }
-            } catch (Exception e) {
-                // Continue searching
-            }
-        }
-
-        return -1;
+    private int findGroundLevel(World world, int x, int z, int startY, CometGroundFinder.ColumnCache columns) {
+        return CometGroundFinder.findSurface(world, x, z, 255, Math.max(0, startY - 150), columns);
     }
 
     private void spawnCometBlockDirectly(World world, Vector3i blockPos, Store<EntityStore> store, CometTier tier,
@@ -384,7 +350,7 @@ public class CometSpawnCommand extends AbstractWorldCommand {
                 chunk.setBlock(localX, blockPos.y, localZ, blockId, blockType, 0, 0, 0);
                 chunk.markNeedsSaving();
 
-                CometWaveManager waveManager = CometModPlugin.getWaveManager();
+                CometWaveManager waveManager = CometModPlugin.getWaveManager(world);
                 if (waveManager != null) {
                     waveManager.registerCometTier(world, blockPos, tier, ownerUUID);
                     if (themeId != null) {
@@ -405,7 +371,10 @@ public class CometSpawnCommand extends AbstractWorldCommand {
                     }
                 }
 
-                CometDespawnTracker.getInstance().registerComet(blockPos, tier.getName());
+                CometDespawnTracker despawnTracker = CometModPlugin.getDespawnTracker(world);
+                if (despawnTracker != null) {
+                    despawnTracker.registerComet(blockPos, tier.getName());
+                }
             } catch (Exception e) {
                 LOGGER.severe("Error spawning comet block: " + e.getMessage());
                 e.printStackTrace();
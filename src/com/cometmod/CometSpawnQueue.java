@@ -0,0 +1,166 @@
+package com.cometmod;
+
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.math.vector.Vector3f;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Per-world queue of wave NPCs waiting to be spawned.
+ *
+ * Waves enqueue their mobs as one batch; the queue is drained every tick
+ * within a budget of spawns and time, taking one mob from each batch in turn
+ * so simultaneous activations fill in side by side. Mobs of the same batch are
+ * at least SPAWN_STAGGER_MS apart, so a wave visibly pours in instead of
+ * appearing all at once. A batch can also be held back (a wave at its alive
+ * cap) without losing its place. Only used on the world thread.
+ */
+public class CometSpawnQueue {
+
+    // Minimum time between two spawns of the same wave
+    private static final long SPAWN_STAGGER_MS = 100;
+
+    /**
+     * One queued NPC spawn, already placed, with its role resolved and the
+     * components it is added with built
+     */
+    static final class PendingSpawn {
+        final CometWaveManager.WaveData wave;
+        final int waveIndex; // Wave the spawn belongs to; stale once the wave moves on
+        final String npcType;
+        final int roleIndex; // NPCPlugin role index of npcType
+        final Vector3d position;
+        final Vector3f rotation;
+        final CometMobComponent mobTag;
+        final CometStatsComponent stats; // Multipliers baked into the holder, or null
+        final float health; // Health to respawn with, NaN for full health
+        CometWaveCheckpoint.MobState checkpointState; // Last checkpoint state built for this spawn (world thread)
+
+        PendingSpawn(CometWaveManager.WaveData wave, int waveIndex, String npcType, int roleIndex,
+                float[] multipliers, Vector3d position, Vector3f rotation, String themeId, CometTier tier,
+                boolean isBoss) {
+            this.wave = wave;
+            this.waveIndex = waveIndex;
+            this.npcType = npcType;
+            this.roleIndex = roleIndex;
+            this.position = position;
+            this.rotation = rotation;
+            this.mobTag = new CometMobComponent(wave.blockPos, tier, themeId, npcType, isBoss);
+            this.stats = multipliers != null && multipliers.length >= 4
+                    ? new CometStatsComponent(multipliers[0], multipliers[1], multipliers[2], multipliers[3])
+                    : null;
+            this.health = Float.NaN;
+        }
+
+        /**
+         * Respawn of a mob from a hibernated wave, at the position and health it
+         * had when the wave went dormant
+         */
+        PendingSpawn(PendingSpawn original, Vector3d position, Vector3f rotation, float health) {
+            this.wave = original.wave;
+            this.waveIndex = original.waveIndex;
+            this.npcType = original.npcType;
+            this.roleIndex = original.roleIndex;
+            this.position = position;
+            this.rotation = rotation;
+            this.mobTag = (CometMobComponent) original.mobTag.clone();
+            this.stats = original.stats != null
+                    ? new CometStatsComponent(original.stats.getHpMultiplier(), original.stats.getDamageMultiplier(),
+                            original.stats.getScaleMultiplier(), original.stats.getSpeedMultiplier())
+                    : null;
+            this.health = health;
+        }
+    }
+
+    private static final class Batch {
+        final ArrayDeque<PendingSpawn> spawns;
+        long nextAt; // Earliest time the next mob of this batch may spawn
+
+        Batch(List<PendingSpawn> spawns) {
+            this.spawns = new ArrayDeque<>(spawns);
+        }
+    }
+
+    private final ArrayDeque<Batch> batches = new ArrayDeque<>();
+    private int size = 0;
+
+    /**
+     * Queue a wave's spawns as one batch
+     */
+    public void enqueue(List<PendingSpawn> spawns) {
+        if (spawns.isEmpty()) {
+            return;
+        }
+        batches.addLast(new Batch(spawns));
+        size += spawns.size();
+    }
+
+    /**
+     * Spawn queued mobs until a budget runs out.
+     *
+     * @param now       Current time in milliseconds
+     * @param maxSpawns Spawn attempts allowed this tick
+     * @param maxNanos  Time allowed this tick
+     * @param ready     Returns false to hold a batch back for now, checked on its
+     *                  next entry
+     * @param spawner   Spawns one entry; returns false if the entry was stale and
+     *                  did not use any budget
+     * @return Number of spawn attempts made
+     */
+    int drain(long now, int maxSpawns, long maxNanos, Predicate<PendingSpawn> ready,
+            Predicate<PendingSpawn> spawner) {
+        if (batches.isEmpty()) {
+            return 0;
+        }
+        long startNanos = System.nanoTime();
+        int attempts = 0;
+        int idleBatches = 0; // Batches in a row that were staggering or held back
+
+        while (!batches.isEmpty() && attempts < maxSpawns && idleBatches < batches.size()) {
+            if (attempts > 0 && System.nanoTime() - startNanos >= maxNanos) {
+                break;
+            }
+            Batch batch = batches.pollFirst();
+            if (batch.nextAt > now || !ready.test(batch.spawns.peekFirst())) {
+                batches.addLast(batch);
+                idleBatches++;
+                continue;
+            }
+            PendingSpawn spawn = batch.spawns.pollFirst();
+            size--;
+            if (spawner.test(spawn)) {
+                attempts++;
+                batch.nextAt = now + SPAWN_STAGGER_MS;
+                idleBatches = 0;
+            }
+            if (!batch.spawns.isEmpty()) {
+                batches.addLast(batch);
+            }
+        }
+        return attempts;
+    }
+
+    /**
+     * Copy the queued spawns of one wave, for its checkpoint
+     */
+    void collect(CometWaveManager.WaveData wave, int waveIndex, List<PendingSpawn> out) {
+        for (Batch batch : batches) {
+            for (PendingSpawn spawn : batch.spawns) {
+                if (spawn.wave == wave && spawn.waveIndex == waveIndex) {
+                    out.add(spawn);
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        batches.clear();
+        size = 0;
+    }
+}
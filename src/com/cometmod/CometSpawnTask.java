@@ -25,6 +25,9 @@ public class CometSpawnTask {
     private double spawnChance = 0.4;   // 40% chance to spawn each check
     private int minSpawnDistance = 30;  // Minimum distance from player (blocks)
     private int maxSpawnDistance = 50;  // Maximum distance from player (blocks)
+
+    // Keep natural comets from landing on top of existing ones (blocks)
+    private static final int MIN_COMET_SPACING = 16;
     
     // Getters and setters for UI configuration
     public int getMinDelaySeconds() { return minDelaySeconds; }
@@ -248,6 +251,8 @@ public class CometSpawnTask {
             com.hypixel.hytale.math.vector.Vector3d playerPos = transform.getPosition();
             Random random = new Random();
             com.hypixel.hytale.math.vector.Vector3i targetBlockPos = null;
+            CometWaveManager waveManager = CometModPlugin.getWaveManager(currentWorld);
+            CometGroundFinder.ColumnCache columns = new CometGroundFinder.ColumnCache();
 
             for (int attempt = 0; attempt < 16; attempt++) {
                 double angle = random.nextDouble() * 2 * Math.PI;
@@ -255,10 +260,11 @@ public class CometSpawnTask {
 
                 int spawnX = (int)(playerPos.x + Math.cos(angle) * distance);
                 int spawnZ = (int)(playerPos.z + Math.sin(angle) * distance);
-                int spawnY = findGroundLevel(currentWorld, spawnX, spawnZ, (int)playerPos.y);
+                int spawnY = findGroundLevel(currentWorld, spawnX, spawnZ, (int)playerPos.y, columns);
 
                 if (spawnY == -1) continue;
                 if (isInWater(currentWorld, spawnX, spawnY, spawnZ) || isInWater(currentWorld, spawnX, spawnY + 1, spawnZ)) continue;
+                if (waveManager != null && waveManager.hasActiveCometNear(spawnX, spawnY + 1, spawnZ, MIN_COMET_SPACING)) continue;
 
                 targetBlockPos = new com.hypixel.hytale.math.vector.Vector3i(spawnX, spawnY + 1, spawnZ);
                 break;
@@ -266,11 +272,8 @@ public class CometSpawnTask {
 
             if (targetBlockPos == null) return;
             
-            CometFallingSystem fallingSystem = CometModPlugin.getFallingSystem();
-            if (fallingSystem == null) {
-                fallingSystem = new CometFallingSystem(currentWorld);
-                CometModPlugin.setFallingSystem(fallingSystem);
-            }
+            CometFallingSystem fallingSystem = CometModPlugin.getFallingSystem(currentWorld);
+            if (fallingSystem == null) return;
 
             com.hypixel.hytale.component.CommandBuffer<EntityStore> commandBuffer = null;
             try {
@@ -400,34 +403,7 @@ public class CometSpawnTask {
         }
     }
 
-    private int findGroundLevel(World targetWorld, int x, int z, int startY) {
-        int searchStartY = 255;
-        int minY = Math.max(0, startY - 150);
-        
-        for (int y = searchStartY; y >= minY; y--) {
-            try {
-                com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType blockType = 
-                    targetWorld.getBlockType(x, y, z);
-                
-                if (blockType != null) {
-                    int blockId = com.hypixel.hytale.server.core.asset.type.blocktype.config.BlockType
-                        .getAssetMap().getIndex(blockType.getId());
-                    
-                    if (blockId != 0) {
-                        Object material = blockType.getMaterial();
-                        if (material != null) {
-                            String materialStr = material.toString();
-                            if (materialStr.equals("Solid") || materialStr.equals("Opaque")) {
-                                return y;
-                            }
-                        }
-                    }
-                }
-            } catch (Exception e) {
-                // Continue searching
-            }
-        }
-        
-        return -1;
+    private int findGroundLevel(World targetWorld, int x, int z, int startY, CometGroundFinder.ColumnCache columns) {
+        return CometGroundFinder.findSurface(targetWorld, x, z, 255, Math.max(0, startY - 150), columns);
     }
 }
@@ -7,6 +7,9 @@ import com.hypixel.hytale.server.core.modules.collision.CollisionResult;
 import com.hypixel.hytale.server.core.universe.world.World;
 
 import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
 
 /**
  * Uses the game's native CollisionModule.validatePosition to avoid spawning
@@ -22,6 +25,15 @@ public final class CometSpawnUtil {
      */
     private static final Box DEFAULT_NPC_BOX = new Box(-0.35, 0, -0.35, 0.35, 1.9, 0.35);
 
+    private static final Logger LOGGER = Logger.getLogger("CometSpawnUtil");
+
+    // Role (or "role@scale") -> spawn box, resolved from the role's model asset
+    private static final Map<String, Box> ROLE_BOXES = new ConcurrentHashMap<>();
+
+    // Probe scratch objects; validatePosition fills them, so one per thread is enough
+    private static final ThreadLocal<CollisionResult> COLLISION_RESULT = ThreadLocal.withInitial(CollisionResult::new);
+    private static final ThreadLocal<Vector3d> PROBE_POS = ThreadLocal.withInitial(Vector3d::new);
+
     /** Offsets (dx, dy, dz) to try when finding a valid mob spawn. */
     private static final int[][] MOB_SPAWN_OFFSETS = {
         { 0, 0, 0 },
@@ -38,28 +50,128 @@ public final class CometSpawnUtil {
      * when overlapping). Matches ActionSpawn, SpawningContext, NPCTestCommand.
      */
     public static boolean isValidMobSpawn(World world, double x, double y, double z) {
+        return isValidMobSpawn(world, DEFAULT_NPC_BOX, x, y, z);
+    }
+
+    /**
+     * Same as {@link #isValidMobSpawn(World, double, double, double)} for a
+     * specific mob bounding box.
+     */
+    public static boolean isValidMobSpawn(World world, Box box, double x, double y, double z) {
         try {
             CollisionModule cm = CollisionModule.get();
             if (cm == null || cm.isDisabled()) return true; // fallback: allow
-            CollisionResult res = new CollisionResult();
-            int v = cm.validatePosition(world, DEFAULT_NPC_BOX, new Vector3d(x, y, z), res);
+            Vector3d pos = PROBE_POS.get();
+            pos.x = x;
+            pos.y = y;
+            pos.z = z;
+            int v = cm.validatePosition(world, box, pos, COLLISION_RESULT.get());
             return v != -1;
         } catch (Exception e) {
             return false;
         }
     }
 
+    /**
+     * Bounding box used to place an NPC: the box of the role's model, or the
+     * conservative default if the role or its model is unknown. Boxes are
+     * cached, so the same role always yields the same Box instance.
+     */
+    public static Box getSpawnBox(String npcType) {
+        if (npcType == null) {
+            return DEFAULT_NPC_BOX;
+        }
+        return ROLE_BOXES.computeIfAbsent(npcType, CometSpawnUtil::lookupModelBox);
+    }
+
+    /**
+     * Spawn box of a role scaled by its comet scale multiplier
+     */
+    public static Box getSpawnBox(String npcType, float scale) {
+        Box base = getSpawnBox(npcType);
+        if (scale <= 0.0f || scale == 1.0f || npcType == null) {
+            return base;
+        }
+        return ROLE_BOXES.computeIfAbsent(npcType + "@" + scale, k -> new Box(
+                base.min.x * scale, base.min.y * scale, base.min.z * scale,
+                base.max.x * scale, base.max.y * scale, base.max.z * scale));
+    }
+
+    /**
+     * Resolve the spawn boxes of every mob and boss role in the config up front
+     * (config load and reload), so spawning never touches the model assets
+     */
+    public static void resolveSpawnBoxes(CometConfig config) {
+        ROLE_BOXES.clear();
+        // Cached arenas key their probes on the old Box instances
+        for (CometWorldShard shard : CometModPlugin.getShards()) {
+            shard.getWaveManager().invalidateArenas(shard.getWorld());
+        }
+        if (config == null) {
+            return;
+        }
+        int resolved = 0;
+        for (com.cometmod.config.ThemeConfig theme : config.getThemeList()) {
+            for (String roleId : WaveThemeProvider.getRoleIds(theme)) {
+                if (getSpawnBox(roleId) != DEFAULT_NPC_BOX) {
+                    resolved++;
+                }
+            }
+        }
+        LOGGER.info("Resolved spawn boxes for " + ROLE_BOXES.size() + " NPC roles (" + resolved
+                + " from model assets)");
+    }
+
+    /**
+     * Find the model box for a role from the appearance its role definition
+     * uses (role names do not have to match their model, e.g. a variant role
+     * with another model's appearance)
+     */
+    private static Box lookupModelBox(String roleId) {
+        try {
+            com.hypixel.hytale.server.npc.NPCPlugin npcPlugin = com.hypixel.hytale.server.npc.NPCPlugin.get();
+            int roleIndex = npcPlugin != null ? npcPlugin.getIndex(roleId) : -1;
+            if (roleIndex < 0) {
+                return DEFAULT_NPC_BOX;
+            }
+            com.hypixel.hytale.server.npc.role.Role role = npcPlugin.tryGetCachedValidRole(roleIndex);
+            String appearance = role != null ? role.getAppearanceName() : null;
+            if (appearance == null || appearance.isEmpty()) {
+                return DEFAULT_NPC_BOX;
+            }
+            com.hypixel.hytale.server.core.asset.type.model.config.ModelAsset model =
+                    com.hypixel.hytale.server.core.asset.type.model.config.ModelAsset.getAssetMap()
+                            .getAsset(appearance);
+            if (model != null && model.getBoundingBox() != null) {
+                Box box = model.getBoundingBox();
+                return new Box(box.min.x, box.min.y, box.min.z, box.max.x, box.max.y, box.max.z);
+            }
+        } catch (Exception e) {
+            LOGGER.warning("Could not resolve model box for " + roleId + ": " + e.getMessage());
+        }
+        return DEFAULT_NPC_BOX;
+    }
+
     /**
      * Find a valid mob spawn near the preferred position by trying offsets.
      */
     @Nullable
     public static Vector3d findValidMobSpawn(World world, Vector3d preferred, int maxRetries) {
+        return findValidMobSpawn(world, DEFAULT_NPC_BOX, preferred, maxRetries);
+    }
+
+    /**
+     * Same as {@link #findValidMobSpawn(World, Vector3d, int)} for a specific
+     * mob bounding box.
+     */
+    @Nullable
+    public static Vector3d findValidMobSpawn(World world, Box box, Vector3d preferred, int maxRetries) {
         for (int i = 0; i < Math.min(maxRetries, MOB_SPAWN_OFFSETS.length); i++) {
             int[] o = MOB_SPAWN_OFFSETS[i];
             double x = preferred.x + o[0];
             double y = preferred.y + o[1];
             double z = preferred.z + o[2];
-            if (isValidMobSpawn(world, x, y, z))
+            if (isValidMobSpawn(world, box, x, y, z))
                 return new Vector3d(x, y, z);
         }
         return null;
@@ -7,30 +7,25 @@ import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.query.Query;
 import com.hypixel.hytale.component.system.HolderSystem;
-import com.hypixel.hytale.server.core.entity.entities.Player;
 import com.hypixel.hytale.server.core.modules.entity.component.EntityScaleComponent;
 import com.hypixel.hytale.server.core.modules.entitystats.EntityStatMap;
 import com.hypixel.hytale.server.core.modules.entitystats.asset.EntityStatType;
 import com.hypixel.hytale.server.core.modules.entitystats.modifier.Modifier;
 import com.hypixel.hytale.server.core.modules.entitystats.modifier.StaticModifier;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
-import com.hypixel.hytale.server.npc.entities.NPCEntity;
 
-import java.util.Map;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
 /**
- * System that applies stat modifiers (HP, damage, scale) to NPCs spawned by
+ * System that applies stat modifiers (HP, speed, scale) to NPCs spawned by
  * comets.
  * 
  * Works by:
- * 1. Tracking which NPCs belong to which comet wave (via UUID mapping)
- * 2. When NPC is added, check if it's a tracked comet NPC
- * 3. Apply HP multiplier via EntityStatMap modifier
+ * 1. Storing the multipliers on the NPC in a CometStatsComponent
+ * 2. When an NPC carrying the component is added, apply them if not yet applied
+ * 3. Apply HP and speed multipliers via keyed EntityStatMap modifiers
  * 4. Apply scale multiplier via EntityScaleComponent
- * 5. Damage multiplier is handled separately in CometDamageModifierSystem
+ * 5. Damage multiplier is read from the component in CometDamageModifierSystem
  */
 public class CometStatModifierSystem extends HolderSystem<EntityStore> {
 
@@ -40,92 +35,22 @@ public class CometStatModifierSystem extends HolderSystem<EntityStore> {
     public static final String HP_MODIFIER_KEY = "comet_hp_multiplier";
     public static final String SPEED_MODIFIER_KEY = "comet_speed_multiplier";
 
-    // Track NPC UUIDs that need stat modifications
-    // Map: NPC UUID -> StatModifiers (hp, damage, scale, speed multipliers)
-    private static final Map<UUID, StatModifiers> pendingModifiers = new ConcurrentHashMap<>();
-
-    // Track which NPCs have already been modified (to prevent double-application)
-    private static final Map<UUID, Boolean> modifiedNPCs = new ConcurrentHashMap<>();
-
-    /**
-     * Register an NPC UUID to receive stat modifiers when it spawns
-     */
-    public static void registerPendingModifier(UUID npcUUID, float hpMultiplier, float damageMultiplier,
-            float scaleMultiplier, float speedMultiplier) {
-        pendingModifiers.put(npcUUID,
-                new StatModifiers(hpMultiplier, damageMultiplier, scaleMultiplier, speedMultiplier));
-        LOGGER.info("[CometStatModifier] Registered pending modifier for UUID " + npcUUID +
-                " - HP: " + hpMultiplier + "x, Damage: " + damageMultiplier + "x, Scale: " + scaleMultiplier
-                + "x, Speed: "
-                + speedMultiplier + "x");
-    }
-
-    /**
-     * Get pending damage multiplier for an NPC (used by damage system)
-     */
-    public static float getDamageMultiplier(UUID npcUUID) {
-        StatModifiers mods = pendingModifiers.get(npcUUID);
-        if (mods != null) {
-            return mods.damageMultiplier;
-        }
-        return 1.0f;
-    }
-
-    /**
-     * Check if an NPC has been modified
-     */
-    public static boolean isModified(UUID npcUUID) {
-        return modifiedNPCs.containsKey(npcUUID);
-    }
-
-    /**
-     * Clear tracking for an NPC (when it dies/despawns)
-     */
-    public static void clearNPC(UUID npcUUID) {
-        pendingModifiers.remove(npcUUID);
-        modifiedNPCs.remove(npcUUID);
-    }
-
     @Override
     public Query<EntityStore> getQuery() {
-        return Query.any();
+        return CometStatsComponent.getComponentType();
     }
 
     @Override
     public void onEntityAdd(Holder<EntityStore> holder, AddReason reason, Store<EntityStore> store) {
         try {
-            // Skip if not an NPC
-            if (NPCEntity.getComponentType() == null)
-                return;
-            NPCEntity npc = holder.getComponent(NPCEntity.getComponentType());
-            if (npc == null)
-                return;
-
-            // Skip players
-            if (Player.getComponentType() != null && holder.getComponent(Player.getComponentType()) != null) {
-                return;
-            }
-
-            // Get the NPC's UUID
-            com.hypixel.hytale.server.core.entity.UUIDComponent uuidComponent = holder
-                    .getComponent(com.hypixel.hytale.server.core.entity.UUIDComponent.getComponentType());
-            if (uuidComponent == null)
-                return;
-
-            UUID npcUUID = uuidComponent.getUuid();
-
-            // Check if this NPC has pending modifiers
-            StatModifiers mods = pendingModifiers.get(npcUUID);
-            if (mods == null || modifiedNPCs.containsKey(npcUUID)) {
+            CometStatsComponent stats = holder.getComponent(CometStatsComponent.getComponentType());
+            if (stats == null || stats.isApplied()) {
                 return;
             }
 
-            // Apply modifiers
-            applyModifiers(holder, mods.hpMultiplier, mods.damageMultiplier, mods.scaleMultiplier,
-                    mods.speedMultiplier);
-
-            // Mark as modified and clean up pending
-            modifiedNPCs.put(npcUUID, true);
+            applyModifiers(holder, stats.getHpMultiplier(), stats.getDamageMultiplier(), stats.getScaleMultiplier(),
+                    stats.getSpeedMultiplier());
+            stats.setApplied(true);
 
         } catch (Exception e) {
             LOGGER.warning("[CometStatModifier] Error in onEntityAdd: " + e.getMessage());
@@ -133,13 +58,24 @@ public class CometStatModifierSystem extends HolderSystem<EntityStore> {
         }
     }
 
+    /**
+     * Apply a mob's multipliers to its holder and attach them before the entity
+     * is added, so it enters the world with its final stats
+     */
+    public static void bakeModifiers(Holder<EntityStore> holder, CometStatsComponent stats) {
+        applyModifiers(holder, stats.getHpMultiplier(), stats.getDamageMultiplier(), stats.getScaleMultiplier(),
+                stats.getSpeedMultiplier());
+        stats.setApplied(true);
+        holder.putComponent(CometStatsComponent.getComponentType(), stats);
+    }
+
     /**
      * Directly apply modifiers to an entity holder.
      */
-    public void applyModifiers(Holder<EntityStore> holder, float hpMult, float damageMult, float scaleMult,
+    public static void applyModifiers(Holder<EntityStore> holder, float hpMult, float damageMult, float scaleMult,
             float speedMult) {
         try {
-            LOGGER.info("[CometStatModifier] Applying modifiers to entity - HP: " + hpMult + "x, Scale: " + scaleMult
+            LOGGER.fine("[CometStatModifier] Applying modifiers to entity - HP: " + hpMult + "x, Scale: " + scaleMult
                     + "x, Speed: " + speedMult + "x");
 
             // Apply HP multiplier
@@ -173,25 +109,20 @@ public class CometStatModifierSystem extends HolderSystem<EntityStore> {
     }
 
     /**
-     * Directly apply modifiers to an entity via store and ref.
+     * Directly apply modifiers to an entity via store and ref, and record them in
+     * the entity's CometStatsComponent.
      */
     public static void applyModifiers(Store<EntityStore> store, Ref<EntityStore> ref, float hpMult, float damageMult,
             float scaleMult, float speedMult) {
         try {
-            com.hypixel.hytale.server.core.entity.UUIDComponent uuidComp = store.getComponent(ref,
-                    com.hypixel.hytale.server.core.entity.UUIDComponent.getComponentType());
-            UUID npcUUID = uuidComp != null ? uuidComp.getUuid() : null;
-
-            if (npcUUID != null && modifiedNPCs.containsKey(npcUUID)) {
+            CometStatsComponent existing = store.getComponent(ref, CometStatsComponent.getComponentType());
+            if (existing != null && existing.isApplied()) {
                 return;
             }
 
-            if (npcUUID != null) {
-                LOGGER.info("[CometStatModifier] Applying modifiers to UUID " + npcUUID + " - HP: " + hpMult
-                        + "x, Scale: " + scaleMult + "x, Speed: " + speedMult + "x");
-                pendingModifiers.put(npcUUID, new StatModifiers(hpMult, damageMult, scaleMult, speedMult));
-                modifiedNPCs.put(npcUUID, true);
-            }
+            CometStatsComponent stats = new CometStatsComponent(hpMult, damageMult, scaleMult, speedMult);
+            stats.setApplied(true);
+            store.putComponent(ref, CometStatsComponent.getComponentType(), stats);
 
             // Apply HP multiplier
             if (hpMult != 1.0f) {
@@ -224,6 +155,40 @@ public class CometStatModifierSystem extends HolderSystem<EntityStore> {
         }
     }
 
+    /**
+     * @return The entity's current health, or NaN if it cannot be read
+     */
+    public static float readHealth(Store<EntityStore> store, Ref<EntityStore> ref) {
+        try {
+            int statIndex = EntityStatType.getAssetMap().getIndex("Health");
+            EntityStatMap statMap = store.getComponent(ref, EntityStatMap.getComponentType());
+            if (statIndex < 0 || statMap == null) {
+                return Float.NaN;
+            }
+            return statMap.get(statIndex).get();
+        } catch (Exception e) {
+            return Float.NaN;
+        }
+    }
+
+    /**
+     * Set the health a holder is added with, after its modifiers are baked.
+     * Used to bring back a hibernated mob with the health it had.
+     */
+    public static void restoreHealth(Holder<EntityStore> holder, float health) {
+        try {
+            int statIndex = EntityStatType.getAssetMap().getIndex("Health");
+            EntityStatMap statMap = holder.getComponent(EntityStatMap.getComponentType());
+            if (statIndex < 0 || statMap == null) {
+                return;
+            }
+            float max = statMap.get(statIndex).getMax();
+            statMap.setStatValue(statIndex, Math.max(1.0f, Math.min(health, max)));
+        } catch (Exception e) {
+            LOGGER.warning("[CometStatModifier] Error restoring health: " + e.getMessage());
+        }
+    }
+
     private static void applyHealthToMap(EntityStatMap statMap, float multiplier) {
         try {
             int statIndex = EntityStatType.getAssetMap().getIndex("Health");
@@ -233,7 +198,7 @@ public class CometStatModifierSystem extends HolderSystem<EntityStore> {
             // Get the entity's CURRENT max health (not the asset default)
             float currentMax = statMap.get(statIndex).getMax();
 
-            LOGGER.info("[CometStatModifier] Applying HP modifier: currentMax=" + currentMax + ", multiplier=" + multiplier);
+            LOGGER.fine("[CometStatModifier] Applying HP modifier: currentMax=" + currentMax + ", multiplier=" + multiplier);
 
             // Use MULTIPLICATIVE modifier to properly scale HP
             StaticModifier modifier = new StaticModifier(
@@ -246,12 +211,12 @@ public class CometStatModifierSystem extends HolderSystem<EntityStore> {
             // Log the result after applying modifier
             float newMax = statMap.get(statIndex).getMax();
             float newCurrent = statMap.get(statIndex).get();
-            LOGGER.info("[CometStatModifier] After putModifier - newMax=" + newMax + ", newCurrent=" + newCurrent);
+            LOGGER.fine("[CometStatModifier] After putModifier - newMax=" + newMax + ", newCurrent=" + newCurrent);
 
             statMap.maximizeStatValue(EntityStatMap.Predictable.ALL, statIndex);
 
             float finalCurrent = statMap.get(statIndex).get();
-            LOGGER.info("[CometStatModifier] After maximizeStatValue - finalCurrent=" + finalCurrent);
+            LOGGER.fine("[CometStatModifier] After maximizeStatValue - finalCurrent=" + finalCurrent);
         } catch (Exception e) {
             LOGGER.warning("[CometStatModifier] Error applying health to map: " + e.getMessage());
             e.printStackTrace();
@@ -270,7 +235,7 @@ public class CometStatModifierSystem extends HolderSystem<EntityStore> {
             float currentMax = statMap.get(statIndex).getMax();
             float currentValue = statMap.get(statIndex).get();
 
-            LOGGER.info("[CometStatModifier] Applying Speed modifier: currentMax=" + currentMax + ", currentValue=" + currentValue + ", multiplier=" + multiplier);
+            LOGGER.fine("[CometStatModifier] Applying Speed modifier: currentMax=" + currentMax + ", currentValue=" + currentValue + ", multiplier=" + multiplier);
 
             // Use MULTIPLICATIVE modifier to properly scale Speed
             StaticModifier modifier = new StaticModifier(
@@ -283,13 +248,13 @@ public class CometStatModifierSystem extends HolderSystem<EntityStore> {
             // Log the result after applying modifier
             float newMax = statMap.get(statIndex).getMax();
             float newCurrent = statMap.get(statIndex).get();
-            LOGGER.info("[CometStatModifier] After putModifier - newMax=" + newMax + ", newCurrent=" + newCurrent);
+            LOGGER.fine("[CometStatModifier] After putModifier - newMax=" + newMax + ", newCurrent=" + newCurrent);
 
             // Maximize the speed value to match the new max
             statMap.maximizeStatValue(EntityStatMap.Predictable.ALL, statIndex);
 
             float finalCurrent = statMap.get(statIndex).get();
-            LOGGER.info("[CometStatModifier] After maximizeStatValue - finalCurrent=" + finalCurrent);
+            LOGGER.fine("[CometStatModifier] After maximizeStatValue - finalCurrent=" + finalCurrent);
         } catch (Exception e) {
             LOGGER.warning("[CometStatModifier] Error applying speed to map: " + e.getMessage());
             e.printStackTrace();
@@ -298,32 +263,6 @@ public class CometStatModifierSystem extends HolderSystem<EntityStore> {
 
     @Override
     public void onEntityRemoved(Holder<EntityStore> holder, RemoveReason reason, Store<EntityStore> store) {
-        // Clean up tracking when NPC is removed
-        try {
-            com.hypixel.hytale.server.core.entity.UUIDComponent uuidComponent = holder
-                    .getComponent(com.hypixel.hytale.server.core.entity.UUIDComponent.getComponentType());
-            if (uuidComponent != null) {
-                clearNPC(uuidComponent.getUuid());
-            }
-        } catch (Exception e) {
-            // Ignore cleanup errors
-        }
-    }
-
-    /**
-     * Holds the stat multipliers for an NPC
-     */
-    public static class StatModifiers {
-        public final float hpMultiplier;
-        public final float damageMultiplier;
-        public final float scaleMultiplier;
-        public final float speedMultiplier;
-
-        public StatModifiers(float hp, float damage, float scale, float speed) {
-            this.hpMultiplier = hp;
-            this.damageMultiplier = damage;
-            this.scaleMultiplier = scale;
-            this.speedMultiplier = speed;
-        }
+        // Multipliers live on the entity itself, nothing to clean up
     }
 }
@@ -0,0 +1,109 @@
+package com.cometmod;
+
+import com.hypixel.hytale.codec.Codec;
+import com.hypixel.hytale.codec.KeyedCodec;
+import com.hypixel.hytale.codec.builder.BuilderCodec;
+import com.hypixel.hytale.component.Component;
+import com.hypixel.hytale.component.ComponentType;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Stat multipliers carried by a comet NPC.
+ *
+ * Serialized with the entity so the multipliers survive chunk unloads and
+ * restarts. The damage multiplier is read directly by
+ * CometDamageModifierSystem; HP, speed and scale are applied once by
+ * CometStatModifierSystem and the applied flag prevents re-applying them
+ * when the entity is loaded again.
+ */
+public class CometStatsComponent implements Component<EntityStore> {
+
+    @Nonnull
+    public static final BuilderCodec<CometStatsComponent> CODEC;
+
+    static {
+        CODEC = BuilderCodec.builder(CometStatsComponent.class, CometStatsComponent::new)
+                .append(new KeyedCodec<>("HpMultiplier", Codec.FLOAT),
+                        (c, v) -> c.hpMultiplier = v, c -> c.hpMultiplier)
+                .add()
+                .append(new KeyedCodec<>("DamageMultiplier", Codec.FLOAT),
+                        (c, v) -> c.damageMultiplier = v, c -> c.damageMultiplier)
+                .add()
+                .append(new KeyedCodec<>("ScaleMultiplier", Codec.FLOAT),
+                        (c, v) -> c.scaleMultiplier = v, c -> c.scaleMultiplier)
+                .add()
+                .append(new KeyedCodec<>("SpeedMultiplier", Codec.FLOAT),
+                        (c, v) -> c.speedMultiplier = v, c -> c.speedMultiplier)
+                .add()
+                .append(new KeyedCodec<>("Applied", Codec.BOOLEAN),
+                        (c, v) -> c.applied = v, c -> c.applied)
+                .add()
+                .build();
+    }
+
+    private static ComponentType<EntityStore, CometStatsComponent> componentType;
+
+    private float hpMultiplier = 1.0f;
+    private float damageMultiplier = 1.0f;
+    private float scaleMultiplier = 1.0f;
+    private float speedMultiplier = 1.0f;
+    private boolean applied;
+
+    public CometStatsComponent() {
+    }
+
+    public CometStatsComponent(float hpMultiplier, float damageMultiplier, float scaleMultiplier,
+            float speedMultiplier) {
+        this.hpMultiplier = hpMultiplier;
+        this.damageMultiplier = damageMultiplier;
+        this.scaleMultiplier = scaleMultiplier;
+        this.speedMultiplier = speedMultiplier;
+    }
+
+    public static ComponentType<EntityStore, CometStatsComponent> getComponentType() {
+        return componentType;
+    }
+
+    static void setComponentType(ComponentType<EntityStore, CometStatsComponent> type) {
+        componentType = type;
+    }
+
+    public float getHpMultiplier() {
+        return hpMultiplier;
+    }
+
+    public float getDamageMultiplier() {
+        return damageMultiplier;
+    }
+
+    public float getScaleMultiplier() {
+        return scaleMultiplier;
+    }
+
+    public float getSpeedMultiplier() {
+        return speedMultiplier;
+    }
+
+    /**
+     * @return true once HP, speed and scale have been applied to the entity
+     */
+    public boolean isApplied() {
+        return applied;
+    }
+
+    public void setApplied(boolean applied) {
+        this.applied = applied;
+    }
+
+    @Nullable
+    @Override
+    public Component<EntityStore> clone() {
+        CometStatsComponent copy = new CometStatsComponent(hpMultiplier, damageMultiplier, scaleMultiplier,
+                speedMultiplier);
+        copy.applied = applied;
+        return copy;
+    }
+}
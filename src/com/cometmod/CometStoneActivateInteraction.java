@@ -51,7 +51,7 @@ public class CometStoneActivateInteraction extends SimpleInstantInteraction {
 
         Vector3i blockPos = new Vector3i(blockPosProtocol.x, blockPosProtocol.y, blockPosProtocol.z);
 
-        CometWaveManager waveManager = CometModPlugin.getWaveManager();
+        CometWaveManager waveManager = CometModPlugin.getWaveManager(playerRef.getStore());
         if (waveManager == null) return;
 
         commandBuffer.run(store -> {
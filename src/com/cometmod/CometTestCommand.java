@@ -41,7 +41,7 @@ public class CometTestCommand extends AbstractWorldCommand {
             String zoneName = zoneInfo != null ? zoneInfo.zoneName() : "Unknown";
             
             // Get spawn task (world and store are already provided as parameters)
-            CometSpawnTask spawnTask = CometModPlugin.getSpawnTask();
+            CometSpawnTask spawnTask = CometModPlugin.getSpawnTask(world);
             if (spawnTask == null) {
                 context.sendMessage(Message.raw("Error: Spawn task not initialized!"));
                 return;
@@ -0,0 +1,353 @@
+package com.cometmod;
+
+import com.hypixel.hytale.math.vector.Vector3i;
+import com.hypixel.hytale.server.core.universe.world.World;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * Crash-safe checkpoint of the waves running in one world.
+ *
+ * The wave manager marks its checkpoint dirty whenever a wave starts, gains or
+ * loses a mob, goes dormant or ends, and at most every few seconds hands a
+ * snapshot of its waves to submit(). The file is written off the world thread
+ * by a single writer that only keeps the latest snapshot, so a busy raid never
+ * waits on the disk and never queues up stale writes. Each write goes to a
+ * temporary file that is atomically moved over the last one, so a crash
+ * mid-write keeps the previous complete checkpoint. On startup
+ * the shard reads it back and the wave manager re-attaches the recovered waves
+ * to their surviving mobs by UUID.
+ */
+public class CometWaveCheckpoint {
+
+    private static final Logger LOGGER = Logger.getLogger("CometWaveCheckpoint");
+
+    /**
+     * One mob of a checkpointed wave: alive in the world (id set) or still to
+     * be spawned (id null)
+     */
+    static final class MobState {
+        UUID id;
+        String role;
+        boolean boss;
+        double x, y, z; // Spawn (or last known) position
+        float health = Float.NaN; // Health to respawn with, NaN for full
+        float[] multipliers; // {hp, damage, scale, speed}, or null
+        String json; // Serialized form, built once by the writer
+    }
+
+    /**
+     * One running wave encounter
+     */
+    static final class WaveState {
+        Vector3i pos;
+        String tier;
+        String themeId;
+        UUID owner;
+        UUID player; // Player who activated the comet
+        int waveIndex;
+        int totalWaves;
+        int initialSpawnCount;
+        long elapsedMs; // Time into the current wave, excluding dormant time
+        final List<MobState> mobs = new ArrayList<>();
+        final List<MobState> pending = new ArrayList<>();
+    }
+
+    // Most time shutdown waits for the last write
+    private static final long FLUSH_TIMEOUT_MS = 5000;
+
+    private final String worldName;
+    private final String dataFileName;
+
+    // Latest snapshot not written yet, and whether a writer task is queued or
+    // running; both guarded by writerLock
+    private final Object writerLock = new Object();
+    private List<WaveState> latest;
+    private boolean writerQueued = false;
+
+    public CometWaveCheckpoint(World world) {
+        this.worldName = world.getName();
+        this.dataFileName = "comet_waves_" + worldName.replaceAll("[^A-Za-z0-9_.-]", "_") + ".json";
+    }
+
+    /**
+     * Replace the checkpoint with the given waves in the background. The
+     * snapshot must not be modified afterwards; a snapshot still waiting to be
+     * written is replaced.
+     */
+    public void submit(List<WaveState> waves) {
+        synchronized (writerLock) {
+            latest = waves;
+            if (writerQueued) {
+                return; // The running writer picks it up
+            }
+            writerQueued = true;
+        }
+        try {
+            com.hypixel.hytale.server.core.HytaleServer.SCHEDULED_EXECUTOR.execute(this::runWriter);
+        } catch (Exception e) {
+            // Executor gone (server stopping): write on this thread
+            runWriter();
+        }
+    }
+
+    /**
+     * Wait for the snapshot being written (if any) to reach the disk, e.g. on
+     * shutdown
+     */
+    public void flush() {
+        long deadline = System.currentTimeMillis() + FLUSH_TIMEOUT_MS;
+        synchronized (writerLock) {
+            while (writerQueued) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    LOGGER.warning("Timed out waiting for the wave checkpoint of world " + worldName);
+                    return;
+                }
+                try {
+                    writerLock.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void runWriter() {
+        while (true) {
+            List<WaveState> waves;
+            synchronized (writerLock) {
+                waves = latest;
+                latest = null;
+                if (waves == null) {
+                    writerQueued = false;
+                    writerLock.notifyAll();
+                    return;
+                }
+            }
+            save(waves);
+        }
+    }
+
+    /**
+     * Replace the checkpoint with the given waves
+     */
+    private synchronized void save(List<WaveState> waves) {
+        File dataFile = CometDespawnTracker.getDataFile(dataFileName);
+        File tempFile = new File(dataFile.getPath() + ".tmp");
+
+        try (PrintWriter writer = new PrintWriter(new FileWriter(tempFile))) {
+            writer.println("{");
+            writer.println("  \"waves\": [");
+            for (int i = 0; i < waves.size(); i++) {
+                WaveState wave = waves.get(i);
+                writer.print("    {\"x\":" + wave.pos.x + ",\"y\":" + wave.pos.y + ",\"z\":" + wave.pos.z
+                        + ",\"tier\":\"" + wave.tier + "\",\"theme\":\"" + wave.themeId + "\""
+                        + ",\"owner\":\"" + (wave.owner != null ? wave.owner : "") + "\""
+                        + ",\"player\":\"" + (wave.player != null ? wave.player : "") + "\""
+                        + ",\"waveIndex\":" + wave.waveIndex + ",\"totalWaves\":" + wave.totalWaves
+                        + ",\"initialSpawnCount\":" + wave.initialSpawnCount + ",\"elapsed\":" + wave.elapsedMs
+                        + ",\"mobs\":" + writeMobs(wave.mobs) + ",\"pending\":" + writeMobs(wave.pending) + "}");
+                writer.println(i < waves.size() - 1 ? "," : "");
+            }
+            writer.println("  ]");
+            writer.println("}");
+        } catch (Exception e) {
+            LOGGER.warning("Failed to write wave checkpoint for world " + worldName + ": " + e.getMessage());
+            return;
+        }
+
+        try {
+            Files.move(tempFile.toPath(), dataFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (Exception e) {
+            LOGGER.warning("Failed to replace wave checkpoint for world " + worldName + ": " + e.getMessage());
+        }
+    }
+
+    private static String writeMobs(List<MobState> mobs) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < mobs.size(); i++) {
+            if (i > 0) {
+                sb.append(",");
+            }
+            sb.append(toJson(mobs.get(i)));
+        }
+        return sb.append("]").toString();
+    }
+
+    private static String toJson(MobState mob) {
+        if (mob.json != null) {
+            return mob.json;
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"id\":\"").append(mob.id != null ? mob.id : "").append("\"")
+                .append(",\"role\":\"").append(mob.role).append("\"")
+                .append(",\"boss\":").append(mob.boss)
+                .append(",\"px\":").append(mob.x).append(",\"py\":").append(mob.y).append(",\"pz\":").append(mob.z);
+        if (!Float.isNaN(mob.health)) {
+            sb.append(",\"health\":").append(mob.health);
+        }
+        if (mob.multipliers != null && mob.multipliers.length >= 4) {
+            sb.append(",\"hp\":").append(mob.multipliers[0]).append(",\"damage\":").append(mob.multipliers[1])
+                    .append(",\"scale\":").append(mob.multipliers[2]).append(",\"speed\":")
+                    .append(mob.multipliers[3]);
+        }
+        mob.json = sb.append("}").toString();
+        return mob.json;
+    }
+
+    /**
+     * Read the last checkpoint
+     *
+     * @return The checkpointed waves, empty if there is no checkpoint
+     */
+    public synchronized List<WaveState> load() {
+        List<WaveState> waves = new ArrayList<>();
+        File dataFile = CometDespawnTracker.getDataFile(dataFileName);
+        if (!dataFile.exists()) {
+            return waves;
+        }
+
+        try {
+            String content = new String(Files.readAllBytes(dataFile.toPath()));
+            int arrayStart = content.indexOf("[");
+            int arrayEnd = content.lastIndexOf("]");
+            if (arrayStart == -1 || arrayEnd == -1) {
+                LOGGER.warning("Invalid wave checkpoint format: " + dataFile.getAbsolutePath());
+                return waves;
+            }
+            for (String obj : splitObjects(content.substring(arrayStart + 1, arrayEnd))) {
+                try {
+                    waves.add(parseWave(obj));
+                } catch (Exception e) {
+                    LOGGER.warning("Failed to parse checkpointed wave: " + e.getMessage());
+                }
+            }
+            LOGGER.info("Loaded " + waves.size() + " checkpointed waves for world " + worldName);
+        } catch (Exception e) {
+            LOGGER.warning("Failed to load wave checkpoint: " + e.getMessage());
+        }
+        return waves;
+    }
+
+    private static WaveState parseWave(String obj) {
+        // Scalar fields come before the mob arrays
+        int mobsAt = obj.indexOf("\"mobs\"");
+        String head = mobsAt >= 0 ? obj.substring(0, mobsAt) : obj;
+
+        WaveState wave = new WaveState();
+        wave.pos = new Vector3i((int) parseNumber(head, "x"), (int) parseNumber(head, "y"),
+                (int) parseNumber(head, "z"));
+        wave.tier = parseString(head, "tier");
+        wave.themeId = parseString(head, "theme");
+        wave.owner = parseUuid(parseString(head, "owner"));
+        wave.player = parseUuid(parseString(head, "player"));
+        wave.waveIndex = (int) parseNumber(head, "waveIndex");
+        wave.totalWaves = (int) parseNumber(head, "totalWaves");
+        wave.initialSpawnCount = (int) parseNumber(head, "initialSpawnCount");
+        wave.elapsedMs = (long) parseNumber(head, "elapsed");
+        parseMobs(arrayAfter(obj, "mobs"), wave.mobs);
+        parseMobs(arrayAfter(obj, "pending"), wave.pending);
+        return wave;
+    }
+
+    private static void parseMobs(String array, List<MobState> out) {
+        for (String obj : splitObjects(array)) {
+            MobState mob = new MobState();
+            mob.id = parseUuid(parseString(obj, "id"));
+            mob.role = parseString(obj, "role");
+            mob.boss = obj.contains("\"boss\":true");
+            mob.x = parseNumber(obj, "px");
+            mob.y = parseNumber(obj, "py");
+            mob.z = parseNumber(obj, "pz");
+            if (obj.contains("\"health\":")) {
+                mob.health = (float) parseNumber(obj, "health");
+            }
+            if (obj.contains("\"hp\":")) {
+                mob.multipliers = new float[] { (float) parseNumber(obj, "hp"), (float) parseNumber(obj, "damage"),
+                        (float) parseNumber(obj, "scale"), (float) parseNumber(obj, "speed") };
+            }
+            out.add(mob);
+        }
+    }
+
+    /**
+     * Split the body of a JSON array into its top-level objects (no braces
+     * inside strings in this format)
+     */
+    private static List<String> splitObjects(String array) {
+        List<String> objects = new ArrayList<>();
+        int depth = 0;
+        int start = -1;
+        for (int i = 0; i < array.length(); i++) {
+            char c = array.charAt(i);
+            if (c == '{') {
+                if (depth++ == 0) {
+                    start = i + 1;
+                }
+            } else if (c == '}' && depth > 0 && --depth == 0) {
+                objects.add(array.substring(start, i));
+            }
+        }
+        return objects;
+    }
+
+    private static String arrayAfter(String json, String key) {
+        int keyIndex = json.indexOf("\"" + key + "\":[");
+        if (keyIndex == -1) {
+            return "";
+        }
+        int start = json.indexOf("[", keyIndex) + 1;
+        int depth = 1;
+        for (int i = start; i < json.length(); i++) {
+            char c = json.charAt(i);
+            if (c == '[') {
+                depth++;
+            } else if (c == ']' && --depth == 0) {
+                return json.substring(start, i);
+            }
+        }
+        return "";
+    }
+
+    private static double parseNumber(String json, String key) {
+        String search = "\"" + key + "\":";
+        int idx = json.indexOf(search);
+        if (idx == -1) throw new RuntimeException("Key not found: " + key);
+
+        int start = idx + search.length();
+        int end = start;
+        while (end < json.length() && ",}]".indexOf(json.charAt(end)) == -1) {
+            end++;
+        }
+        return Double.parseDouble(json.substring(start, end).trim());
+    }
+
+    private static String parseString(String json, String key) {
+        String search = "\"" + key + "\":\"";
+        int idx = json.indexOf(search);
+        if (idx == -1) return null;
+
+        int start = idx + search.length();
+        int end = json.indexOf("\"", start);
+        if (end == -1) return null;
+
+        return json.substring(start, end);
+    }
+
+    private static UUID parseUuid(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
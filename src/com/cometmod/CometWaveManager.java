@@ -45,19 +45,39 @@ public class CometWaveManager {
 
     private com.hypixel.hytale.server.core.plugin.PluginBase plugin;
 
-    // Track active comets and their wave states
-    private final Map<Vector3i, CometState> activeComets = new ConcurrentHashMap<>();
+    // Every comet in this world (tier, owner, theme, state and running wave)
+    private final CometRegistry registry;
 
-    // Track tier for each comet block
-    private final Map<Vector3i, CometTier> cometTiers = new ConcurrentHashMap<>();
+    // This world's timers: countdowns, wave timeouts and title hides
+    private final CometDeadlineQueue deadlines;
 
-    // Track owner UUID for each comet block (for marker visibility filtering)
-    private final Map<Vector3i, java.util.UUID> cometOwners = new ConcurrentHashMap<>();
+    // Wave mobs waiting to be spawned, drained within a per-tick budget
+    private final CometSpawnQueue spawnQueue = new CometSpawnQueue();
+
+    // Crash-safe record of running waves, written when dirty at most every
+    // CHECKPOINT_INTERVAL_MS; null if this manager is not checkpointed
+    private CometWaveCheckpoint checkpoint;
+    private boolean checkpointDirty = false;
+    private long lastCheckpoint = 0;
+    private static final long CHECKPOINT_INTERVAL_MS = 2000;
+
+    public CometWaveManager(CometRegistry registry, CometDeadlineQueue deadlines) {
+        this.registry = registry;
+        this.deadlines = deadlines;
+    }
+
+    public CometRegistry getRegistry() {
+        return registry;
+    }
 
     public void setPlugin(com.hypixel.hytale.server.core.plugin.PluginBase plugin) {
         this.plugin = plugin;
     }
 
+    public void setCheckpoint(CometWaveCheckpoint checkpoint) {
+        this.checkpoint = checkpoint;
+    }
+
     private static final int WAVE_MOB_COUNT = 5;
     private static final Random RANDOM = new Random();
 
@@ -141,19 +161,6 @@ public class CometWaveManager {
             "Legendary Undead", "Zombie Aberration"
     };
 
-    // Track current theme ID for boss selection (string-based for config
-    // compatibility)
-    private final Map<Vector3i, String> cometThemes = new ConcurrentHashMap<>();
-
-    // Track forced theme ID for a comet (set by spawn command)
-    private final Map<Vector3i, String> forcedThemes = new ConcurrentHashMap<>();
-
-    // Tier timeouts in milliseconds (per wave: adds + boss)
-    private static final long TIER1_TIMEOUT = 90000; // 90 seconds (Uncommon)
-    private static final long TIER2_TIMEOUT = 150000; // 150 seconds / 2.5 min (Rare)
-    private static final long TIER3_TIMEOUT = 180000; // 180 seconds / 3 min (Epic)
-    private static final long TIER4_TIMEOUT = 240000; // 240 seconds / 4 min (Legendary)
-
     // Spawn radii per tier
     private static final double[] TIER_MIN_RADIUS = { 3.0, 4.0, 5.0, 6.0 };
     private static final double[] TIER_MAX_RADIUS = { 5.0, 6.0, 7.0, 8.0 };
@@ -170,20 +177,37 @@ public class CometWaveManager {
     // Get comet state from block state (persists across relogs)
     public CometState getCometState(Vector3i blockPos) {
         // Check memory first
-        CometState memoryState = activeComets.get(blockPos);
-        if (memoryState != null) {
-            return memoryState;
+        CometRecord record = registry.get(blockPos);
+        if (record != null && record.getState() != null) {
+            return record.getState();
         }
         return CometState.UNTOUCHED;
     }
 
+    private CometTier tierOf(Vector3i blockPos) {
+        CometRecord record = registry.get(blockPos);
+        CometTier tier = record != null ? record.getTier() : null;
+        return tier != null ? tier : CometTier.UNCOMMON;
+    }
+
+    private String themeOf(Vector3i blockPos) {
+        CometRecord record = registry.get(blockPos);
+        return record != null ? record.getThemeId() : null;
+    }
+
     /**
      * Get all active comets for map marker display
      * 
      * @return Map of comet positions to their states
      */
     public Map<Vector3i, CometState> getActiveComets() {
-        return new HashMap<>(activeComets); // Return a copy for thread safety
+        Map<Vector3i, CometState> result = new HashMap<>();
+        for (CometRecord record : registry.snapshot()) {
+            if (record.getState() != null) {
+                result.put(record.getPos(), record.getState());
+            }
+        }
+        return result;
     }
 
     /**
@@ -192,7 +216,13 @@ public class CometWaveManager {
      * @return Map of comet positions to their tiers
      */
     public Map<Vector3i, CometTier> getCometTiers() {
-        return new HashMap<>(cometTiers); // Return a copy for thread safety
+        Map<Vector3i, CometTier> result = new HashMap<>();
+        for (CometRecord record : registry.snapshot()) {
+            if (record.getTier() != null) {
+                result.put(record.getPos(), record.getTier());
+            }
+        }
+        return result;
     }
 
     /**
@@ -201,7 +231,13 @@ public class CometWaveManager {
      * @return Map of comet positions to their owner UUIDs
      */
     public Map<Vector3i, java.util.UUID> getCometOwners() {
-        return new HashMap<>(cometOwners); // Return a copy for thread safety
+        Map<Vector3i, java.util.UUID> result = new HashMap<>();
+        for (CometRecord record : registry.snapshot()) {
+            if (record.getOwner() != null) {
+                result.put(record.getPos(), record.getOwner());
+            }
+        }
+        return result;
     }
 
     /**
@@ -214,26 +250,10 @@ public class CometWaveManager {
      * @return true if there's an active comet within distance
      */
     public boolean hasActiveCometNear(int x, int y, int z, int distance) {
-        for (Vector3i pos : activeComets.keySet()) {
-            double dx = pos.x - x;
-            double dy = pos.y - y;
-            double dz = pos.z - z;
-            double dist = Math.sqrt(dx * dx + dy * dy + dz * dz);
-            if (dist <= distance) {
-                return true;
-            }
-        }
-        // Also check cometTiers for registered but not yet activated comets
-        for (Vector3i pos : cometTiers.keySet()) {
-            double dx = pos.x - x;
-            double dy = pos.y - y;
-            double dz = pos.z - z;
-            double dist = Math.sqrt(dx * dx + dy * dy + dz * dz);
-            if (dist <= distance) {
-                return true;
-            }
-        }
-        return false;
+        // Active comets as well as registered but not yet activated ones; only the
+        // chunk columns within distance are visited
+        return registry.anyInRadius(x, y, z, distance,
+                record -> record.getState() != null || record.getTier() != null);
     }
 
     /**
@@ -243,28 +263,139 @@ public class CometWaveManager {
      * @return The owner UUID, or null if not found
      */
     public java.util.UUID getCometOwner(Vector3i blockPos) {
-        return cometOwners.get(blockPos);
+        CometRecord record = registry.get(blockPos);
+        return record != null ? record.getOwner() : null;
+    }
+
+    /**
+     * Lifecycle of a wave encounter, advanced every tick by CometWaveSystem
+     */
+    public enum WavePhase {
+        QUEUED, // Waiting for room in the server-wide NPC budget
+        COUNTDOWN, // 3-2-1 titles before the first wave
+        SPAWNING, // Spawning the current wave's mobs
+        ACTIVE, // Mobs alive, timer running
+        DORMANT, // Nobody in the arena: mobs snapshotted and despawned, timer paused
+        TRANSITION, // Current wave cleared, next wave pending
+        COMPLETE, // All waves cleared, waiting to hide the completion title
+        FAILED // Timed out, waiting to hide the failure title
     }
 
-    private static class WaveData {
+    // Countdown length before the first wave spawns
+    private static final int COUNTDOWN_SECONDS = 3;
+
+    // How long the completion / failure titles stay up
+    private static final long COMPLETE_TITLE_MS = 8000;
+    private static final long FAILED_TITLE_MS = 3000;
+
+    // Largest arena radius cached so far; bounds the invalidation search
+    private volatile double arenaReach = 0;
+
+    // Delay before a landed comet's arena is scanned, and before a rescan after
+    // a nearby block change (edits in quick succession share one rescan)
+    private static final long ARENA_SCAN_DELAY_MS = 1000;
+
+    // Gap between the per-role arena scans queued when a wave is activated
+    private static final long ARENA_PRESCAN_STAGGER_MS = 100;
+
+    // Periodic HUD refresh while a wave is active
+    private static final long HUD_REFRESH_MS = 5000;
+
+    // How often an active wave checks for players in its arena, and how far
+    // beyond the spawn ring a player still counts as present
+    private static final long PRESENCE_CHECK_MS = 1000;
+    private static final double ARENA_LEAVE_MARGIN = 16.0;
+
+    // Refresh of the "queued" title while waiting for the NPC budget
+    private static final long QUEUED_TITLE_REFRESH_MS = 3000;
+
+    // Longest a wave waits for the NPC budget before its activation is dropped
+    private static final long QUEUED_MAX_WAIT_MS = 5 * 60 * 1000;
+
+    // Longest a wave may stay dormant before it fails, and longest a mob may
+    // stay unattached (chunk unloaded, or not found after a restart) before it
+    // is dropped from its wave
+    private static final long ABANDONED_MAX_MS = 15 * 60 * 1000;
+
+    static class WaveData {
+        // Mobs spawned for the current wave; a mob's list index is its slot and the
+        // list is only cleared between waves
         final List<Ref<EntityStore>> spawnedMobs = new ArrayList<>();
+        final List<CometSpawnQueue.PendingSpawn> mobSpawns = new ArrayList<>(); // Spawn of each slot, null if unknown
+        final List<java.util.UUID> mobIds = new ArrayList<>(); // Entity UUID of each slot, null if unknown
+        int unattached = 0; // Recovered slots whose entity has not been found yet (null ref)
+        long unattachedSince; // When unattached last went up from 0
+        final BitSet aliveSlots = new BitSet(); // Slots whose mob has not died yet
+        int aliveCount = 0; // Cardinality of aliveSlots, kept incrementally
+        long lastRevalidation; // Last full component self-check of alive slots
         final Vector3i blockPos;
         final Ref<EntityStore> playerRef;
-        long startTime; // Track when wave started for timeout (not final - needs to be reset for each wave)
+        java.util.UUID playerId; // Player who activated the comet, for the checkpoint
+        long startTime; // Wall time the current wave started (not final - reset for each wave)
+        long clockMs; // Wave time spent in the current wave, counted by the tier's wave clock
+        long clockUpdatedAt; // Wall time the wave clock was last advanced
+        long timeoutMs; // Wave time the current wave may take
+        com.cometmod.config.TierSettings.WaveClock clock = com.cometmod.config.TierSettings.WaveClock.WALL;
+        int clockTickMs; // Wave time per tick (TICKS)
+        int clockMaxTickMs; // Most wave time one tick can count (COMPENSATED)
         long lastTimerUpdate = 0; // Track last time timer was updated (to update every 5 seconds)
         int initialSpawnCount = 0; // Track how many mobs were actually spawned
         int remainingCount = WAVE_MOB_COUNT;
         int previousRemainingCount = WAVE_MOB_COUNT; // Track previous count to detect changes
+        int pendingSpawns = 0; // Mobs of the current wave still in the spawn queue
+        int maxAlive = 0; // Mobs of the current wave alive at once, 0 = no cap
+        int admittedNpcs = 0; // NPCs reserved in CometNpcBudget, 0 once given back
+        double budgetScale = 1.0; // Share of each normal wave spawned under the "scale" budget policy
         int currentWave = 1; // Track wave number (1-based for display, internally converted from 0-based index)
         int currentWaveIndex = 0; // 0-based wave index for multi-wave support
         int totalWaveCount = 2; // Total waves in this encounter (default 2: 1 normal + 1 boss)
         String themeName = "Unknown"; // Display name of the current theme
-
-        WaveData(Vector3i blockPos, Ref<EntityStore> playerRef) {
+        final Store<EntityStore> store; // Store of the world this wave runs in
+        final CometTier tier;
+        WavePhase phase = WavePhase.COUNTDOWN;
+        long phaseStart; // When the current phase was entered
+        PreparedWave prepared; // Next wave, built before it starts
+        PlayerRef titlePlayer; // Player to hide the final title from (COMPLETE / FAILED)
+        List<CometSpawnQueue.PendingSpawn> dormantMobs; // Mobs to bring back when a DORMANT wave wakes
+        long lastPresenceCheck; // Last check for players in the arena
+
+        WaveData(Store<EntityStore> store, Vector3i blockPos, Ref<EntityStore> playerRef, CometTier tier) {
+            this.store = store;
             this.blockPos = blockPos;
             this.playerRef = playerRef;
+            this.tier = tier;
             this.startTime = System.currentTimeMillis();
+            this.phaseStart = this.startTime;
             this.lastTimerUpdate = this.startTime;
+            this.lastRevalidation = this.startTime;
+        }
+
+        /**
+         * Add a mob to the current wave and return its slot
+         */
+        int addMob(Ref<EntityStore> mobRef, CometSpawnQueue.PendingSpawn spawn, java.util.UUID mobId) {
+            int slot = spawnedMobs.size();
+            spawnedMobs.add(mobRef);
+            mobSpawns.add(spawn);
+            mobIds.add(mobId);
+            aliveSlots.set(slot);
+            aliveCount++;
+            return slot;
+        }
+
+        /**
+         * Mark a slot as dead. Idempotent, so duplicate death/removal events for the
+         * same mob only decrement once.
+         *
+         * @return true if the slot was alive
+         */
+        boolean markDead(int slot) {
+            if (slot < 0 || !aliveSlots.get(slot)) {
+                return false;
+            }
+            aliveSlots.clear(slot);
+            aliveCount--;
+            return true;
         }
 
         boolean hasMoreWaves() {
@@ -276,106 +407,139 @@ public class CometWaveManager {
             currentWave = currentWaveIndex + 1;
             startTime = System.currentTimeMillis();
             lastTimerUpdate = startTime;
-            spawnedMobs.clear();
+            lastRevalidation = startTime;
+            clockMs = 0;
+            clockUpdatedAt = startTime;
+            clearMobs();
             initialSpawnCount = 0;
+            pendingSpawns = 0;
+            maxAlive = 0;
+        }
+
+        /**
+         * Count the wall time since the last call as wave time, per the wave
+         * clock: all of it (WALL), one fixed step (TICKS) or all of it up to a
+         * cap (COMPENSATED), so a lagging server does not eat into the timeout
+         */
+        void advanceClock(long now) {
+            long wall = Math.max(0, now - clockUpdatedAt);
+            clockUpdatedAt = now;
+            switch (clock) {
+                case TICKS:
+                    clockMs += clockTickMs;
+                    break;
+                case COMPENSATED:
+                    clockMs += Math.min(wall, clockMaxTickMs);
+                    break;
+                default:
+                    clockMs += wall;
+                    break;
+            }
         }
-    }
-
-    private static class FailedSpawnInfo {
-        final String npcType;
-        final Vector3f rotation;
-        final boolean isRanged;
 
-        FailedSpawnInfo(String n, Vector3f r, boolean ir) {
-            npcType = n;
-            rotation = r;
-            isRanged = ir;
+        void enterPhase(WavePhase next, long now) {
+            phase = next;
+            phaseStart = now;
         }
-    }
 
-    private static boolean isRangedMob(String npcType) {
-        if (npcType == null)
-            return false;
-        String[] r = { "Archer", "Archmage", "Lobber", "Shaman", "Mage", "Ranger", "Hunter", "Stalker", "Priest",
-                "Gunner", "Alchemist" };
-        for (String x : r)
-            if (npcType.contains(x))
-                return true;
-        return false;
+        void clearMobs() {
+            spawnedMobs.clear();
+            mobSpawns.clear();
+            mobIds.clear();
+            unattached = 0;
+            aliveSlots.clear();
+            aliveCount = 0;
+        }
     }
 
-    private final Map<Vector3i, WaveData> activeWaves = new ConcurrentHashMap<>();
-
     /**
-     * Check for wave timeouts and destroy expired comets
-     * This should be called periodically (every 5 seconds) from the plugin
-     * NOTE: This runs on the scheduler thread, so we need to execute world
-     * operations on WorldThread
+     * A wave built ahead of its start: mobs picked, placed in the arena and
+     * resolved to roles, with their tags and stat multipliers ready to put on
+     * the NPC holders
      */
-    public void checkTimeouts() {
-        // Check all active waves for timeout
-        long currentTime = System.currentTimeMillis();
-        java.util.List<Vector3i> timedOutWaves = new java.util.ArrayList<>();
+    private static final class PreparedWave {
+        final int waveIndex;
+        final CometArenaSolver.Arena arena; // Arena the spawns were placed in
+        final List<CometSpawnQueue.PendingSpawn> spawns;
+        final int maxAlive; // Cap on mobs alive at once, 0 = no cap
+
+        PreparedWave(int waveIndex, CometArenaSolver.Arena arena, List<CometSpawnQueue.PendingSpawn> spawns,
+                int maxAlive) {
+            this.waveIndex = waveIndex;
+            this.arena = arena;
+            this.spawns = spawns;
+            this.maxAlive = maxAlive;
+        }
+    }
 
-        for (Map.Entry<Vector3i, WaveData> entry : activeWaves.entrySet()) {
-            WaveData waveData = entry.getValue();
-            long elapsedTime = currentTime - waveData.startTime;
+    // Delay after a wave starts before the next one is prepared, off the
+    // activation tick
+    private static final long NEXT_WAVE_PREPARE_DELAY_MS = 1000;
 
-            // Get tier-specific timeout
-            CometTier tier = cometTiers.getOrDefault(entry.getKey(), CometTier.UNCOMMON);
-            long tierTimeout = getTierTimeout(tier);
+    // Full component re-validation of a wave's alive slots (self-check only; the
+    // alive count is normally driven by death/removal events)
+    private static final long WAVE_REVALIDATE_INTERVAL_MS = 30000;
 
-            if (elapsedTime >= tierTimeout) {
-                LOGGER.info("[checkTimeouts] TIMEOUT for wave at " + entry.getKey() +
-                        " (elapsed=" + (elapsedTime / 1000) + "s)");
-                timedOutWaves.add(entry.getKey());
-            }
-        }
+    // Wave and slot of an indexed wave mob
+    private static class WaveMobEntry {
+        final WaveData wave;
+        final int slot;
 
-        // Destroy timed out waves - must execute on WorldThread
-        for (Vector3i blockPos : timedOutWaves) {
-            WaveData waveData = activeWaves.get(blockPos);
-            if (waveData == null)
-                continue;
+        WaveMobEntry(WaveData wave, int slot) {
+            this.wave = wave;
+            this.slot = slot;
+        }
+    }
 
-            // Try to find a valid store to execute the cleanup
-            com.hypixel.hytale.component.Store<com.hypixel.hytale.server.core.universe.world.storage.EntityStore> store = null;
+    // Reverse index from spawned wave mob to its wave and slot,
+    // so deaths resolve without scanning every wave
+    private final Map<Ref<EntityStore>, WaveMobEntry> mobWaveIndex = new ConcurrentHashMap<>();
 
-            if (waveData.playerRef != null && waveData.playerRef.isValid()) {
-                store = waveData.playerRef.getStore();
-            } else {
-                // Player dead/gone, try to use a mob ref
-                for (Ref<EntityStore> mobRef : waveData.spawnedMobs) {
-                    if (mobRef != null && mobRef.isValid()) {
-                        store = mobRef.getStore();
-                        break;
-                    }
-                }
-            }
+    // Mobs of recovered waves that have not been matched to an entity yet, by UUID
+    private final Map<java.util.UUID, WaveMobEntry> unattachedMobs = new ConcurrentHashMap<>();
 
-            if (store != null) {
-                // Get world and execute on WorldThread
-                try {
-                    com.hypixel.hytale.server.core.universe.world.World world = ((com.hypixel.hytale.server.core.universe.world.storage.EntityStore) store
-                            .getExternalData()).getWorld();
+    /**
+     * Add a freshly spawned mob to its wave and index it by ref
+     *
+     * @param spawn The queued spawn it came from, or null if it was spawned
+     *              directly (such mobs are not hibernated)
+     */
+    private void trackWaveMob(WaveData waveData, Ref<EntityStore> mobRef, CometSpawnQueue.PendingSpawn spawn) {
+        int slot = waveData.addMob(mobRef, spawn, entityIdOf(mobRef));
+        mobWaveIndex.put(mobRef, new WaveMobEntry(waveData, slot));
+        checkpointDirty = true;
+    }
 
-                    final Store<EntityStore> finalStore = store;
-                    final WaveData finalWaveData = waveData;
+    /**
+     * @return The persistent UUID of an entity, or null if it has none
+     */
+    private static java.util.UUID entityIdOf(Ref<EntityStore> ref) {
+        try {
+            com.hypixel.hytale.server.core.entity.UUIDComponent uuid = ref.getStore().getComponent(ref,
+                    com.hypixel.hytale.server.core.entity.UUIDComponent.getComponentType());
+            return uuid != null ? uuid.getUuid() : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
 
-                    world.execute(() -> {
-                        destroyCometOnTimeout(finalStore, finalWaveData);
-                    });
-                } catch (Exception e) {
-                    LOGGER.warning("Error executing cleanup for timed out wave at " + blockPos + ": " + e.getMessage());
+    /**
+     * Drop every index entry belonging to a wave's current mob list
+     */
+    private void untrackWaveMobs(WaveData waveData) {
+        for (Ref<EntityStore> mobRef : waveData.spawnedMobs) {
+            if (mobRef != null) {
+                mobWaveIndex.remove(mobRef);
+            }
+        }
+        if (waveData.unattached > 0) {
+            for (java.util.UUID mobId : waveData.mobIds) {
+                if (mobId != null) {
+                    unattachedMobs.remove(mobId);
                 }
-            } else {
-                // Critical failure: No valid store found to clean up wave.
-                // Just remove it from active waves to prevent infinite loops,
-                // though the block and mobs might linger.
-                activeWaves.remove(blockPos);
-                LOGGER.warning("Could not find valid store to clean up orphaned wave at " + blockPos);
             }
         }
+        checkpointDirty = true;
     }
 
     public void handleCometActivation(Store<EntityStore> store, Ref<EntityStore> playerRef, Vector3i blockPos) {
@@ -402,7 +566,7 @@ public class CometWaveManager {
                         break;
                     }
                 }
-                cometTiers.put(blockPos, tier);
+                registry.getOrCreate(blockPos).setTier(tier);
 
                 // Don't check if empty here - the droplist might not have populated yet
                 // Just open the container - it will populate when opened
@@ -417,10 +581,11 @@ public class CometWaveManager {
         if (tier == null) {
             tier = CometTier.UNCOMMON; // Default
         }
-        cometTiers.put(blockPos, tier);
+        CometRecord record = registry.getOrCreate(blockPos);
+        record.setTier(tier);
 
         // Check if this comet is already active (in memory)
-        CometState state = activeComets.getOrDefault(blockPos, CometState.UNTOUCHED);
+        CometState state = getCometState(blockPos);
 
         if (state == CometState.WAVE_ACTIVE) {
             // Wave already active, don't spawn again
@@ -435,51 +600,430 @@ public class CometWaveManager {
             return;
         }
 
-        // Start a new wave
-        activeComets.put(blockPos, CometState.WAVE_ACTIVE);
+        // Start a new wave; the countdown and spawn are driven by the deadline queue.
+        // beginWave is atomic, so two activations of the same comet start one wave.
+        WaveData waveData = new WaveData(store, blockPos, playerRef, tier);
+        try {
+            PlayerRef pr = playerRef != null ? store.getComponent(playerRef, PlayerRef.getComponentType()) : null;
+            waveData.playerId = pr != null ? pr.getUuid() : null;
+        } catch (Exception e) {
+            // Ignore
+        }
+        if (!record.beginWave(waveData)) {
+            LOGGER.info("Comet at " + blockPos + " was activated concurrently");
+            return;
+        }
+        // Roll the theme now so the encounter's NPC count is known before admission
+        chooseTheme(waveData);
+        long now = System.currentTimeMillis();
+        if (!admit(waveData, now)) {
+            waveData.enterPhase(WavePhase.QUEUED, now);
+            showQueuedTitle(waveData);
+            LOGGER.info("Comet at " + blockPos + " queued for the wave NPC budget ("
+                    + CometNpcBudget.getInUse() + " NPCs in use)");
+            return;
+        }
+
+        LOGGER.info("Starting wave for comet at " + blockPos + " (tier: " + tier.getName() + ") - "
+                + COUNTDOWN_SECONDS + " second countdown");
+    }
 
-        LOGGER.info("Starting wave for comet at " + blockPos + " (tier: " + tier.getName() + ") - 3 second countdown");
+    /**
+     * Reserve the encounter's NPCs from the server-wide budget and start the
+     * countdown if they fit
+     *
+     * @return false if the wave has to wait
+     */
+    private boolean admit(WaveData waveData, long now) {
+        int peak = estimatePeakNpcs(themeOf(waveData.blockPos), waveData.tier);
+        int granted = CometNpcBudget.tryAdmit(waveData, peak);
+        if (granted == 0) {
+            return false;
+        }
+        waveData.admittedNpcs = granted;
+        waveData.budgetScale = Math.min(1.0, granted / (double) peak);
+        waveData.enterPhase(WavePhase.COUNTDOWN, now);
+        scheduleCountdown(waveData);
+        return true;
+    }
 
-        final com.hypixel.hytale.server.core.universe.world.World worldForCountdown = world;
-        final Store<EntityStore> storeFinal = store;
-        final Ref<EntityStore> playerRefFinal = playerRef;
-        final Vector3i blockPosFinal = blockPos;
-        final CometTier tierFinal = tier;
+    /**
+     * Reserve a dormant wave's NPCs again before it wakes, capping its alive
+     * count to what was granted
+     *
+     * @return false if the wave has to stay dormant
+     */
+    private boolean readmit(WaveData waveData) {
+        int granted = CometNpcBudget.tryAdmit(waveData, estimatePeakNpcs(themeOf(waveData.blockPos), waveData.tier));
+        if (granted == 0) {
+            return false;
+        }
+        waveData.admittedNpcs = granted;
+        if (CometNpcBudget.isLimited()) {
+            waveData.maxAlive = waveData.maxAlive > 0 ? Math.min(waveData.maxAlive, granted) : granted;
+        }
+        return true;
+    }
 
-        // 3 second countdown: show "3", "2", "1" then spawn wave
-        for (int i = 3; i >= 1; i--) {
-            final int count = i;
-            com.hypixel.hytale.server.core.HytaleServer.SCHEDULED_EXECUTOR.schedule(() -> {
-                worldForCountdown.execute(() -> {
-                    if (!playerRefFinal.isValid())
-                        return;
-                    PlayerRef pr = storeFinal.getComponent(playerRefFinal, PlayerRef.getComponentType());
-                    if (pr == null)
+    /**
+     * Most NPCs any wave of a theme has alive at once: its mob or boss count,
+     * limited by the wave's alive cap
+     */
+    private static int estimatePeakNpcs(String themeId, CometTier tier) {
+        int peak = 0;
+        int waveCount = themeId != null ? WaveThemeProvider.getWaveCount(themeId) : 0;
+        for (int i = 0; i < waveCount; i++) {
+            com.cometmod.config.WavePlan plan = WaveThemeProvider.getWavePlan(themeId, tier, i);
+            if (plan == null) {
+                continue;
+            }
+            int npcs = plan.isBossWave() ? plan.getBossSpawnCount() : plan.getMobCount();
+            if (plan.getMaxAlive() > 0) {
+                npcs = Math.min(npcs, plan.getMaxAlive());
+            }
+            peak = Math.max(peak, npcs);
+        }
+        return peak > 0 ? peak : WAVE_MOB_COUNT;
+    }
+
+    /**
+     * Number of a normal wave's mobs to spawn, shrunk under the "scale" budget
+     * policy
+     */
+    private static int scaledMobCount(WaveData waveData, int mobCount) {
+        if (waveData.budgetScale >= 1.0) {
+            return mobCount;
+        }
+        return Math.max(1, Math.min(mobCount, (int) Math.ceil(mobCount * waveData.budgetScale)));
+    }
+
+    /**
+     * Give back a wave's NPC reservation, or its place in line. Idempotent, so
+     * every path that ends an encounter can call it.
+     */
+    private static void releaseBudget(WaveData waveData) {
+        CometNpcBudget.cancel(waveData);
+        if (waveData.admittedNpcs > 0) {
+            CometNpcBudget.release(waveData.admittedNpcs);
+            waveData.admittedNpcs = 0;
+        }
+    }
+
+    /**
+     * Advance every wave that belongs to the given store by one tick. Called from
+     * CometWaveSystem on the world thread, so all wave work happens in-tick.
+     */
+    public void tickWaves(Store<EntityStore> store) {
+        long now = System.currentTimeMillis();
+        drainSpawnQueue(now);
+        if (!registry.hasWaves()) {
+            if (checkpointDirty) {
+                writeCheckpoint(now);
+            }
+            return;
+        }
+        for (CometRecord record : registry.snapshotWaves()) {
+            WaveData waveData = record.getWave();
+            if (waveData == null || waveData.store != store) {
+                continue;
+            }
+            try {
+                tickWave(waveData, now);
+            } catch (Exception e) {
+                LOGGER.warning("Error ticking wave at " + waveData.blockPos + ": " + e.getMessage());
+            }
+        }
+        if (checkpointDirty && now - lastCheckpoint >= CHECKPOINT_INTERVAL_MS) {
+            writeCheckpoint(now);
+        }
+    }
+
+    /**
+     * Queue the "3", "2", "1" titles and the first spawn. The timers belong to the
+     * comet, so breaking it mid-countdown cancels them.
+     */
+    private void scheduleCountdown(WaveData waveData) {
+        long start = waveData.phaseStart;
+        // Scan the arena for the theme's mobs before the first spawn, off the
+        // activation tick
+        deadlines.schedule(waveData.blockPos, start, () -> {
+            if (isCurrentWave(waveData)) {
+                prescanThemeBoxes(prepareArena(worldOf(waveData.store), waveData.blockPos), waveData.blockPos, start);
+            }
+        });
+        // Build the first wave during the last second of the countdown
+        schedulePrepare(waveData, 0, start + (COUNTDOWN_SECONDS - 1) * 1000L);
+        for (int i = 0; i < COUNTDOWN_SECONDS; i++) {
+            int count = COUNTDOWN_SECONDS - i;
+            deadlines.schedule(waveData.blockPos, start + i * 1000L, () -> {
+                if (isCurrentWave(waveData)) {
+                    showCountdownTitle(waveData.store, waveData.playerRef, count);
+                }
+            });
+        }
+        deadlines.schedule(waveData.blockPos, start + COUNTDOWN_SECONDS * 1000L, () -> startFirstWave(waveData));
+    }
+
+    private void startFirstWave(WaveData waveData) {
+        if (!isCurrentWave(waveData) || waveData.phase != WavePhase.COUNTDOWN) {
+            return;
+        }
+        CometRecord record = registry.get(waveData.blockPos);
+        if (waveData.playerRef == null || !waveData.playerRef.isValid()) {
+            releaseBudget(waveData);
+            if (record != null) {
+                record.endWave(waveData, null);
+            }
+            return;
+        }
+        long now = System.currentTimeMillis();
+        waveData.enterPhase(WavePhase.SPAWNING, now);
+        waveData.startTime = now;
+        if (NPCPlugin.get() == null) {
+            LOGGER.warning("NPCPlugin not available!");
+        } else {
+            releaseWave(waveData, takePrepared(waveData, 0));
+        }
+        if (waveData.phase == WavePhase.SPAWNING) {
+            waveData.enterPhase(WavePhase.ACTIVE, now);
+            armTimeout(waveData, 0, now);
+        }
+    }
+
+    /**
+     * (Re)start the wave clock of the wave that just started with the tier's
+     * timeout and clock settings. The timeout is checked by tickWave against
+     * the clock, so time the wave spends dormant or lost to server lag is not
+     * counted.
+     *
+     * @param elapsedMs Wave time already spent (recovered waves), 0 otherwise
+     */
+    private void armTimeout(WaveData waveData, long elapsedMs, long now) {
+        com.cometmod.config.TierSettings settings = WaveThemeProvider.getTierSettings(waveData.tier);
+        waveData.timeoutMs = settings.getTimeoutMillis();
+        waveData.clock = settings.getWaveClock();
+        waveData.clockTickMs = settings.getClockTickMillis();
+        waveData.clockMaxTickMs = settings.getClockMaxTickMillis();
+        waveData.clockMs = elapsedMs;
+        waveData.clockUpdatedAt = now;
+    }
+
+    private boolean isCurrentWave(WaveData waveData) {
+        CometRecord record = registry.get(waveData.blockPos);
+        return record != null && record.getWave() == waveData;
+    }
+
+    /**
+     * Move a finished wave off its comet and queue the hide of its completion /
+     * failure title. The hide is not tied to the comet, which is removed right
+     * after.
+     */
+    private void closeWave(WaveData waveData, WavePhase terminalPhase, CometState nextState) {
+        untrackWaveMobs(waveData);
+        releaseBudget(waveData);
+        long now = System.currentTimeMillis();
+        waveData.enterPhase(terminalPhase, now);
+        CometRecord record = registry.get(waveData.blockPos);
+        if (record != null) {
+            record.endWave(waveData, nextState);
+        }
+        long titleMs = terminalPhase == WavePhase.COMPLETE ? COMPLETE_TITLE_MS : FAILED_TITLE_MS;
+        deadlines.schedule(now + titleMs, () -> {
+            if (waveData.titlePlayer != null) {
+                try {
+                    EventTitleUtil.hideEventTitleFromPlayer(waveData.titlePlayer, 0.0F);
+                } catch (Exception e) {
+                    LOGGER.warning("Error hiding wave title: " + e.getMessage());
+                }
+            }
+        });
+    }
+
+    /**
+     * Remove a comet and all of its state. A wave still running on it is
+     * abandoned: its mobs are no longer tracked.
+     */
+    private void removeComet(Vector3i blockPos) {
+        CometRecord removed = registry.remove(blockPos);
+        if (removed == null) {
+            return;
+        }
+        WaveData waveData = removed.getWave();
+        if (waveData != null) {
+            untrackWaveMobs(waveData);
+            releaseBudget(waveData);
+            LOGGER.info("Abandoned running wave at " + blockPos + " (comet removed)");
+        }
+    }
+
+    private void tickWave(WaveData waveData, long now) {
+        Store<EntityStore> store = waveData.store;
+        switch (waveData.phase) {
+            case QUEUED: {
+                if (waveData.playerRef == null || !waveData.playerRef.isValid()) {
+                    // Activating player left while waiting: give the comet back
+                    cancelQueued(waveData);
+                    return;
+                }
+                if (now - waveData.phaseStart >= QUEUED_MAX_WAIT_MS) {
+                    // Waited too long: drop the activation so it does not hold the line
+                    LOGGER.info("Comet at " + waveData.blockPos + " gave up waiting for the wave NPC budget");
+                    PlayerRef pr = resolvePlayerRefComponent(store, waveData);
+                    if (pr != null) {
+                        EventTitleUtil.showEventTitleToPlayer(
+                                pr,
+                                Message.raw("Comet Raid Cancelled"),
+                                Message.raw("Too many comet raids are running, try again later"),
+                                true,
+                                null,
+                                FAILED_TITLE_MS / 1000.0F,
+                                0.1F,
+                                0.1F);
+                    }
+                    cancelQueued(waveData);
+                    return;
+                }
+                if (!admit(waveData, now) && now - waveData.lastTimerUpdate >= QUEUED_TITLE_REFRESH_MS) {
+                    showQueuedTitle(waveData);
+                }
+                return;
+            }
+            case COUNTDOWN:
+                // Countdown titles and the first spawn are deadline timers
+                return;
+            case SPAWNING:
+                // Placement completes within the tick that entered it; the spawn
+                // queue fills the wave in while it is ACTIVE
+                waveData.enterPhase(WavePhase.ACTIVE, now);
+                return;
+            case ACTIVE: {
+                if (waveData.aliveCount == 0 && waveData.pendingSpawns == 0) {
+                    if (waveData.hasMoreWaves()) {
+                        LOGGER.info("=== Wave " + waveData.currentWave + " complete! Spawning wave " +
+                                (waveData.currentWave + 1) + "/" + waveData.totalWaveCount + " at "
+                                + waveData.blockPos + " ===");
+                        waveData.enterPhase(WavePhase.TRANSITION, now);
+                    } else {
+                        LOGGER.info("=== All " + waveData.totalWaveCount + " waves defeated! Completing comet at " +
+                                waveData.blockPos + " ===");
+                        completeWave(store, resolvePlayerRefComponent(store, waveData), waveData);
+                    }
+                    return;
+                }
+                waveData.advanceClock(now);
+                if (waveData.clockMs >= waveData.timeoutMs) {
+                    LOGGER.warning("Wave at " + waveData.blockPos + " exceeded " + (waveData.timeoutMs / 1000)
+                            + " second timeout (" + waveData.clock.getId() + " clock)! Destroying comet.");
+                    destroyCometOnTimeout(store, waveData);
+                    return;
+                }
+                if (now - waveData.lastPresenceCheck >= PRESENCE_CHECK_MS) {
+                    waveData.lastPresenceCheck = now;
+                    if (waveData.unattached > 0) {
+                        reattachMobs(waveData);
+                        if (waveData.unattached > 0 && now - waveData.unattachedSince >= ABANDONED_MAX_MS) {
+                            dropUnattachedMobs(waveData);
+                        }
+                    }
+                    if (!isArenaOccupied(waveData)) {
+                        hibernateWave(waveData, now);
                         return;
-                    EventTitleUtil.hideEventTitleFromPlayer(pr, 0.0F);
-                    EventTitleUtil.showEventTitleToPlayer(
-                            pr,
-                            Message.raw(String.valueOf(count)),
-                            Message.raw(""),
-                            true,
-                            null,
-                            1.0F,
-                            0.1F,
-                            0.1F);
-                });
-            }, 3L - count, TimeUnit.SECONDS);
-        }
-
-        // After 3 seconds, spawn the wave
-        com.hypixel.hytale.server.core.HytaleServer.SCHEDULED_EXECUTOR.schedule(() -> {
-            worldForCountdown.execute(() -> {
-                if (!playerRefFinal.isValid()) {
-                    activeComets.remove(blockPosFinal);
+                    }
+                }
+                if (now - waveData.lastTimerUpdate >= HUD_REFRESH_MS) {
+                    updateWaveCountdown(store, waveData.playerRef, waveData);
+                }
+                return;
+            }
+            case DORMANT:
+                if (now - waveData.phaseStart >= ABANDONED_MAX_MS) {
+                    LOGGER.warning("Wave at " + waveData.blockPos + " stayed dormant for "
+                            + (ABANDONED_MAX_MS / 1000) + " seconds! Destroying comet.");
+                    destroyCometOnTimeout(store, waveData);
                     return;
                 }
-                spawnWave(storeFinal, playerRefFinal, blockPosFinal, tierFinal);
-            });
-        }, 3L, TimeUnit.SECONDS);
+                if (now - waveData.lastPresenceCheck >= PRESENCE_CHECK_MS) {
+                    waveData.lastPresenceCheck = now;
+                    if (!isArenaOccupied(waveData)) {
+                        // Nobody to wake it for: do not hold a place in line
+                        CometNpcBudget.cancel(waveData);
+                    } else if (readmit(waveData)) {
+                        wakeWave(waveData, now);
+                    } else if (now - waveData.lastTimerUpdate >= QUEUED_TITLE_REFRESH_MS) {
+                        showQueuedTitle(waveData);
+                    }
+                }
+                return;
+            case TRANSITION:
+                waveData.enterPhase(WavePhase.SPAWNING, now);
+                spawnNextWave(store, waveData.playerRef, waveData);
+                if (waveData.phase == WavePhase.SPAWNING) {
+                    waveData.enterPhase(WavePhase.ACTIVE, now);
+                    armTimeout(waveData, 0, now);
+                }
+                return;
+            default:
+                // COMPLETE / FAILED waves are detached from their comet
+                return;
+        }
+    }
+
+    private void showCountdownTitle(Store<EntityStore> store, Ref<EntityStore> playerRef, int count) {
+        if (playerRef == null || !playerRef.isValid())
+            return;
+        PlayerRef pr = store.getComponent(playerRef, PlayerRef.getComponentType());
+        if (pr == null)
+            return;
+        EventTitleUtil.hideEventTitleFromPlayer(pr, 0.0F);
+        EventTitleUtil.showEventTitleToPlayer(
+                pr,
+                Message.raw(String.valueOf(count)),
+                Message.raw(""),
+                true,
+                null,
+                1.0F,
+                0.1F,
+                0.1F);
+    }
+
+    /**
+     * Give a queued activation's comet back without starting the wave
+     */
+    private void cancelQueued(WaveData waveData) {
+        releaseBudget(waveData);
+        CometRecord record = registry.get(waveData.blockPos);
+        if (record != null) {
+            record.endWave(waveData, null);
+        }
+    }
+
+    /**
+     * Tell the activating player that their comet is waiting for the NPC budget
+     */
+    private void showQueuedTitle(WaveData waveData) {
+        waveData.lastTimerUpdate = System.currentTimeMillis();
+        PlayerRef pr = resolvePlayerRefComponent(waveData.store, waveData);
+        if (pr == null)
+            return;
+        int position = CometNpcBudget.getPosition(waveData);
+        String subtitle = position > 1 ? (position - 1) + " comet raid(s) ahead of you"
+                : "Waiting for other comet raids to finish";
+        EventTitleUtil.showEventTitleToPlayer(
+                pr,
+                Message.raw("Comet Queued"),
+                Message.raw(subtitle),
+                true,
+                null,
+                (QUEUED_TITLE_REFRESH_MS + 500) / 1000.0F,
+                0.1F,
+                0.1F);
+    }
+
+    private PlayerRef resolvePlayerRefComponent(Store<EntityStore> store, WaveData waveData) {
+        if (waveData.playerRef == null || !waveData.playerRef.isValid()) {
+            return null;
+        }
+        return store.getComponent(waveData.playerRef, PlayerRef.getComponentType());
     }
 
     /**
@@ -505,95 +1049,19 @@ public class CometWaveManager {
     }
 
     /**
-     * Helper to spawn an NPC and register it for stat modifiers if the theme has
-     * them configured.
-     * This wraps the standard spawnNPC call and adds stat modifier registration.
-     * 
-     * @param store     The entity store
-     * @param npcPlugin The NPC plugin
-     * @param npcType   The full NPC type string (with tier suffix)
-     * @param baseMobId The base mob ID (without tier suffix) for config lookup
-     * @param spawnPos  The spawn position
-     * @param rotation  The rotation
-     * @param themeId   The theme ID for stat multiplier lookup
-     * @param tier      The comet tier
-     * @param isBoss    Whether this is a boss spawn
-     * @return The spawn result pair, or null if failed
-     */
-    private Pair<Ref<EntityStore>, com.hypixel.hytale.server.core.universe.world.npc.INonPlayerCharacter> spawnCometNPC(
-            Store<EntityStore> store,
-            NPCPlugin npcPlugin,
-            String npcType,
-            String baseMobId,
-            Vector3d spawnPos,
-            Vector3f rotation,
-            String themeId,
-            CometTier tier,
-            boolean isBoss) {
-
-        try {
-            Pair<Ref<EntityStore>, com.hypixel.hytale.server.core.universe.world.npc.INonPlayerCharacter> result = npcPlugin
-                    .spawnNPC(store, npcType, null, spawnPos, rotation);
-
-            if (result != null && result.first() != null) {
-                // Try to register stat modifiers if the theme has them
-                try {
-                    float[] multipliers = null;
-                    if (isBoss) {
-                        multipliers = WaveThemeProvider.getBossStatMultipliers(themeId, tier, baseMobId);
-                    } else {
-                        multipliers = WaveThemeProvider.getMobStatMultipliers(themeId, tier, baseMobId);
-                    }
-
-                    if (multipliers != null && multipliers.length >= 4) {
-                        float hpMult = multipliers[0];
-                        float damageMult = multipliers[1];
-                        float scaleMult = multipliers[2];
-                        float speedMult = multipliers[3];
-
-                        // Get the UUID from the spawned entity
-                        com.hypixel.hytale.server.core.entity.UUIDComponent uuidComp = store.getComponent(
-                                result.first(),
-                                com.hypixel.hytale.server.core.entity.UUIDComponent.getComponentType());
-
-                        if (uuidComp != null) {
-                            UUID npcUUID = uuidComp.getUuid();
-                            // Call directly to apply modifiers immediately (fixes timing issue)
-                            CometStatModifierSystem.applyModifiers(store, result.first(), hpMult, damageMult,
-                                    scaleMult, speedMult);
-                            LOGGER.info("[CometWave] Applied stat modifiers for " + npcType +
-                                    " (UUID: " + npcUUID + "): HP=" + hpMult + "x, Dmg=" + damageMult + "x, Scale="
-                                    + scaleMult + "x, Speed=" + speedMult + "x");
-                        }
-                    }
-                } catch (Exception e) {
-                    LOGGER.warning(
-                            "[CometWave] Could not register stat modifiers for " + npcType + ": " + e.getMessage());
-                }
-            }
-
-            return result;
-        } catch (Exception e) {
-            LOGGER.warning("[CometWave] Exception spawning NPC " + npcType + ": " + e.getMessage());
-            return null;
-        }
-    }
-
-    private void spawnWave(Store<EntityStore> store, Ref<EntityStore> playerRef, Vector3i blockPos, CometTier tier) {
-        NPCPlugin npcPlugin = NPCPlugin.get();
-        if (npcPlugin == null) {
-            LOGGER.warning("NPCPlugin not available!");
-            return;
-        }
-
-        Vector3d centerPos = new Vector3d(blockPos.x + 0.5, blockPos.y + 1, blockPos.z + 0.5);
-        WaveData waveData = new WaveData(blockPos, playerRef);
-        activeWaves.put(blockPos, waveData);
+     * Roll (or take the forced) theme of a starting encounter and size it. Done
+     * on activation, so the encounter can be admitted against the NPC budget
+     * and its first wave prepared during the countdown.
+     */
+    private void chooseTheme(WaveData waveData) {
+        Vector3i blockPos = waveData.blockPos;
+        CometTier tier = waveData.tier;
+        CometRecord record = registry.getOrCreate(blockPos);
 
-        // Select theme and get mob list based on tier (config-based system)
+        // Select theme based on tier (config-based system)
         String themeId;
-        if (forcedThemes.containsKey(blockPos)) {
-            themeId = forcedThemes.get(blockPos);
+        if (record.getForcedThemeId() != null) {
+            themeId = record.getForcedThemeId();
             LOGGER.info("Using forced theme for comet at " + blockPos + ": " + WaveThemeProvider.getThemeName(themeId));
         } else {
             themeId = WaveThemeProvider.selectTheme(tier);
@@ -606,7 +1074,7 @@ public class CometWaveManager {
             themeId = getLegacyThemeId(legacyTheme);
         }
 
-        cometThemes.put(blockPos, themeId);
+        record.setThemeId(themeId);
 
         // Initialize wave count from theme config (multi-wave support)
         waveData.totalWaveCount = WaveThemeProvider.getWaveCount(themeId);
@@ -616,217 +1084,374 @@ public class CometWaveManager {
                 WaveThemeProvider.getNormalWaveCount(themeId) + " normal, " +
                 WaveThemeProvider.getBossWaveCount(themeId) + " boss)");
 
-        // Get mob list for wave 0 (first wave)
-        String[] mobList = WaveThemeProvider.getMobListForWave(tier, themeId, 0);
+        // Store theme name for display
+        waveData.themeName = WaveThemeProvider.getThemeName(themeId);
+        LOGGER.info("Selected theme: " + waveData.themeName + " (ID: " + themeId + ") for tier " + tier.getName());
+    }
 
-        LOGGER.info("[DEBUG] getMobListForTheme returned: " + (mobList == null ? "null" : mobList.length + " mobs"));
-        if (mobList != null && mobList.length > 0) {
-            LOGGER.info("[DEBUG] First 3 mobs: " + String.join(", ", java.util.Arrays.copyOf(mobList, Math.min(3, mobList.length))));
-        }
+    /**
+     * Pick and place the mobs of the first wave, including the legacy fixed
+     * compositions
+     */
+    private PreparedWave prepareFirstWave(WaveData waveData) {
+        Vector3i blockPos = waveData.blockPos;
+        CometTier tier = waveData.tier;
+        String themeId = themeOf(blockPos);
+        if (themeId == null) themeId = "skeleton";
 
-        // Fallback to legacy mob list if config-based returns empty
-        if (mobList == null || mobList.length == 0) {
+        // Compiled plan for wave 0 (first wave)
+        com.cometmod.config.WavePlan plan = WaveThemeProvider.getWavePlan(themeId, tier, 0);
+
+        // Fallback to legacy mob list if the config has no mobs for this wave
+        if (plan == null || plan.getMobCount() == 0) {
             LOGGER.warning("[DEBUG] Config mob list empty, falling back to legacy system for theme: " + themeId);
+            plan = null;
             int legacyTheme = getLegacyThemeIndex(themeId);
             if (legacyTheme >= 0) {
-                mobList = getMobListForThemeLegacy(tier, legacyTheme);
+                String[] mobList = getMobListForThemeLegacy(tier, legacyTheme);
                 LOGGER.info("[DEBUG] Legacy system returned " + (mobList == null ? "null" : mobList.length + " mobs"));
+                if (mobList != null && mobList.length > 0) {
+                    plan = com.cometmod.config.WavePlan.ofMobs(mobList);
+                }
             }
         }
 
-        // Store theme name for display
-        waveData.themeName = WaveThemeProvider.getThemeName(themeId);
-        LOGGER.info("Selected theme: " + waveData.themeName + " (ID: " + themeId + ") for tier " + tier.getName());
+        if (plan == null) {
+            LOGGER.warning("No mobs available for tier " + tier.getName() + " theme " + themeId);
+            return null;
+        }
+
+        // Use the plan's mob count for tier-specific counts
+        int waveMobCount = plan.getMobCount();
+
+        // Get legacy theme integer for backwards compatibility with fixed composition
+        // logic
+        int theme = getLegacyThemeIndex(themeId);
+
+        // Pick the wave's mobs first, then place them all in one arena pass
+        String[] npcTypes;
+        float[][] multipliers;
+        String[] fb = getFixedCompBases(tier, theme);
+        if (fb != null) {
+            int[] fc = getFixedCompCounts(tier, theme);
+            // Outlander Legendary: 30% of waves get 1 Priest (rare spawn)
+            if (theme == THEME_OUTLANDER && tier == CometTier.LEGENDARY && RANDOM.nextDouble() < 0.3)
+                fc = new int[] { 3, 1, 2, 1 };
+            int total = 0;
+            for (int count : fc)
+                total += count;
+            npcTypes = new String[total];
+            multipliers = new float[total][];
+            int n = 0;
+            for (int i = 0; i < fb.length; i++) {
+                float[] baseMultipliers = WaveThemeProvider.getMobStatMultipliersForWave(themeId, tier, 0, fb[i]);
+                for (int j = 0; j < fc[i]; j++) {
+                    npcTypes[n] = applyTierSuffix(fb[i], tier);
+                    multipliers[n++] = baseMultipliers;
+                }
+            }
+        } else {
+            int[] picked = pickPlanMobs(plan);
+            npcTypes = new String[picked.length];
+            multipliers = new float[picked.length][];
+            int rangedCount = 0;
+            for (int i = 0; i < picked.length; i++) {
+                String npcType;
+                if (tier == CometTier.UNCOMMON && theme == THEME_SKELETON) {
+                    if (i < 3)
+                        npcType = applyTierSuffix("Skeleton_Soldier", tier);
+                    else
+                        npcType = applyTierSuffix(RANDOM.nextBoolean() ? "Skeleton_Archer" : "Skeleton_Archmage", tier);
+                    multipliers[i] = WaveThemeProvider.getMobStatMultipliersForWave(themeId, tier, 0, npcType);
+                } else if (theme == THEME_OUTLANDER && tier == CometTier.EPIC && rangedCount < MAX_RANGED_PER_WAVE
+                        && RANDOM.nextDouble() < 0.05) {
+                    // Outlander Epic: Priest is a rare spawn (5% per slot)
+                    npcType = applyTierSuffix("Outlander_Priest", tier);
+                    multipliers[i] = WaveThemeProvider.getMobStatMultipliersForWave(themeId, tier, 0, npcType);
+                } else {
+                    // Mob IDs are base IDs without tier suffixes
+                    npcType = plan.getRoleId(picked[i]);
+                    multipliers[i] = plan.getMultipliers(picked[i]);
+                    if (plan.isRanged(picked[i]))
+                        rangedCount++;
+                }
+                npcTypes[i] = npcType;
+            }
+        }
+
+        int scaledCount = scaledMobCount(waveData, npcTypes.length);
+        if (scaledCount < npcTypes.length) {
+            npcTypes = Arrays.copyOf(npcTypes, scaledCount);
+            multipliers = Arrays.copyOf(multipliers, scaledCount);
+        }
+
+        CometArenaSolver.Arena arena = prepareArena(worldOf(waveData.store), blockPos);
+        LOGGER.info("Prepared " + npcTypes.length + " mobs out of " + waveMobCount + " planned for tier "
+                + tier.getName() + " theme " + themeId);
+        return new PreparedWave(0, arena, placeInArena(waveData, 0, arena, npcTypes, multipliers, themeId, tier),
+                plan.getMaxAlive());
+    }
+
+    /**
+     * Place a wave's mobs around the comet with one CometArenaSolver pass,
+     * facing the comet
+     *
+     * @return The wave's spawns, ready to queue
+     */
+    private List<CometSpawnQueue.PendingSpawn> placeInArena(WaveData waveData, int waveIndex,
+            CometArenaSolver.Arena arena, String[] npcTypes, float[][] multipliers, String themeId, CometTier tier) {
+        com.hypixel.hytale.math.shape.Box[] boxes = new com.hypixel.hytale.math.shape.Box[npcTypes.length];
+        for (int i = 0; i < boxes.length; i++) {
+            boxes[i] = spawnBoxFor(npcTypes[i], multipliers[i]);
+        }
+        Vector3d centerPos = arena.getCenter();
+        Vector3d[] positions = CometArenaSolver.solve(arena, boxes, RANDOM.nextDouble() * 2.0 * Math.PI);
+
+        List<CometSpawnQueue.PendingSpawn> spawns = new ArrayList<>(positions.length);
+        for (int i = 0; i < positions.length; i++) {
+            String npcType = npcTypes[i];
+            Vector3d toSpawn = positions[i];
+            if (toSpawn == null) {
+                LOGGER.info("No valid mob spawn in arena around " + centerPos + ", skipping: " + npcType);
+                continue;
+            }
+            Vector3f rotation = new Vector3f(0.0f, CometArenaSolver.yawTowardCenter(centerPos, toSpawn), 0.0f);
+            addPendingSpawn(spawns, waveData, waveIndex, npcType, multipliers[i], toSpawn, rotation, themeId, tier,
+                    false);
+        }
+        return spawns;
+    }
+
+    /**
+     * Resolve a placed mob's role and add it to a wave's spawns; roles the NPC
+     * plugin does not know are dropped here instead of failing at spawn time
+     */
+    private static void addPendingSpawn(List<CometSpawnQueue.PendingSpawn> spawns, WaveData waveData,
+            int waveIndex, String npcType, float[] multipliers, Vector3d position, Vector3f rotation,
+            String themeId, CometTier tier, boolean isBoss) {
+        NPCPlugin npcPlugin = NPCPlugin.get();
+        int roleIndex = npcPlugin != null ? npcPlugin.getIndex(npcType) : -1;
+        if (roleIndex < 0) {
+            LOGGER.warning("Unknown NPC role, skipping: " + npcType);
+            return;
+        }
+        spawns.add(new CometSpawnQueue.PendingSpawn(waveData, waveIndex, npcType, roleIndex, multipliers, position,
+                rotation, themeId, tier, isBoss));
+    }
+
+    /**
+     * Pick the mobs of a normal wave in random order, keeping the plan's counts
+     * but spawning at most MAX_RANGED_PER_WAVE ranged mobs; extra ranged slots
+     * go to the first melee mob in the shuffled order
+     *
+     * @return Plan mob index for each slot
+     */
+    private static int[] pickPlanMobs(com.cometmod.config.WavePlan plan) {
+        int[] order = new int[plan.getMobCount()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        for (int i = order.length - 1; i > 0; i--) {
+            int j = RANDOM.nextInt(i + 1);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+
+        int melee = -1;
+        for (int mob : order) {
+            if (!plan.isRanged(mob)) {
+                melee = mob;
+                break;
+            }
+        }
+        int rangedCount = 0;
+        for (int i = 0; i < order.length; i++) {
+            if (!plan.isRanged(order[i])) {
+                continue;
+            }
+            if (rangedCount >= MAX_RANGED_PER_WAVE && melee >= 0) {
+                order[i] = melee;
+            } else {
+                rangedCount++;
+            }
+        }
+        return order;
+    }
+
+    // ========== WAVE PREPARATION ==========
+
+    /**
+     * Build a wave's spawns without spawning anything
+     *
+     * @return The prepared wave, or null if it has nothing to spawn
+     */
+    private PreparedWave prepareWave(WaveData waveData, int waveIndex) {
+        if (waveIndex == 0) {
+            return prepareFirstWave(waveData);
+        }
+        String themeId = themeOf(waveData.blockPos);
+        if (themeId == null) themeId = "skeleton";
+        com.cometmod.config.WavePlan plan = WaveThemeProvider.getWavePlan(themeId, waveData.tier, waveIndex);
+        boolean bossWave = plan != null ? plan.isBossWave() : WaveThemeProvider.isWaveBoss(themeId, waveIndex);
+        return bossWave ? prepareBossWave(waveData, plan, waveIndex) : prepareNormalWave(waveData, plan, waveIndex);
+    }
+
+    /**
+     * Prepare a wave on a comet timer, unless it has been prepared already or
+     * the encounter has moved on
+     */
+    private void schedulePrepare(WaveData waveData, int waveIndex, long at) {
+        deadlines.schedule(waveData.blockPos, at, () -> {
+            boolean upcoming = waveIndex == 0 ? waveData.phase == WavePhase.COUNTDOWN
+                    : waveData.currentWaveIndex == waveIndex - 1;
+            if (!isCurrentWave(waveData) || !upcoming
+                    || (waveData.prepared != null && waveData.prepared.waveIndex == waveIndex)) {
+                return;
+            }
+            try {
+                waveData.prepared = prepareWave(waveData, waveIndex);
+            } catch (Exception e) {
+                LOGGER.warning("Error preparing wave " + (waveIndex + 1) + " at " + waveData.blockPos + ": "
+                        + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Take the prepared spawns of a wave that is starting, rebuilding them if
+     * they were not prepared in time or the arena changed since
+     */
+    private PreparedWave takePrepared(WaveData waveData, int waveIndex) {
+        PreparedWave prepared = waveData.prepared;
+        waveData.prepared = null;
+        if (prepared != null && prepared.waveIndex == waveIndex
+                && prepared.arena == prepareArena(worldOf(waveData.store), waveData.blockPos)) {
+            return prepared;
+        }
+        return prepareWave(waveData, waveIndex);
+    }
 
-        if (mobList == null || mobList.length == 0) {
-            LOGGER.warning("No mobs available for tier " + tier.getName() + " theme " + themeId);
+    /**
+     * Queue a prepared wave for spawning, refresh the HUD and start preparing
+     * the wave after it
+     */
+    private void releaseWave(WaveData waveData, PreparedWave prepared) {
+        if (prepared == null) {
             return;
         }
+        waveData.maxAlive = prepared.maxAlive;
+        checkpointDirty = true;
+        // Never have more alive than the NPCs reserved from the server-wide budget
+        if (waveData.admittedNpcs > 0 && CometNpcBudget.isLimited()) {
+            waveData.maxAlive = waveData.maxAlive > 0 ? Math.min(waveData.maxAlive, waveData.admittedNpcs)
+                    : waveData.admittedNpcs;
+        }
+        enqueueSpawns(waveData, prepared.spawns);
 
-        // Get tier-specific spawn radius from config
-        double[] radiusRange = WaveThemeProvider.getSpawnRadius(tier);
-        double minRadius = radiusRange[0];
-        double maxRadius = radiusRange[1];
+        waveData.initialSpawnCount = waveData.spawnedMobs.size() + waveData.pendingSpawns;
+        waveData.previousRemainingCount = waveData.initialSpawnCount;
+        LOGGER.info("Queued " + waveData.initialSpawnCount + " mobs for wave " + waveData.currentWave);
 
-        // Use actual mobList length for tier-specific counts
-        int waveMobCount = mobList.length;
+        // Start tracking and force immediate title update
+        waveData.lastTimerUpdate = 0;
+        updateWaveCountdown(waveData.store, waveData.playerRef, waveData);
 
-        // Shuffle mobList to randomize spawn order while maintaining exact counts
-        java.util.List<String> mobListShuffled = new java.util.ArrayList<>(java.util.Arrays.asList(mobList));
-        java.util.Collections.shuffle(mobListShuffled, RANDOM);
-        mobList = mobListShuffled.toArray(new String[0]);
+        if (waveData.hasMoreWaves()) {
+            schedulePrepare(waveData, waveData.currentWaveIndex + 1,
+                    System.currentTimeMillis() + NEXT_WAVE_PREPARE_DELAY_MS);
+        }
+    }
 
-        // Get legacy theme integer for backwards compatibility with fixed composition
-        // logic
-        int theme = getLegacyThemeIndex(themeId);
+    // ========== SPAWN QUEUE ==========
 
-        // Track ranged mobs - max 1 ranged per wave for ALL tiers
-        int rangedCount = 0;
-        // All ranged mob identifiers across all tiers
-        String[] rangedMobs = {
-                "Archer", "Archmage", "Lobber", "Shaman", "Mage", "Ranger",
-                "Hunter", "Stalker", "Priest", "Gunner", "Alchemist"
-        };
+    /**
+     * Hand a wave's placed mobs to the spawn queue; they count as remaining
+     * right away
+     */
+    private void enqueueSpawns(WaveData waveData, List<CometSpawnQueue.PendingSpawn> spawns) {
+        waveData.pendingSpawns += spawns.size();
+        spawnQueue.enqueue(spawns);
+    }
 
-        com.hypixel.hytale.server.core.universe.world.World world = null;
-        try {
-            world = ((com.hypixel.hytale.server.core.universe.world.storage.EntityStore) store.getExternalData())
-                    .getWorld();
-        } catch (Exception e) {
-            LOGGER.warning("Could not get World for mob spawn validation: " + e.getMessage());
+    /**
+     * Spawn queued wave mobs within this tick's budget (config
+     * waveSpawnsPerTick / waveSpawnMicrosPerTick)
+     */
+    private void drainSpawnQueue(long now) {
+        if (spawnQueue.size() == 0) {
+            return;
         }
+        CometConfig config = CometConfig.getInstance();
+        int maxSpawns = config != null ? config.waveSpawnsPerTick : 4;
+        long maxNanos = (config != null ? config.waveSpawnMicrosPerTick : 2000) * 1000L;
+        spawnQueue.drain(now, maxSpawns, maxNanos, this::readyToSpawn, this::spawnQueued);
+    }
 
-        List<Vector3d> successPositions = new ArrayList<>();
-        List<FailedSpawnInfo> failedSpawns = new ArrayList<>();
+    /**
+     * @return false while the spawn's wave is dormant or has as many mobs alive
+     *         as its maxAlive allows; the rest are fed in as those die
+     */
+    private boolean readyToSpawn(CometSpawnQueue.PendingSpawn spawn) {
+        WaveData waveData = spawn.wave;
+        if (waveData.phase == WavePhase.DORMANT) {
+            return false;
+        }
+        return waveData.maxAlive <= 0 || waveData.currentWaveIndex != spawn.waveIndex
+                || waveData.aliveCount < waveData.maxAlive;
+    }
 
-        // Spawn mobs in a circle around the comet
-        String[] fb = getFixedCompBases(tier, theme);
-        if (fb != null) {
-            int[] fc = getFixedCompCounts(tier, theme);
-            // Outlander Legendary: 30% of waves get 1 Priest (rare spawn)
-            if (theme == THEME_OUTLANDER && tier == CometTier.LEGENDARY && RANDOM.nextDouble() < 0.3)
-                fc = new int[] { 3, 1, 2, 1 };
-            int idx = 0;
-            for (int i = 0; i < fb.length; i++) {
-                for (int j = 0; j < fc[i]; j++) {
-                    double angle = (2.0 * Math.PI * idx) / waveMobCount;
-                    double radius = minRadius + (Math.random() * (maxRadius - minRadius));
-                    Vector3d spawnPos = new Vector3d(centerPos.x + Math.cos(angle) * radius, centerPos.y,
-                            centerPos.z + Math.sin(angle) * radius);
-                    Vector3d toSpawn = spawnPos;
-                    if (world != null) {
-                        Vector3d v = CometSpawnUtil.findValidMobSpawn(world, spawnPos, 11);
-                        if (v != null)
-                            toSpawn = v;
-                        else {
-                            String npc = applyTierSuffix(fb[i], tier);
-                            failedSpawns.add(new FailedSpawnInfo(npc,
-                                    new Vector3f(0.0f, (float) (angle + Math.PI), 0.0f), isRangedMob(npc)));
-                            LOGGER.info("No valid mob spawn at " + spawnPos + ", will retry near success: " + npc);
-                            idx++;
-                            continue;
-                        }
-                    }
-                    Vector3f rot = new Vector3f(0.0f, (float) (angle + Math.PI), 0.0f);
-                    String npcType = applyTierSuffix(fb[i], tier);
-                    String baseMobId = fb[i]; // Base mob ID for config lookup
-                    Pair<Ref<EntityStore>, com.hypixel.hytale.server.core.universe.world.npc.INonPlayerCharacter> res = spawnCometNPC(
-                            store, npcPlugin, npcType, baseMobId, toSpawn, rot, themeId, tier, false);
-                    if (res != null && res.first() != null) {
-                        waveData.spawnedMobs.add(res.first());
-                        successPositions.add(toSpawn);
-                        LOGGER.info("Spawned " + npcType + " at " + toSpawn);
-                    } else {
-                        LOGGER.warning("Failed to spawn NPC: " + npcType);
-                    }
-                    idx++;
-                }
-            }
-        } else {
-            for (int i = 0; i < waveMobCount; i++) {
-                double angle = (2.0 * Math.PI * i) / waveMobCount;
-                double radius = minRadius + (Math.random() * (maxRadius - minRadius));
-                double x = centerPos.x + Math.cos(angle) * radius;
-                double y = centerPos.y;
-                double z = centerPos.z + Math.sin(angle) * radius;
+    /**
+     * @return false if the spawn's wave has ended or moved on (nothing spawned)
+     */
+    private boolean spawnQueued(CometSpawnQueue.PendingSpawn spawn) {
+        WaveData waveData = spawn.wave;
+        if (!isCurrentWave(waveData) || waveData.currentWaveIndex != spawn.waveIndex
+                || (waveData.phase != WavePhase.SPAWNING && waveData.phase != WavePhase.ACTIVE)) {
+            return false;
+        }
+        waveData.pendingSpawns--;
 
-                Vector3d spawnPos = new Vector3d(x, y, z);
-                Vector3f rotation = new Vector3f(0.0f, (float) (angle + Math.PI), 0.0f);
+        Ref<EntityStore> mobRef = spawnPrepared(spawn);
+        if (mobRef != null) {
+            trackWaveMob(waveData, mobRef, spawn);
+            LOGGER.fine("Spawned " + spawn.npcType + " at " + spawn.position);
+        } else {
+            // Keep the HUD total honest
+            waveData.initialSpawnCount--;
+            LOGGER.warning("Failed to spawn NPC: " + spawn.npcType);
+        }
+        return true;
+    }
 
-                String npcType;
-                if (tier == CometTier.UNCOMMON && theme == THEME_SKELETON) {
-                    if (i < 3)
-                        npcType = applyTierSuffix("Skeleton_Soldier", tier);
-                    else
-                        npcType = applyTierSuffix(RANDOM.nextBoolean() ? "Skeleton_Archer" : "Skeleton_Archmage", tier);
-                } else if (theme == THEME_OUTLANDER && tier == CometTier.EPIC && rangedCount < MAX_RANGED_PER_WAVE
-                        && RANDOM.nextDouble() < 0.05) {
-                    // Outlander Epic: Priest is a rare spawn (5% per slot)
-                    npcType = applyTierSuffix("Outlander_Priest", tier);
-                } else {
-                    // Use shuffled array index to maintain exact counts from config
-                    npcType = mobList[i];
-                    if (rangedCount >= MAX_RANGED_PER_WAVE) {
-                        String nonRangedType = null;
-                        for (String mob : mobList) {
-                            boolean isRanged = false;
-                            for (String ranged : rangedMobs) {
-                                if (mob.contains(ranged)) {
-                                    isRanged = true;
-                                    break;
-                                }
-                            }
-                            if (!isRanged) {
-                                nonRangedType = mob;
-                                break;
-                            }
+    /**
+     * Add a prepared mob to the world. Its comet tag and stat multipliers are
+     * put on the NPC holder before it is added, so the mob enters the world with
+     * its final health, speed and scale.
+     *
+     * @return The spawned mob, or null if the spawn failed
+     */
+    private Ref<EntityStore> spawnPrepared(CometSpawnQueue.PendingSpawn spawn) {
+        NPCPlugin npcPlugin = NPCPlugin.get();
+        if (npcPlugin == null) {
+            return null;
+        }
+        try {
+            Pair<Ref<EntityStore>, ?> result = npcPlugin.spawnEntity(spawn.wave.store, spawn.roleIndex,
+                    spawn.position, spawn.rotation, null, (npc, holder, store) -> {
+                        holder.putComponent(CometMobComponent.getComponentType(), spawn.mobTag);
+                        if (spawn.stats != null) {
+                            CometStatModifierSystem.bakeModifiers(holder, spawn.stats);
                         }
-                        if (nonRangedType != null)
-                            npcType = nonRangedType;
-                    }
-                    for (String ranged : rangedMobs) {
-                        if (npcType.contains(ranged)) {
-                            rangedCount++;
-                            break;
+                        if (!Float.isNaN(spawn.health)) {
+                            CometStatModifierSystem.restoreHealth(holder, spawn.health);
                         }
-                    }
-                }
-
-                Vector3d toSpawn = spawnPos;
-                if (world != null) {
-                    Vector3d v = CometSpawnUtil.findValidMobSpawn(world, spawnPos, 11);
-                    if (v != null)
-                        toSpawn = v;
-                    else {
-                        failedSpawns.add(new FailedSpawnInfo(npcType, rotation, isRangedMob(npcType)));
-                        LOGGER.info("No valid mob spawn at " + spawnPos + ", will retry near success: " + npcType);
-                        continue;
-                    }
-                }
-
-                // Mob IDs are base IDs without tier suffixes
-                Pair<Ref<EntityStore>, com.hypixel.hytale.server.core.universe.world.npc.INonPlayerCharacter> result = spawnCometNPC(
-                        store, npcPlugin, npcType, npcType, toSpawn, rotation, themeId, tier, false);
-                if (result != null && result.first() != null) {
-                    waveData.spawnedMobs.add(result.first());
-                    successPositions.add(toSpawn);
-                    LOGGER.info("Spawned " + npcType + " at " + toSpawn);
-                } else {
-                    LOGGER.warning("Failed to spawn NPC: " + npcType);
-                }
-            }
-        }
-
-        // Retry failed spawns near a successful one
-        if (!failedSpawns.isEmpty() && !successPositions.isEmpty() && world != null) {
-            for (FailedSpawnInfo f : failedSpawns) {
-                Vector3d base = successPositions.get(RANDOM.nextInt(successPositions.size()));
-                double dx = (RANDOM.nextBoolean() ? 1 : -1) * (0.5 + RANDOM.nextDouble());
-                double dz = (RANDOM.nextBoolean() ? 1 : -1) * (0.5 + RANDOM.nextDouble());
-                Vector3d newPref = new Vector3d(base.x + dx, base.y, base.z + dz);
-                Vector3d retryPos = CometSpawnUtil.findValidMobSpawn(world, newPref, 11);
-                if (retryPos != null) {
-                    // Mob IDs are base IDs without tier suffixes
-                    Pair<Ref<EntityStore>, com.hypixel.hytale.server.core.universe.world.npc.INonPlayerCharacter> res = spawnCometNPC(
-                            store, npcPlugin, f.npcType, f.npcType, retryPos, f.rotation, themeId, tier, false);
-                    if (res != null && res.first() != null) {
-                        waveData.spawnedMobs.add(res.first());
-                        successPositions.add(retryPos);
-                        LOGGER.info("Spawned " + f.npcType + " at " + retryPos + " (retry near success)");
-                    }
-                }
-            }
+                    }, null);
+            return result != null ? result.first() : null;
+        } catch (Exception e) {
+            LOGGER.warning("[CometWave] Exception spawning NPC " + spawn.npcType + ": " + e.getMessage());
+            return null;
         }
-
-        // Store the actual number of mobs that were successfully spawned
-        waveData.initialSpawnCount = waveData.spawnedMobs.size();
-        waveData.previousRemainingCount = waveData.initialSpawnCount;
-        LOGGER.info("Successfully spawned " + waveData.initialSpawnCount + " mobs out of " + waveMobCount
-                + " attempted for tier " + tier.getName() + " theme " + themeId);
-
-        // Start tracking and updating UI
-        waveData.lastTimerUpdate = 0;
-        updateWaveCountdown(store, playerRef, waveData);
     }
 
     /**
@@ -1082,24 +1707,6 @@ public class CometWaveManager {
         }
     }
 
-    /**
-     * Get tier-specific timeout in milliseconds
-     */
-    private long getTierTimeout(CometTier tier) {
-        switch (tier) {
-            case UNCOMMON:
-                return TIER1_TIMEOUT;
-            case RARE:
-                return TIER2_TIMEOUT;
-            case EPIC:
-                return TIER3_TIMEOUT;
-            case LEGENDARY:
-                return TIER4_TIMEOUT;
-            default:
-                return TIER1_TIMEOUT;
-        }
-    }
-
     /**
      * Get boss NPC type for tier and theme.
      * Boss selection is based on the theme, but tier suffix is from the comet tier.
@@ -1182,12 +1789,48 @@ public class CometWaveManager {
         return java.util.Collections.singletonList(getBossForTierAndTheme(tier, theme));
     }
 
+    /**
+     * Self-check for a wave's alive slots: any slot whose ref is invalid, dead or no
+     * longer an NPC is marked dead. Normally a no-op since deaths are counted as
+     * they happen.
+     */
+    private void revalidateAliveMobs(Store<EntityStore> store, WaveData waveData) {
+        int corrected = 0;
+        for (int slot = waveData.aliveSlots.nextSetBit(0); slot >= 0; slot = waveData.aliveSlots
+                .nextSetBit(slot + 1)) {
+            Ref<EntityStore> ref = waveData.spawnedMobs.get(slot);
+            if (ref == null && waveData.mobIds.get(slot) != null) {
+                continue; // Recovered mob waiting to be reattached
+            }
+            boolean alive = false;
+            try {
+                alive = ref != null && ref.isValid()
+                        && store.getComponent(ref,
+                                com.hypixel.hytale.server.core.modules.entity.damage.DeathComponent
+                                        .getComponentType()) == null
+                        && store.getComponent(ref,
+                                com.hypixel.hytale.server.npc.entities.NPCEntity.getComponentType()) != null;
+            } catch (Exception e) {
+                // Treat unreadable refs as gone
+            }
+            if (!alive && waveData.markDead(slot)) {
+                if (ref != null) {
+                    mobWaveIndex.remove(ref);
+                }
+                corrected++;
+            }
+        }
+        if (corrected > 0) {
+            LOGGER.info("Self-check corrected " + corrected + " missed mob deaths in wave at " + waveData.blockPos);
+        }
+    }
+
     public void updateWaveCountdown(Store<EntityStore> store, Ref<EntityStore> playerRef, WaveData waveData) {
         // Attempt to re-find the player if their reference is invalid (e.g. died and
         // respawned)
         Ref<EntityStore> currentPlayerRef = playerRef;
         if (currentPlayerRef == null || !currentPlayerRef.isValid()) {
-            java.util.UUID ownerUUID = cometOwners.get(waveData.blockPos);
+            java.util.UUID ownerUUID = getCometOwner(waveData.blockPos);
             if (ownerUUID != null) {
                 try {
                     com.hypixel.hytale.server.core.universe.world.World world = ((com.hypixel.hytale.server.core.universe.world.storage.EntityStore) store
@@ -1216,80 +1859,30 @@ public class CometWaveManager {
                 ? store.getComponent(currentPlayerRef, PlayerRef.getComponentType())
                 : null;
 
-        // Count remaining mobs - check for DeathComponent (more reliable than
-        // EntityRemoveEvent)
-        // Remove dead mobs (those with DeathComponent) and invalid refs
-        int beforeCleanup = waveData.spawnedMobs.size();
-        waveData.spawnedMobs.removeIf(ref -> {
-            if (ref == null || !ref.isValid()) {
-                return true; // Remove invalid refs
-            }
-            // Check if entity has DeathComponent (is dead)
-            com.hypixel.hytale.server.core.modules.entity.damage.DeathComponent deathComponent = store.getComponent(ref,
-                    com.hypixel.hytale.server.core.modules.entity.damage.DeathComponent.getComponentType());
-            if (deathComponent != null) {
-                LOGGER.info("Found dead mob in wave at " + waveData.blockPos);
-                return true; // Remove dead mobs
-            }
-            return false; // Keep alive mobs
-        });
-        int afterCleanup = waveData.spawnedMobs.size();
-        if (beforeCleanup != afterCleanup) {
-            LOGGER.info("Cleaned up " + (beforeCleanup - afterCleanup) + " dead/invalid mob refs");
-        }
-
-        // Count remaining alive mobs
-        int remaining = 0;
-        for (Ref<EntityStore> mobRef : waveData.spawnedMobs) {
-            if (mobRef != null && mobRef.isValid()) {
-                // Double-check it's not dead
-                com.hypixel.hytale.server.core.modules.entity.damage.DeathComponent deathComponent = store.getComponent(
-                        mobRef, com.hypixel.hytale.server.core.modules.entity.damage.DeathComponent.getComponentType());
-                if (deathComponent == null) {
-                    // Not dead, check if it's still an NPC
-                    com.hypixel.hytale.server.npc.entities.NPCEntity npc = store.getComponent(mobRef,
-                            com.hypixel.hytale.server.npc.entities.NPCEntity.getComponentType());
-                    if (npc != null) {
-                        remaining++;
-                    }
-                }
-            }
+        // Remaining mobs come from the incremental alive counter. A full component
+        // check runs only occasionally, to catch deaths whose events were missed
+        // (e.g. mobs removed while their chunk was unloaded).
+        long now = System.currentTimeMillis();
+        if (now - waveData.lastRevalidation >= WAVE_REVALIDATE_INTERVAL_MS) {
+            waveData.lastRevalidation = now;
+            revalidateAliveMobs(store, waveData);
         }
-
-        LOGGER.info("Wave at " + waveData.blockPos + ": " + remaining + " mobs remaining (out of "
-                + waveData.spawnedMobs.size() + " in list)");
+        // Queued mobs count as remaining so the HUD total holds while the wave fills in
+        int remaining = waveData.aliveCount + waveData.pendingSpawns;
 
         // Check if mob count changed (real-time detection)
         boolean mobCountChanged = (remaining != waveData.previousRemainingCount);
         waveData.remainingCount = remaining;
         waveData.previousRemainingCount = remaining;
 
-        // Get tier-specific timeout from config
-        CometTier tier = cometTiers.getOrDefault(waveData.blockPos, CometTier.UNCOMMON);
-        long tierTimeout = WaveThemeProvider.getTimeoutMillis(tier);
-
-        // Check if wave has exceeded tier-specific timeout
-        long currentTime = System.currentTimeMillis();
-        long elapsedTime = currentTime - waveData.startTime;
-        long remainingTime = tierTimeout - elapsedTime;
+        // Remaining wave time on the tier's wave clock
+        long tierTimeout = waveData.timeoutMs > 0 ? waveData.timeoutMs
+                : WaveThemeProvider.getTimeoutMillis(tierOf(waveData.blockPos));
+        long currentTime = now;
+        long remainingTime = tierTimeout - waveData.clockMs;
 
-        if (remainingTime <= 0) {
-            LOGGER.warning("Wave at " + waveData.blockPos + " exceeded " + (tierTimeout / 1000)
-                    + " second timeout! Destroying comet.");
-            // Timeout reached - destroy comet and clean up
-            // Must execute on WorldThread
-            try {
-                com.hypixel.hytale.server.core.universe.world.World world = ((com.hypixel.hytale.server.core.universe.world.storage.EntityStore) store
-                        .getExternalData()).getWorld();
-                final Store<EntityStore> finalStore = store;
-                final WaveData finalWaveData = waveData;
-                world.execute(() -> {
-                    destroyCometOnTimeout(finalStore, finalWaveData);
-                });
-            } catch (Exception e) {
-                LOGGER.warning("Error executing timeout on WorldThread: " + e.getMessage());
-            }
-            return;
+        if (remainingTime < 0) {
+            remainingTime = 0; // Timeout itself is handled by tickWave
         }
 
         // Calculate killed count using actual initial spawn count
@@ -1315,7 +1908,7 @@ public class CometWaveManager {
                 Message secondaryTitle;
 
                 // Determine wave type for display
-                String themeId = cometThemes.get(waveData.blockPos);
+                String themeId = themeOf(waveData.blockPos);
                 boolean isBossWave = WaveThemeProvider.isWaveBoss(themeId, waveData.currentWaveIndex);
 
                 if (isBossWave) {
@@ -1351,25 +1944,399 @@ public class CometWaveManager {
             }
         }
 
-        // If all mobs are dead, check if we need to spawn next wave or complete
-        if (remaining == 0) {
-            if (waveData.hasMoreWaves()) {
-                // More waves to spawn - advance to next wave
-                LOGGER.info("=== Wave " + waveData.currentWave + " complete! Spawning wave " +
-                        (waveData.currentWave + 1) + "/" + waveData.totalWaveCount + " at " + waveData.blockPos + " ===");
-                spawnNextWave(store, playerRef, waveData);
-                // Don't continue processing - spawnNextWave will handle the next update
-                return;
-            } else {
-                // All waves complete - finish the comet
-                LOGGER.info("=== All " + waveData.totalWaveCount + " waves defeated! Completing comet at " +
-                        waveData.blockPos + " ===");
-                completeWave(store, playerRefComponent, waveData);
+        // Wave transitions and completion are handled by tickWave once the alive
+        // count reaches zero
+    }
+
+    /**
+     * Remove mobs from the world through one command buffer
+     *
+     * @return Number of mobs removed
+     */
+    private static int despawnMobs(Store<EntityStore> store, List<Ref<EntityStore>> mobRefs) {
+        int despawned = 0;
+        try {
+            java.lang.reflect.Method takeMethod = store.getClass().getDeclaredMethod("takeCommandBuffer");
+            takeMethod.setAccessible(true);
+            com.hypixel.hytale.component.CommandBuffer<EntityStore> cb = (com.hypixel.hytale.component.CommandBuffer<EntityStore>) takeMethod
+                    .invoke(store);
+            if (cb != null) {
+                for (Ref<EntityStore> mobRef : mobRefs) {
+                    if (mobRef != null && mobRef.isValid()) {
+                        try {
+                            cb.removeEntity(mobRef, com.hypixel.hytale.component.RemoveReason.REMOVE);
+                            despawned++;
+                        } catch (Exception e) {
+                            LOGGER.warning("Failed to remove wave mob: " + e.getMessage());
+                        }
+                    }
+                }
+                java.lang.reflect.Method consumeMethod = cb.getClass().getDeclaredMethod("consume");
+                consumeMethod.setAccessible(true);
+                consumeMethod.invoke(cb);
+            }
+        } catch (Exception e) {
+            LOGGER.warning("Could not get CommandBuffer to despawn wave mobs: " + e.getMessage());
+        }
+        return despawned;
+    }
+
+    // ========== DORMANT WAVES ==========
+
+    /**
+     * @return true if the comet's chunk is loaded and a player is within reach
+     *         of its arena. Errs on the side of staying awake.
+     */
+    private boolean isArenaOccupied(WaveData waveData) {
+        com.hypixel.hytale.server.core.universe.world.World world = worldOf(waveData.store);
+        if (world == null) {
+            return true;
+        }
+        Vector3i pos = waveData.blockPos;
+        try {
+            if (world.getChunkIfInMemory(com.hypixel.hytale.math.util.ChunkUtil.indexChunkFromBlock(pos.x, pos.z)) == null) {
+                return false;
+            }
+            double reach = WaveThemeProvider.getSpawnRadius(waveData.tier)[1] + ARENA_LEAVE_MARGIN;
+            for (com.hypixel.hytale.server.core.entity.entities.Player player : world.getPlayers()) {
+                Ref<EntityStore> ref = player.getReference();
+                if (ref == null || !ref.isValid()) {
+                    continue;
+                }
+                com.hypixel.hytale.server.core.modules.entity.component.TransformComponent transform = waveData.store
+                        .getComponent(ref,
+                                com.hypixel.hytale.server.core.modules.entity.component.TransformComponent.getComponentType());
+                if (transform == null) {
+                    continue;
+                }
+                Vector3d playerPos = transform.getPosition();
+                double dx = playerPos.x - (pos.x + 0.5);
+                double dz = playerPos.z - (pos.z + 0.5);
+                if (dx * dx + dz * dz <= reach * reach) {
+                    return true;
+                }
+            }
+        } catch (Exception e) {
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Put an abandoned wave to sleep: snapshot each surviving mob's role,
+     * position and health, despawn it, pause the wave timer and give back its
+     * NPC reservation. Mobs whose entity is already unloaded with its chunk
+     * cannot be despawned; they stay alive as unattached slots and are
+     * reattached by UUID once they load again.
+     */
+    private void hibernateWave(WaveData waveData, long now) {
+        List<CometSpawnQueue.PendingSpawn> snapshot = new ArrayList<>(waveData.aliveCount);
+        List<Ref<EntityStore>> toDespawn = new ArrayList<>(waveData.aliveCount);
+        for (int slot = waveData.aliveSlots.nextSetBit(0); slot >= 0; slot = waveData.aliveSlots
+                .nextSetBit(slot + 1)) {
+            CometSpawnQueue.PendingSpawn origin = waveData.mobSpawns.get(slot);
+            if (origin == null) {
+                continue; // Spawned directly: stays in the world
+            }
+            Ref<EntityStore> ref = waveData.spawnedMobs.get(slot);
+            if (ref == null && waveData.mobIds.get(slot) != null) {
+                continue; // Recovered mob not loaded yet: reattached when it is
+            }
+            if (ref != null && !ref.isValid()) {
+                // Unloaded with its chunk: the saved entity comes back with the
+                // chunk, so track it by UUID instead of respawning a copy
+                mobWaveIndex.remove(ref);
+                waveData.spawnedMobs.set(slot, null);
+                java.util.UUID mobId = waveData.mobIds.get(slot);
+                if (mobId != null) {
+                    if (waveData.unattached++ == 0) {
+                        waveData.unattachedSince = now;
+                    }
+                    unattachedMobs.put(mobId, new WaveMobEntry(waveData, slot));
+                } else {
+                    waveData.markDead(slot); // Cannot be found again: drop it from the wave
+                }
+                continue;
+            }
+            Vector3d position = origin.position;
+            Vector3f rotation = origin.rotation;
+            float health = Float.NaN;
+            if (ref != null) {
+                try {
+                    com.hypixel.hytale.server.core.modules.entity.component.TransformComponent transform = waveData.store
+                            .getComponent(ref,
+                                    com.hypixel.hytale.server.core.modules.entity.component.TransformComponent.getComponentType());
+                    if (transform != null) {
+                        Vector3d current = transform.getPosition();
+                        position = new Vector3d(current.x, current.y, current.z);
+                    }
+                    health = CometStatModifierSystem.readHealth(waveData.store, ref);
+                } catch (Exception e) {
+                    // Keep the spawn position
+                }
+                toDespawn.add(ref);
+            }
+            snapshot.add(new CometSpawnQueue.PendingSpawn(origin, position, rotation, health));
+            // Unindex first so the removal is not taken for a kill
+            if (ref != null) {
+                mobWaveIndex.remove(ref);
+            }
+            waveData.markDead(slot);
+        }
+
+        int despawned = despawnMobs(waveData.store, toDespawn);
+        waveData.dormantMobs = snapshot;
+        waveData.enterPhase(WavePhase.DORMANT, now);
+        // Nothing of the wave is alive while it sleeps; it is readmitted on waking
+        releaseBudget(waveData);
+        checkpointDirty = true;
+        LOGGER.info("Wave at " + waveData.blockPos + " went dormant: " + snapshot.size() + " mobs snapshotted, "
+                + despawned + " despawned");
+    }
+
+    /**
+     * Bring a dormant wave back: requeue its snapshotted mobs and resume the
+     * wave clock where it was paused. The wave must have been readmitted.
+     */
+    private void wakeWave(WaveData waveData, long now) {
+        waveData.clockUpdatedAt = now;
+        waveData.enterPhase(WavePhase.ACTIVE, now);
+        List<CometSpawnQueue.PendingSpawn> snapshot = waveData.dormantMobs;
+        waveData.dormantMobs = null;
+        checkpointDirty = true;
+        if (snapshot != null) {
+            enqueueSpawns(waveData, snapshot);
+        }
+        waveData.lastTimerUpdate = 0;
+        updateWaveCountdown(waveData.store, waveData.playerRef, waveData);
+        LOGGER.info("Wave at " + waveData.blockPos + " woke up, restoring "
+                + (snapshot != null ? snapshot.size() : 0) + " mobs");
+    }
+
+    // ========== CHECKPOINT AND RECOVERY ==========
+
+    /**
+     * Write every running wave to the checkpoint: its wave index, elapsed time,
+     * theme, participants, the UUIDs of its surviving mobs and the mobs it still
+     * has to spawn
+     */
+    private void writeCheckpoint(long now) {
+        checkpointDirty = false;
+        lastCheckpoint = now;
+        if (checkpoint == null) {
+            return;
+        }
+        List<CometWaveCheckpoint.WaveState> waves = new ArrayList<>();
+        for (CometRecord record : registry.snapshotWaves()) {
+            WaveData waveData = record.getWave();
+            if (waveData == null || waveData.phase == WavePhase.QUEUED || waveData.phase == WavePhase.COUNTDOWN) {
+                continue; // Not started yet: reactivated by hand after a restart
+            }
+            CometWaveCheckpoint.WaveState wave = new CometWaveCheckpoint.WaveState();
+            wave.pos = waveData.blockPos;
+            wave.tier = waveData.tier.getName();
+            wave.themeId = record.getThemeId();
+            wave.owner = record.getOwner();
+            wave.player = waveData.playerId;
+            wave.waveIndex = waveData.currentWaveIndex;
+            wave.totalWaves = waveData.totalWaveCount;
+            wave.initialSpawnCount = waveData.initialSpawnCount;
+            wave.elapsedMs = waveData.clockMs;
+            for (int slot = waveData.aliveSlots.nextSetBit(0); slot >= 0; slot = waveData.aliveSlots
+                    .nextSetBit(slot + 1)) {
+                CometSpawnQueue.PendingSpawn origin = waveData.mobSpawns.get(slot);
+                java.util.UUID mobId = waveData.mobIds.get(slot);
+                if (origin != null && mobId != null) {
+                    wave.mobs.add(toMobState(origin, mobId));
+                }
+            }
+            List<CometSpawnQueue.PendingSpawn> pending = new ArrayList<>();
+            if (waveData.dormantMobs != null) {
+                pending.addAll(waveData.dormantMobs);
+            }
+            spawnQueue.collect(waveData, waveData.currentWaveIndex, pending);
+            for (CometSpawnQueue.PendingSpawn spawn : pending) {
+                wave.pending.add(toMobState(spawn, null));
+            }
+            waves.add(wave);
+        }
+        checkpoint.submit(waves);
+    }
+
+    /**
+     * @return The checkpoint state of a queued (mobId null) or spawned mob.
+     *         Spawns are immutable, so the state (and the JSON the writer makes
+     *         of it) is reused by every checkpoint until the mob changes.
+     */
+    private static CometWaveCheckpoint.MobState toMobState(CometSpawnQueue.PendingSpawn spawn, java.util.UUID mobId) {
+        CometWaveCheckpoint.MobState cached = spawn.checkpointState;
+        if (cached != null && java.util.Objects.equals(cached.id, mobId)) {
+            return cached;
+        }
+        CometWaveCheckpoint.MobState mob = new CometWaveCheckpoint.MobState();
+        mob.id = mobId;
+        mob.role = spawn.npcType;
+        mob.boss = spawn.mobTag.isBoss();
+        mob.x = spawn.position.x;
+        mob.y = spawn.position.y;
+        mob.z = spawn.position.z;
+        mob.health = spawn.health;
+        if (spawn.stats != null) {
+            mob.multipliers = new float[] { spawn.stats.getHpMultiplier(), spawn.stats.getDamageMultiplier(),
+                    spawn.stats.getScaleMultiplier(), spawn.stats.getSpeedMultiplier() };
+        }
+        spawn.checkpointState = mob;
+        return mob;
+    }
+
+    /**
+     * Rebuild a checkpointed mob as a spawn of a recovered wave
+     *
+     * @return The spawn, or null if the NPC plugin no longer knows its role
+     */
+    private static CometSpawnQueue.PendingSpawn fromMobState(WaveData waveData, CometWaveCheckpoint.MobState mob,
+            String themeId) {
+        NPCPlugin npcPlugin = NPCPlugin.get();
+        int roleIndex = npcPlugin != null && mob.role != null ? npcPlugin.getIndex(mob.role) : -1;
+        if (roleIndex < 0) {
+            return null;
+        }
+        Vector3d position = new Vector3d(mob.x, mob.y, mob.z);
+        Vector3d center = new Vector3d(waveData.blockPos.x + 0.5, waveData.blockPos.y + 1, waveData.blockPos.z + 0.5);
+        Vector3f rotation = new Vector3f(0.0f, CometArenaSolver.yawTowardCenter(center, position), 0.0f);
+        CometSpawnQueue.PendingSpawn spawn = new CometSpawnQueue.PendingSpawn(waveData, waveData.currentWaveIndex,
+                mob.role, roleIndex, mob.multipliers, position, rotation, themeId, waveData.tier, mob.boss);
+        return Float.isNaN(mob.health) ? spawn : new CometSpawnQueue.PendingSpawn(spawn, position, rotation, mob.health);
+    }
+
+    /**
+     * Restore the waves that were running when the server stopped. Each comet
+     * gets its wave back at the checkpointed index and elapsed time; surviving
+     * mobs are matched to their entities by UUID as their chunks load (no world
+     * scan), and mobs that had not spawned yet are queued again.
+     *
+     * @return Number of waves recovered
+     */
+    public int recoverWaves(Store<EntityStore> store) {
+        if (checkpoint == null) {
+            return 0;
+        }
+        long now = System.currentTimeMillis();
+        int recovered = 0;
+        for (CometWaveCheckpoint.WaveState wave : checkpoint.load()) {
+            try {
+                if (recoverWave(store, wave, now)) {
+                    recovered++;
+                }
+            } catch (Exception e) {
+                LOGGER.warning("Error recovering wave at " + wave.pos + ": " + e.getMessage());
+            }
+        }
+        checkpointDirty = true;
+        if (recovered > 0) {
+            LOGGER.info("Recovered " + recovered + " in-progress comet waves from checkpoint");
+        }
+        return recovered;
+    }
+
+    private boolean recoverWave(Store<EntityStore> store, CometWaveCheckpoint.WaveState wave, long now) {
+        if (wave.pos == null || wave.themeId == null) {
+            return false;
+        }
+        CometTier tier = CometTier.fromString(wave.tier);
+        CometRecord record = registry.getOrCreate(wave.pos);
+        record.setTier(tier);
+        record.setThemeId(wave.themeId);
+        if (wave.owner != null) {
+            record.setOwner(wave.owner);
+        }
+
+        WaveData waveData = new WaveData(store, wave.pos, null, tier);
+        waveData.playerId = wave.player;
+        waveData.currentWaveIndex = wave.waveIndex;
+        waveData.currentWave = wave.waveIndex + 1;
+        waveData.totalWaveCount = wave.totalWaves;
+        waveData.themeName = WaveThemeProvider.getThemeName(wave.themeId);
+        if (!record.beginWave(waveData)) {
+            return false;
+        }
+
+        for (CometWaveCheckpoint.MobState mob : wave.mobs) {
+            if (mob.id == null) {
+                continue;
+            }
+            int slot = waveData.addMob(null, fromMobState(waveData, mob, wave.themeId), mob.id);
+            if (waveData.unattached++ == 0) {
+                waveData.unattachedSince = now;
+            }
+            unattachedMobs.put(mob.id, new WaveMobEntry(waveData, slot));
+        }
+        List<CometSpawnQueue.PendingSpawn> pending = new ArrayList<>();
+        for (CometWaveCheckpoint.MobState mob : wave.pending) {
+            CometSpawnQueue.PendingSpawn spawn = fromMobState(waveData, mob, wave.themeId);
+            if (spawn != null) {
+                pending.add(spawn);
+            }
+        }
+        enqueueSpawns(waveData, pending);
+        waveData.initialSpawnCount = Math.max(wave.initialSpawnCount, waveData.aliveCount + waveData.pendingSpawns);
+        waveData.previousRemainingCount = waveData.aliveCount + waveData.pendingSpawns;
+
+        // Running waves already hold their NPCs, so they are counted without waiting
+        waveData.admittedNpcs = CometNpcBudget.reserve(estimatePeakNpcs(wave.themeId, tier));
+        waveData.enterPhase(WavePhase.ACTIVE, now);
+        armTimeout(waveData, Math.max(0, wave.elapsedMs), now);
+        if (waveData.hasMoreWaves()) {
+            schedulePrepare(waveData, waveData.currentWaveIndex + 1, now + NEXT_WAVE_PREPARE_DELAY_MS);
+        }
+        LOGGER.info("Recovered wave " + waveData.currentWave + "/" + waveData.totalWaveCount + " at " + wave.pos
+                + " (" + waveData.unattached + " mobs to reattach, " + pending.size() + " to respawn)");
+        return true;
+    }
+
+    /**
+     * Match a recovered wave's mobs to their entities by UUID once their chunk
+     * has loaded them
+     */
+    private void reattachMobs(WaveData waveData) {
+        EntityStore entityStore = (EntityStore) waveData.store.getExternalData();
+        for (int slot = waveData.aliveSlots.nextSetBit(0); slot >= 0 && waveData.unattached > 0; slot = waveData.aliveSlots
+                .nextSetBit(slot + 1)) {
+            java.util.UUID mobId = waveData.mobIds.get(slot);
+            if (waveData.spawnedMobs.get(slot) != null || mobId == null) {
+                continue;
+            }
+            Ref<EntityStore> ref = entityStore.getRefFromUUID(mobId);
+            if (ref == null || !ref.isValid()) {
+                continue;
+            }
+            waveData.spawnedMobs.set(slot, ref);
+            waveData.unattached--;
+            unattachedMobs.remove(mobId);
+            mobWaveIndex.put(ref, new WaveMobEntry(waveData, slot));
+        }
+    }
+
+    /**
+     * Give up on a wave's mobs that were not found again in time, so a mob
+     * whose chunk never reloads cannot keep the wave from ending
+     */
+    private void dropUnattachedMobs(WaveData waveData) {
+        int dropped = 0;
+        for (int slot = waveData.aliveSlots.nextSetBit(0); slot >= 0; slot = waveData.aliveSlots.nextSetBit(slot + 1)) {
+            java.util.UUID mobId = waveData.mobIds.get(slot);
+            if (waveData.spawnedMobs.get(slot) != null || mobId == null) {
+                continue;
+            }
+            unattachedMobs.remove(mobId);
+            if (waveData.markDead(slot)) {
+                dropped++;
             }
         }
-        // Note: Timer updates when mobs die (frequent) or when 5 seconds have passed
-        // (checked above)
-        // No periodic scheduling to avoid lag - updates happen naturally when mobs die
+        waveData.unattached = 0;
+        checkpointDirty = true;
+        LOGGER.warning("Dropped " + dropped + " mobs of the wave at " + waveData.blockPos
+                + " that were not found again within " + (ABANDONED_MAX_MS / 1000) + " seconds");
     }
 
     /**
@@ -1380,55 +2347,26 @@ public class CometWaveManager {
         LOGGER.info("Destroying comet at " + blockPos + " due to timeout");
 
         // Despawn all spawned mobs (wave 1 and/or boss) when the wave fails
-        int despawned = 0;
-        try {
-            java.lang.reflect.Method takeMethod = store.getClass().getDeclaredMethod("takeCommandBuffer");
-            takeMethod.setAccessible(true);
-            com.hypixel.hytale.component.CommandBuffer<EntityStore> cb = (com.hypixel.hytale.component.CommandBuffer<EntityStore>) takeMethod
-                    .invoke(store);
-            if (cb != null) {
-                for (Ref<EntityStore> mobRef : waveData.spawnedMobs) {
-                    if (mobRef != null && mobRef.isValid()) {
-                        try {
-                            cb.removeEntity(mobRef, com.hypixel.hytale.component.RemoveReason.REMOVE);
-                            despawned++;
-                        } catch (Exception e) {
-                            LOGGER.warning("Failed to remove mob on wave fail: " + e.getMessage());
-                        }
-                    }
-                }
-                java.lang.reflect.Method consumeMethod = cb.getClass().getDeclaredMethod("consume");
-                consumeMethod.setAccessible(true);
-                consumeMethod.invoke(cb);
-            }
-        } catch (Exception e) {
-            LOGGER.warning("Could not get CommandBuffer to despawn mobs on wave fail: " + e.getMessage());
-        }
+        int despawned = despawnMobs(store, waveData.spawnedMobs);
         if (despawned > 0) {
             LOGGER.info("Despawned " + despawned + " mobs due to wave failure at " + blockPos);
         }
 
-        // Remove from active tracking
-        activeComets.remove(blockPos);
-        activeWaves.remove(blockPos);
+        // Remove from active tracking; the title hide is queued
+        closeWave(waveData, WavePhase.FAILED, null);
 
         // Break the comet block
         try {
             com.hypixel.hytale.server.core.universe.world.World world = ((com.hypixel.hytale.server.core.universe.world.storage.EntityStore) store
                     .getExternalData()).getWorld();
 
-            // Remove map marker (must be done before removing cometOwners)
+            // Remove map marker (must be done before removing the comet's owner)
             removeCometMapMarker(world, blockPos);
             world.breakBlock(blockPos.x, blockPos.y, blockPos.z, 0);
             LOGGER.info("Broke comet block at " + blockPos + " due to timeout");
 
-            // Clean up all tracking data
-            cometOwners.remove(blockPos);
-            cometTiers.remove(blockPos);
-            cometThemes.remove(blockPos);
-
-            // Unregister from despawn tracker
-            CometDespawnTracker.getInstance().unregisterComet(blockPos);
+            // Clean up all tracking data (the despawn tracker persists the removal)
+            removeComet(blockPos);
         } catch (Exception e) {
             LOGGER.severe("Error breaking comet block on timeout: " + e.getMessage());
             e.printStackTrace();
@@ -1459,21 +2397,8 @@ public class CometWaveManager {
 
                     LOGGER.info("Showed 'Wave Failed!' message on timeout");
 
-                    // Schedule hide after 3 seconds
-                    com.hypixel.hytale.server.core.universe.world.World world = ((com.hypixel.hytale.server.core.universe.world.storage.EntityStore) store
-                            .getExternalData()).getWorld();
-
-                    final PlayerRef finalPlayerRef = playerRefComponent;
-                    com.hypixel.hytale.server.core.HytaleServer.SCHEDULED_EXECUTOR.schedule(() -> {
-                        try {
-                            world.execute(() -> {
-                                EventTitleUtil.hideEventTitleFromPlayer(finalPlayerRef, 0.0F);
-                                LOGGER.info("Hid 'Wave Failed!' message after 3 seconds");
-                            });
-                        } catch (Exception e) {
-                            LOGGER.warning("Error hiding failed message: " + e.getMessage());
-                        }
-                    }, 3L, java.util.concurrent.TimeUnit.SECONDS);
+                    // Hidden by a deadline timer after FAILED_TITLE_MS
+                    waveData.titlePlayer = playerRefComponent;
                 }
             } catch (Exception e) {
                 LOGGER.warning("Error showing failed message on timeout: " + e.getMessage());
@@ -1482,411 +2407,129 @@ public class CometWaveManager {
     }
 
     /**
-     * Spawn the next wave in a multi-wave encounter.
-     * Determines wave type and calls appropriate spawn method.
+     * Spawn the next wave in a multi-wave encounter, using the spawns prepared
+     * while the previous wave was fought when they are still valid.
      */
     private void spawnNextWave(Store<EntityStore> store, Ref<EntityStore> playerRef, WaveData waveData) {
         // Advance to next wave
+        untrackWaveMobs(waveData);
         waveData.advanceToNextWave();
 
-        Vector3i blockPos = waveData.blockPos;
-        String themeId = cometThemes.get(blockPos);
-        if (themeId == null) themeId = "skeleton";
-
-        CometTier tier = cometTiers.getOrDefault(blockPos, CometTier.UNCOMMON);
         int waveIndex = waveData.currentWaveIndex;
-
         LOGGER.info("=== SPAWNING WAVE " + waveData.currentWave + "/" + waveData.totalWaveCount +
                 " (index " + waveIndex + ") ===");
 
-        // Check wave type and spawn accordingly
-        if (WaveThemeProvider.isWaveBoss(themeId, waveIndex)) {
-            // Boss wave
-            LOGGER.info("Wave " + waveData.currentWave + " is a BOSS wave");
-            spawnBossWaveAtIndex(store, playerRef, waveData, waveIndex);
-        } else {
-            // Normal wave (mob wave)
-            LOGGER.info("Wave " + waveData.currentWave + " is a NORMAL wave");
-            spawnNormalWaveAtIndex(store, playerRef, waveData, waveIndex);
+        if (NPCPlugin.get() == null) {
+            LOGGER.severe("NPCPlugin not available for wave " + waveData.currentWave + "!");
+            return;
         }
+        releaseWave(waveData, takePrepared(waveData, waveIndex));
     }
 
     /**
-     * Spawn a normal (mob) wave at a specific wave index.
+     * Pick and place a normal (mob) wave from its compiled plan.
      */
-    private void spawnNormalWaveAtIndex(Store<EntityStore> store, Ref<EntityStore> playerRef,
-            WaveData waveData, int waveIndex) {
-        NPCPlugin npcPlugin = NPCPlugin.get();
-        if (npcPlugin == null) {
-            LOGGER.severe("NPCPlugin not available for normal wave!");
-            return;
-        }
-
+    private PreparedWave prepareNormalWave(WaveData waveData, com.cometmod.config.WavePlan plan, int waveIndex) {
         Vector3i blockPos = waveData.blockPos;
-        CometTier tier = cometTiers.getOrDefault(blockPos, CometTier.UNCOMMON);
-        String themeId = cometThemes.get(blockPos);
+        CometTier tier = tierOf(blockPos);
+        String themeId = themeOf(blockPos);
         if (themeId == null) themeId = "skeleton";
 
-        // Get mob list for this wave
-        String[] mobList = WaveThemeProvider.getMobListForWave(tier, themeId, waveIndex);
-        if (mobList == null || mobList.length == 0) {
-            LOGGER.warning("No mobs found for wave " + waveData.currentWave + " in theme " + themeId);
-            return;
-        }
-
-        LOGGER.info("Spawning " + mobList.length + " mobs for wave " + waveData.currentWave);
-
-        // Get spawn radius
-        double[] radiusRange = WaveThemeProvider.getSpawnRadius(tier);
-        double minRadius = radiusRange[0];
-        double maxRadius = radiusRange[1];
-
-        Vector3d centerPos = new Vector3d(blockPos.x + 0.5, blockPos.y + 1, blockPos.z + 0.5);
-
-        // Shuffle for randomization
-        java.util.List<String> mobListShuffled = new java.util.ArrayList<>(java.util.Arrays.asList(mobList));
-        java.util.Collections.shuffle(mobListShuffled, RANDOM);
-
-        com.hypixel.hytale.server.core.universe.world.World world = null;
-        try {
-            world = ((com.hypixel.hytale.server.core.universe.world.storage.EntityStore) store.getExternalData())
-                    .getWorld();
-        } catch (Exception e) {
-            LOGGER.warning("Could not get World for mob spawn validation: " + e.getMessage());
+        if (plan == null || plan.getMobCount() == 0) {
+            LOGGER.warning("No mobs found for wave " + (waveIndex + 1) + " in theme " + themeId);
+            return null;
         }
 
-        int rangedCount = 0;
-        String[] rangedMobs = { "Archer", "Archmage", "Lobber", "Shaman", "Mage", "Ranger",
-                "Hunter", "Stalker", "Priest", "Gunner", "Alchemist" };
-
-        List<Vector3d> successPositions = new ArrayList<>();
-        List<FailedSpawnInfo> failedSpawns = new ArrayList<>();
-
-        for (int i = 0; i < mobListShuffled.size(); i++) {
-            String npcType = mobListShuffled.get(i);
-
-            // Enforce ranged limit
-            if (rangedCount >= MAX_RANGED_PER_WAVE) {
-                boolean isRanged = false;
-                for (String ranged : rangedMobs) {
-                    if (npcType.contains(ranged)) {
-                        isRanged = true;
-                        break;
-                    }
-                }
-                if (isRanged) {
-                    // Find a non-ranged replacement
-                    for (String mob : mobListShuffled) {
-                        boolean mobIsRanged = false;
-                        for (String ranged : rangedMobs) {
-                            if (mob.contains(ranged)) {
-                                mobIsRanged = true;
-                                break;
-                            }
-                        }
-                        if (!mobIsRanged) {
-                            npcType = mob;
-                            break;
-                        }
-                    }
-                }
-            }
-
-            // Count ranged
-            for (String ranged : rangedMobs) {
-                if (npcType.contains(ranged)) {
-                    rangedCount++;
-                    break;
-                }
-            }
-
-            double angle = (2.0 * Math.PI * i) / mobListShuffled.size();
-            double radius = minRadius + (RANDOM.nextDouble() * (maxRadius - minRadius));
-            Vector3d spawnPos = new Vector3d(centerPos.x + Math.cos(angle) * radius, centerPos.y,
-                    centerPos.z + Math.sin(angle) * radius);
-
-            Vector3d toSpawn = spawnPos;
-            if (world != null) {
-                Vector3d v = CometSpawnUtil.findValidMobSpawn(world, spawnPos, 11);
-                if (v != null) {
-                    toSpawn = v;
-                } else {
-                    failedSpawns.add(new FailedSpawnInfo(npcType,
-                            new Vector3f(0.0f, (float) (angle + Math.PI), 0.0f), isRangedMob(npcType)));
-                    continue;
-                }
-            }
-
-            Vector3f rotation = new Vector3f(0.0f, (float) (angle + Math.PI), 0.0f);
-            Pair<Ref<EntityStore>, com.hypixel.hytale.server.core.universe.world.npc.INonPlayerCharacter> result =
-                    spawnCometNPC(store, npcPlugin, npcType, npcType, toSpawn, rotation, themeId, tier, false);
-
-            if (result != null && result.first() != null) {
-                waveData.spawnedMobs.add(result.first());
-                successPositions.add(toSpawn);
-            }
-        }
+        LOGGER.info("Preparing " + plan.getMobCount() + " mobs for wave " + (waveIndex + 1));
 
-        // Retry failed spawns
-        if (!failedSpawns.isEmpty() && !successPositions.isEmpty() && world != null) {
-            for (FailedSpawnInfo f : failedSpawns) {
-                Vector3d base = successPositions.get(RANDOM.nextInt(successPositions.size()));
-                double dx = (RANDOM.nextBoolean() ? 1 : -1) * (0.5 + RANDOM.nextDouble());
-                double dz = (RANDOM.nextBoolean() ? 1 : -1) * (0.5 + RANDOM.nextDouble());
-                Vector3d retryPos = CometSpawnUtil.findValidMobSpawn(world,
-                        new Vector3d(base.x + dx, base.y, base.z + dz), 11);
-                if (retryPos != null) {
-                    Pair<Ref<EntityStore>, com.hypixel.hytale.server.core.universe.world.npc.INonPlayerCharacter> res =
-                            spawnCometNPC(store, npcPlugin, f.npcType, f.npcType, retryPos, f.rotation, themeId, tier, false);
-                    if (res != null && res.first() != null) {
-                        waveData.spawnedMobs.add(res.first());
-                        successPositions.add(retryPos);
-                    }
-                }
-            }
+        // Shuffle for randomization, enforcing the ranged limit; a wave scaled
+        // down for the NPC budget keeps the first picks
+        int[] picked = pickPlanMobs(plan);
+        picked = Arrays.copyOf(picked, scaledMobCount(waveData, picked.length));
+        String[] npcTypes = new String[picked.length];
+        float[][] multipliers = new float[picked.length][];
+        for (int i = 0; i < picked.length; i++) {
+            npcTypes[i] = plan.getRoleId(picked[i]);
+            multipliers[i] = plan.getMultipliers(picked[i]);
         }
 
-        waveData.initialSpawnCount = waveData.spawnedMobs.size();
-        waveData.previousRemainingCount = waveData.initialSpawnCount;
-        LOGGER.info("Spawned " + waveData.initialSpawnCount + " mobs for wave " + waveData.currentWave);
-
-        // Start tracking and force immediate title update
-        waveData.lastTimerUpdate = 0;
-        updateWaveCountdown(store, playerRef, waveData);
+        CometArenaSolver.Arena arena = prepareArena(worldOf(waveData.store), blockPos);
+        return new PreparedWave(waveIndex, arena,
+                placeInArena(waveData, waveIndex, arena, npcTypes, multipliers, themeId, tier), plan.getMaxAlive());
     }
 
     /**
-     * Spawn a boss wave at a specific wave index.
+     * Pick and place a boss wave from its compiled plan.
      */
-    private void spawnBossWaveAtIndex(Store<EntityStore> store, Ref<EntityStore> playerRef,
-            WaveData waveData, int waveIndex) {
-        NPCPlugin npcPlugin = NPCPlugin.get();
-        if (npcPlugin == null) {
-            LOGGER.severe("NPCPlugin not available for boss wave!");
-            return;
-        }
-
+    private PreparedWave prepareBossWave(WaveData waveData, com.cometmod.config.WavePlan plan, int waveIndex) {
         Vector3i blockPos = waveData.blockPos;
-        CometTier tier = cometTiers.getOrDefault(blockPos, CometTier.UNCOMMON);
-        String themeId = cometThemes.get(blockPos);
+        CometTier tier = tierOf(blockPos);
+        String themeId = themeOf(blockPos);
         if (themeId == null) themeId = "skeleton";
 
-        // Get bosses for this specific wave
-        java.util.List<String> bosses = WaveThemeProvider.getBossesForWave(tier, themeId, waveIndex);
-        if (bosses == null || bosses.isEmpty()) {
+        if (plan == null || plan.getBossCount() == 0) {
             // Fallback to legacy
             int legacyTheme = getLegacyThemeIndex(themeId);
             if (legacyTheme >= 0) {
-                bosses = getBossesLegacy(tier, legacyTheme);
+                plan = com.cometmod.config.WavePlan.ofBosses(getBossesLegacy(tier, legacyTheme));
             } else {
-                bosses = java.util.Collections.singletonList(applyTierSuffix("Bear_Polar", tier));
+                plan = com.cometmod.config.WavePlan
+                        .ofBosses(java.util.Collections.singletonList(applyTierSuffix("Bear_Polar", tier)));
             }
         }
+        int[] bosses = plan.pickBosses(RANDOM);
 
-        LOGGER.info("Spawning " + bosses.size() + " boss(es) for wave " + waveData.currentWave);
-        waveData.previousRemainingCount = bosses.size();
-        waveData.initialSpawnCount = 0;
-
-        com.hypixel.hytale.server.core.universe.world.World world = null;
-        try {
-            world = ((com.hypixel.hytale.server.core.universe.world.storage.EntityStore) store.getExternalData())
-                    .getWorld();
-        } catch (Exception e) {
-            LOGGER.warning("Could not get World for boss spawn validation: " + e.getMessage());
-        }
+        LOGGER.info("Preparing " + bosses.length + " boss(es) for wave " + (waveIndex + 1));
 
+        com.hypixel.hytale.server.core.universe.world.World world = worldOf(waveData.store);
         Vector3d centerPos = new Vector3d(blockPos.x + 0.5, blockPos.y + 1, blockPos.z + 0.5);
         Vector3f rotation = new Vector3f(0.0f, 0.0f, 0.0f);
-        List<Vector3d> successPositions = new ArrayList<>();
-        List<String> failedBosses = new ArrayList<>();
-
-        for (int b = 0; b < bosses.size(); b++) {
-            String bossType = bosses.get(b);
-            double ox = (bosses.size() > 1 && b == 1) ? 1.5 : 0;
-            Vector3d pos = new Vector3d(centerPos.x + ox, centerPos.y, centerPos.z);
+        CometArenaSolver.Arena arena = prepareArena(world, blockPos);
+        List<Vector3d> placedPositions = new ArrayList<>();
+        List<Integer> failedBosses = new ArrayList<>();
+        List<CometSpawnQueue.PendingSpawn> spawns = new ArrayList<>();
+
+        for (int b = 0; b < bosses.length; b++) {
+            String bossType = plan.getBossId(bosses[b]);
+            float[] multipliers = plan.getBossMultipliers(bosses[b]);
+            int spot = (bosses.length > 1 && b == 1) ? 1 : 0;
+            Vector3d pos = new Vector3d(centerPos.x + (spot == 1 ? 1.5 : 0), centerPos.y, centerPos.z);
             Vector3d toSpawn = pos;
 
             if (world != null) {
-                Vector3d v = CometSpawnUtil.findValidMobSpawn(world, pos, 11);
+                Vector3d v = arena.bossSpot(spot, spawnBoxFor(bossType, multipliers));
                 if (v != null) {
                     toSpawn = v;
                 } else {
-                    failedBosses.add(bossType);
+                    failedBosses.add(bosses[b]);
                     continue;
                 }
             }
 
-            Pair<Ref<EntityStore>, com.hypixel.hytale.server.core.universe.world.npc.INonPlayerCharacter> result =
-                    spawnCometNPC(store, npcPlugin, bossType, bossType, toSpawn, rotation, themeId, tier, true);
-
-            if (result != null && result.first() != null) {
-                waveData.spawnedMobs.add(result.first());
-                successPositions.add(toSpawn);
-            }
+            placedPositions.add(toSpawn);
+            addPendingSpawn(spawns, waveData, waveIndex, bossType, multipliers, toSpawn, rotation, themeId, tier,
+                    true);
         }
 
-        // Retry failed boss spawns
-        if (!failedBosses.isEmpty() && !successPositions.isEmpty() && world != null) {
-            for (String bossType : failedBosses) {
-                Vector3d base = successPositions.get(RANDOM.nextInt(successPositions.size()));
+        // Retry failed boss spots near a placed one
+        if (!failedBosses.isEmpty() && !placedPositions.isEmpty() && world != null) {
+            for (int boss : failedBosses) {
+                String bossType = plan.getBossId(boss);
+                float[] multipliers = plan.getBossMultipliers(boss);
+                Vector3d base = placedPositions.get(RANDOM.nextInt(placedPositions.size()));
                 double dx = (RANDOM.nextBoolean() ? 1 : -1) * (0.5 + RANDOM.nextDouble());
                 double dz = (RANDOM.nextBoolean() ? 1 : -1) * (0.5 + RANDOM.nextDouble());
-                Vector3d retryPos = CometSpawnUtil.findValidMobSpawn(world,
+                Vector3d retryPos = CometSpawnUtil.findValidMobSpawn(world, spawnBoxFor(bossType, multipliers),
                         new Vector3d(base.x + dx, base.y, base.z + dz), 11);
                 if (retryPos != null) {
-                    Pair<Ref<EntityStore>, com.hypixel.hytale.server.core.universe.world.npc.INonPlayerCharacter> res =
-                            spawnCometNPC(store, npcPlugin, bossType, bossType, retryPos, rotation, themeId, tier, true);
-                    if (res != null && res.first() != null) {
-                        waveData.spawnedMobs.add(res.first());
-                        successPositions.add(retryPos);
-                    }
-                }
-            }
-        }
-
-        waveData.initialSpawnCount = waveData.spawnedMobs.size();
-        waveData.previousRemainingCount = waveData.initialSpawnCount;
-        LOGGER.info("Spawned " + waveData.initialSpawnCount + " boss(es) for wave " + waveData.currentWave);
-
-        // Start tracking and force immediate title update
-        waveData.lastTimerUpdate = 0;
-        updateWaveCountdown(store, playerRef, waveData);
-    }
-
-    /**
-     * Spawn boss wave (Wave 2) after normal wave completes
-     * @deprecated Use spawnNextWave or spawnBossWaveAtIndex instead
-     */
-    private void spawnBossWave(Store<EntityStore> store, Ref<EntityStore> playerRef, WaveData waveData) {
-        LOGGER.info("=== SPAWNING BOSS WAVE ===");
-        NPCPlugin npcPlugin = NPCPlugin.get();
-        if (npcPlugin == null) {
-            LOGGER.severe("NPCPlugin not available for boss wave!");
-            return;
-        }
-
-        Vector3i blockPos = waveData.blockPos;
-        CometTier tier = cometTiers.getOrDefault(blockPos, CometTier.UNCOMMON);
-        String themeId = cometThemes.get(blockPos);
-        if (themeId == null)
-            themeId = "skeleton"; // Default fallback
-        LOGGER.info("Boss wave for tier: " + tier.getName() + " theme: " + themeId + " at " + blockPos);
-
-        // Clear Wave 1 mobs from list
-        waveData.spawnedMobs.clear();
-        LOGGER.info("Cleared Wave 1 mobs, list size: " + waveData.spawnedMobs.size());
-
-        // Update to Wave 2
-        waveData.currentWave = 2;
-        waveData.startTime = System.currentTimeMillis(); // Reset timer for boss wave
-        waveData.lastTimerUpdate = waveData.startTime;
-
-        // Get bosses from config, with legacy fallback
-        java.util.List<String> bosses = WaveThemeProvider.getBossesForTheme(tier, themeId);
-        if (bosses == null || bosses.isEmpty()) {
-            int legacyTheme = getLegacyThemeIndex(themeId);
-            if (legacyTheme >= 0) {
-                bosses = getBossesLegacy(tier, legacyTheme);
-            } else {
-                bosses = java.util.Collections.singletonList(applyTierSuffix("Bear_Polar", tier));
-            }
-        }
-        waveData.previousRemainingCount = bosses.size();
-        waveData.initialSpawnCount = 0;
-
-        com.hypixel.hytale.server.core.universe.world.World world = null;
-        try {
-            world = ((com.hypixel.hytale.server.core.universe.world.storage.EntityStore) store.getExternalData())
-                    .getWorld();
-        } catch (Exception e) {
-            LOGGER.warning("Could not get World for boss spawn validation: " + e.getMessage());
-        }
-
-        Vector3d centerPos = new Vector3d(blockPos.x + 0.5, blockPos.y + 1, blockPos.z + 0.5);
-        Vector3f rotation = new Vector3f(0.0f, 0.0f, 0.0f);
-        int spawned = 0;
-        List<Vector3d> successPositions = new ArrayList<>();
-        List<String> failedBosses = new ArrayList<>();
-        for (int b = 0; b < bosses.size(); b++) {
-            String bossType = bosses.get(b);
-            double ox = (bosses.size() > 1 && b == 1) ? 1.5 : 0;
-            Vector3d pos = new Vector3d(centerPos.x + ox, centerPos.y, centerPos.z);
-            Vector3d toSpawn = pos;
-            if (world != null) {
-                Vector3d v = CometSpawnUtil.findValidMobSpawn(world, pos, 11);
-                if (v != null)
-                    toSpawn = v;
-                else {
-                    failedBosses.add(bossType);
-                    LOGGER.info("No valid boss spawn at " + pos + ", will retry near success: " + bossType);
-                    continue;
-                }
-            }
-            // Boss IDs are base IDs without tier suffixes
-            Pair<Ref<EntityStore>, com.hypixel.hytale.server.core.universe.world.npc.INonPlayerCharacter> result = spawnCometNPC(
-                    store, npcPlugin, bossType, bossType, toSpawn, rotation, themeId, tier, true);
-            if (result != null && result.first() != null) {
-                waveData.spawnedMobs.add(result.first());
-                successPositions.add(toSpawn);
-                spawned++;
-                LOGGER.info("Spawned boss " + bossType + " at " + toSpawn);
-            } else {
-                LOGGER.warning("Failed to spawn boss: " + bossType);
-            }
-        }
-        // Retry failed bosses near a successful one
-        if (!failedBosses.isEmpty() && !successPositions.isEmpty() && world != null) {
-            for (String bossType : failedBosses) {
-                Vector3d base = successPositions.get(RANDOM.nextInt(successPositions.size()));
-                double dx = (RANDOM.nextBoolean() ? 1 : -1) * (0.5 + RANDOM.nextDouble());
-                double dz = (RANDOM.nextBoolean() ? 1 : -1) * (0.5 + RANDOM.nextDouble());
-                Vector3d newPref = new Vector3d(base.x + dx, base.y, base.z + dz);
-                Vector3d retryPos = CometSpawnUtil.findValidMobSpawn(world, newPref, 11);
-                if (retryPos != null) {
-                    // Boss IDs are base IDs without tier suffixes
-                    Pair<Ref<EntityStore>, com.hypixel.hytale.server.core.universe.world.npc.INonPlayerCharacter> res = spawnCometNPC(
-                            store, npcPlugin, bossType, bossType, retryPos, rotation, themeId, tier, true);
-                    if (res != null && res.first() != null) {
-                        waveData.spawnedMobs.add(res.first());
-                        successPositions.add(retryPos);
-                        spawned++;
-                        LOGGER.info("Spawned boss " + bossType + " at " + retryPos + " (retry near success)");
-                    }
+                    placedPositions.add(retryPos);
+                    addPendingSpawn(spawns, waveData, waveIndex, bossType, multipliers, retryPos, rotation, themeId,
+                            tier, true);
                 }
             }
         }
-        waveData.initialSpawnCount = spawned;
 
-        if (spawned > 0) {
-            // Always schedule countdown so boss death can trigger completion even if player
-            // is dead
-            try {
-                com.hypixel.hytale.server.core.universe.world.World worldForRun = ((com.hypixel.hytale.server.core.universe.world.storage.EntityStore) store
-                        .getExternalData()).getWorld();
-                final Store<EntityStore> finalStore = store;
-                final Ref<EntityStore> finalPlayerRef = playerRef;
-                final WaveData finalWaveData = waveData;
-                com.hypixel.hytale.server.core.HytaleServer.SCHEDULED_EXECUTOR.schedule(() -> {
-                    try {
-                        worldForRun.execute(() -> {
-                            finalWaveData.lastTimerUpdate = 0;
-                            updateWaveCountdown(finalStore, finalPlayerRef, finalWaveData);
-                        });
-                    } catch (Exception e) {
-                        LOGGER.warning("Error updating boss wave UI: " + e.getMessage());
-                    }
-                }, 100L, java.util.concurrent.TimeUnit.MILLISECONDS);
-            } catch (Exception e) {
-                LOGGER.warning("Error scheduling boss wave UI update: " + e.getMessage());
-            }
-        } else {
-            // No bosses spawned – complete immediately (playerRef can be null if player
-            // dead)
-            PlayerRef pr = (playerRef != null && playerRef.isValid())
-                    ? store.getComponent(playerRef, PlayerRef.getComponentType())
-                    : null;
-            completeWave(store, pr, waveData);
-        }
+        return new PreparedWave(waveIndex, arena, spawns, plan.getMaxAlive());
     }
 
     /**
@@ -1899,10 +2542,11 @@ public class CometWaveManager {
      */
     private void completeWave(Store<EntityStore> store, PlayerRef playerRef, WaveData waveData) {
         Vector3i blockPos = waveData.blockPos;
-        CometTier tier = cometTiers.getOrDefault(blockPos, CometTier.UNCOMMON);
+        CometTier tier = tierOf(blockPos);
         LOGGER.info("[CometWaveManager] completeWave: Tier=" + tier.getName() + " for comet at " + blockPos);
 
-        activeWaves.remove(blockPos);
+        // Detach the wave; its title hide is queued
+        closeWave(waveData, WavePhase.COMPLETE, CometState.COMPLETED);
 
         // Always drop items and break the block (even if player is dead)
         java.util.List<String> droppedItems = dropRewardsAndBreakBlock(store, blockPos, waveData, tier);
@@ -1938,23 +2582,8 @@ public class CometWaveManager {
                 playerRef.sendMessage(itemMsg);
             }
 
-            // 3. Schedule removal of title after 8 seconds
-            try {
-                com.hypixel.hytale.server.core.universe.world.World world = ((com.hypixel.hytale.server.core.universe.world.storage.EntityStore) store
-                        .getExternalData()).getWorld();
-                final PlayerRef finalPlayerRef = playerRef;
-                com.hypixel.hytale.server.core.HytaleServer.SCHEDULED_EXECUTOR.schedule(() -> {
-                    try {
-                        world.execute(() -> {
-                            EventTitleUtil.hideEventTitleFromPlayer(finalPlayerRef, 0.0F);
-                        });
-                    } catch (Exception e) {
-                        LOGGER.warning("Error hiding success messages: " + e.getMessage());
-                    }
-                }, 8L, java.util.concurrent.TimeUnit.SECONDS);
-            } catch (Exception e) {
-                LOGGER.warning("Error scheduling message hide: " + e.getMessage());
-            }
+            // 3. Title is hidden by a deadline timer after COMPLETE_TITLE_MS
+            waveData.titlePlayer = playerRef;
         } else {
             LOGGER.info("Skipping completion title (player not available); loot dropped at " + blockPos);
         }
@@ -2243,7 +2872,7 @@ public class CometWaveManager {
             java.util.List<com.hypixel.hytale.server.core.inventory.ItemStack> allItems = new java.util.ArrayList<>();
 
             // Get theme ID for potential reward override
-            String themeId = cometThemes.get(blockPos);
+            String themeId = themeOf(blockPos);
 
             // Generate structured rewards based on tier (see REWARD_SYSTEM.md)
             // Checks for theme-specific reward override first
@@ -2287,13 +2916,7 @@ public class CometWaveManager {
             // Remove map marker and clean up all tracking so the marker disappears and
             // CometMarkerProvider stops including it
             removeCometMapMarker(world, blockPos);
-            activeComets.remove(blockPos);
-            cometTiers.remove(blockPos);
-            cometOwners.remove(blockPos);
-            cometThemes.remove(blockPos);
-
-            // Unregister from despawn tracker
-            CometDespawnTracker.getInstance().unregisterComet(blockPos);
+            removeComet(blockPos);
 
             // Note: Title will auto-hide after its duration (5 seconds) set in
             // completeWave()
@@ -2319,9 +2942,10 @@ public class CometWaveManager {
      */
     public void registerCometTier(com.hypixel.hytale.server.core.universe.world.World world, Vector3i blockPos,
             CometTier tier, java.util.UUID ownerUUID) {
-        cometTiers.put(blockPos, tier);
+        CometRecord record = registry.getOrCreate(blockPos);
+        record.setTier(tier);
         if (ownerUUID != null) {
-            cometOwners.put(blockPos, ownerUUID);
+            record.setOwner(ownerUUID);
             LOGGER.info(
                     "Registered tier " + tier.getName() + " for comet at " + blockPos + " (owner: " + ownerUUID + ")");
         } else {
@@ -2330,6 +2954,139 @@ public class CometWaveManager {
 
         // Add map marker for this comet to the specific player only
         addCometMapMarker(world, blockPos, tier, ownerUUID);
+
+        // Scan the arena while the comet waits to be activated
+        scheduleArenaScan(world, blockPos);
+    }
+
+    // ========== ARENA CACHE ==========
+
+    /**
+     * Queue an arena scan for a comet unless one is already pending
+     */
+    private void scheduleArenaScan(com.hypixel.hytale.server.core.universe.world.World world, Vector3i blockPos) {
+        CometRecord record = registry.get(blockPos);
+        if (record == null || world == null) {
+            return;
+        }
+        CometDeadlineQueue.Timer pending = record.getArenaScanTimer();
+        if (pending != null && !pending.isCancelled()) {
+            return;
+        }
+        record.setArenaScanTimer(deadlines.schedule(blockPos, System.currentTimeMillis() + ARENA_SCAN_DELAY_MS,
+                () -> prepareArena(world, blockPos)));
+    }
+
+    /**
+     * Get the comet's cached arena, scanning it first if it is missing, stale or
+     * sampled for a different spawn radius. Arenas without a world are not
+     * validated and not cached.
+     */
+    private CometArenaSolver.Arena prepareArena(com.hypixel.hytale.server.core.universe.world.World world,
+            Vector3i blockPos) {
+        double[] radiusRange = WaveThemeProvider.getSpawnRadius(tierOf(blockPos));
+        Vector3d centerPos = new Vector3d(blockPos.x + 0.5, blockPos.y + 1, blockPos.z + 0.5);
+        if (world == null) {
+            return CometArenaSolver.sample(null, centerPos, radiusRange[0], radiusRange[1]);
+        }
+
+        CometRecord record = registry.get(blockPos);
+        CometArenaSolver.Arena arena = record != null ? record.getArena() : null;
+        if (arena != null && arena.matches(radiusRange[0], radiusRange[1])) {
+            return arena;
+        }
+
+        arena = CometArenaSolver.sample(world, centerPos, radiusRange[0], radiusRange[1]);
+        int valid = arena.prescan(CometSpawnUtil.getSpawnBox(null));
+        if (record != null) {
+            record.setArena(arena);
+            arenaReach = Math.max(arenaReach, radiusRange[1]);
+        }
+        LOGGER.info("Scanned arena around comet at " + blockPos + ": " + valid + " valid spawn spots");
+        return arena;
+    }
+
+    /**
+     * Probe a comet's arena for the spawn box of every role its theme can spawn,
+     * one box per timer so the work is spread over the countdown
+     */
+    private void prescanThemeBoxes(CometArenaSolver.Arena arena, Vector3i blockPos, long start) {
+        CometConfig config = CometConfig.getInstance();
+        String themeId = themeOf(blockPos);
+        if (config == null || themeId == null) {
+            return;
+        }
+        CometTier tier = tierOf(blockPos);
+        java.util.Set<com.hypixel.hytale.math.shape.Box> boxes = java.util.Collections
+                .newSetFromMap(new java.util.IdentityHashMap<>());
+        int waveCount = WaveThemeProvider.getWaveCount(themeId);
+        for (int waveIndex = 0; waveIndex < waveCount; waveIndex++) {
+            com.cometmod.config.WavePlan plan = WaveThemeProvider.getWavePlan(themeId, tier, waveIndex);
+            if (plan == null) {
+                continue;
+            }
+            for (int mob = 0; mob < plan.getMobCount(); mob++) {
+                boxes.add(spawnBoxFor(plan.getRoleId(mob), plan.getMultipliers(mob)));
+            }
+            for (int boss = 0; boss < plan.getBossCount(); boss++) {
+                boxes.add(spawnBoxFor(plan.getBossId(boss), plan.getBossMultipliers(boss)));
+            }
+        }
+        int i = 0;
+        for (com.hypixel.hytale.math.shape.Box box : boxes) {
+            deadlines.schedule(blockPos, start + (++i) * ARENA_PRESCAN_STAGGER_MS, () -> arena.prescan(box));
+        }
+    }
+
+    /**
+     * Spawn box of a role at the size it spawns with (scale multiplier)
+     */
+    private static com.hypixel.hytale.math.shape.Box spawnBoxFor(String npcType, float[] multipliers) {
+        float scale = multipliers != null && multipliers.length >= 3 ? multipliers[2] : 1.0f;
+        return CometSpawnUtil.getSpawnBox(npcType, scale);
+    }
+
+    /**
+     * Drop the cached arena of every comet whose spawn spots a block change at
+     * pos can affect, and queue a rescan
+     */
+    public void invalidateArenasNear(com.hypixel.hytale.server.core.universe.world.World world, Vector3i pos) {
+        if (registry.isEmpty()) {
+            return;
+        }
+        int radius = (int) Math.ceil(arenaReach) + 6;
+        for (CometRecord record : registry.findInRadius(pos.x, pos.y, pos.z, radius)) {
+            CometArenaSolver.Arena arena = record.getArena();
+            if (arena != null && arena.covers(pos.x, pos.y, pos.z)) {
+                record.setArena(null);
+                scheduleArenaScan(world, record.getPos());
+            }
+        }
+    }
+
+    /**
+     * Drop every cached arena and queue a rescan, e.g. after the NPC spawn boxes
+     * were re-resolved (arenas key their probes on the Box instances)
+     */
+    public void invalidateArenas(com.hypixel.hytale.server.core.universe.world.World world) {
+        if (registry.isEmpty()) {
+            return;
+        }
+        for (CometRecord record : registry.snapshot()) {
+            if (record.getArena() != null) {
+                record.setArena(null);
+                scheduleArenaScan(world, record.getPos());
+            }
+        }
+    }
+
+    private static com.hypixel.hytale.server.core.universe.world.World worldOf(Store<EntityStore> store) {
+        try {
+            return ((com.hypixel.hytale.server.core.universe.world.storage.EntityStore) store.getExternalData())
+                    .getWorld();
+        } catch (Exception e) {
+            return null;
+        }
     }
 
     /**
@@ -2458,7 +3215,7 @@ public class CometWaveManager {
             }
 
             // Get the owner UUID before removing from tracking
-            java.util.UUID ownerUUID = cometOwners.get(blockPos);
+            java.util.UUID ownerUUID = getCometOwner(blockPos);
 
             String markerId = "Comet-" + blockPos.x + "," + blockPos.y + "," + blockPos.z;
             // We're not using global POI anymore, but remove just in case
@@ -2495,7 +3252,7 @@ public class CometWaveManager {
      * up tracking and removes the map marker.
      */
     public void handleBlockBreak(Store<EntityStore> store, Vector3i blockPos) {
-        // Remove map marker first (needs ownerUUID which is still in cometOwners)
+        // Remove map marker first (needs the owner, which is still registered)
         try {
             com.hypixel.hytale.server.core.universe.world.World world = ((com.hypixel.hytale.server.core.universe.world.storage.EntityStore) store
                     .getExternalData()).getWorld();
@@ -2503,10 +3260,8 @@ public class CometWaveManager {
         } catch (Exception e) {
             LOGGER.warning("Failed to get world for map marker removal: " + e.getMessage());
         }
-        // Remove from active comets and tracking
-        activeComets.remove(blockPos);
-        cometTiers.remove(blockPos);
-        cometOwners.remove(blockPos);
+        // Remove the comet and all of its tracking
+        removeComet(blockPos);
     }
 
     /**
@@ -2519,10 +3274,7 @@ public class CometWaveManager {
         if (world == null)
             return;
         removeCometMapMarker(world, blockPos);
-        activeComets.remove(blockPos);
-        cometTiers.remove(blockPos);
-        cometOwners.remove(blockPos);
-        forcedThemes.remove(blockPos);
+        removeComet(blockPos);
     }
 
     /**
@@ -2532,7 +3284,7 @@ public class CometWaveManager {
      * @param themeId  The theme ID (string)
      */
     public void forceTheme(Vector3i blockPos, String themeId) {
-        forcedThemes.put(blockPos, themeId);
+        registry.getOrCreate(blockPos).setForcedThemeId(themeId);
         LOGGER.info("Forced theme '" + themeId + "' for comet at " + blockPos);
     }
 
@@ -2545,7 +3297,7 @@ public class CometWaveManager {
      */
     public void forceThemeLegacy(Vector3i blockPos, int themeIndex) {
         String themeId = getLegacyThemeId(themeIndex);
-        forcedThemes.put(blockPos, themeId);
+        registry.getOrCreate(blockPos).setForcedThemeId(themeId);
         LOGGER.info("Forced legacy theme " + themeIndex + " (" + themeId + ") for comet at " + blockPos);
     }
 
@@ -2604,53 +3356,66 @@ public class CometWaveManager {
         return THEME_NAMES;
     }
 
+    /**
+     * Resolve a mob death or removal to its wave through the reverse index.
+     * Entities that were never spawned by a comet wave are rejected with a single
+     * map lookup, so this is cheap to call for every removal on the server.
+     */
     public void handleMobDeath(
             com.hypixel.hytale.component.Ref<com.hypixel.hytale.server.core.universe.world.storage.EntityStore> mobRef) {
-        LOGGER.info("[CometWaveManager] handleMobDeath called! Checking " + activeWaves.size() + " active waves...");
-
-        // Check all active waves to see if this mob belongs to any of them
-        for (Map.Entry<com.hypixel.hytale.math.vector.Vector3i, WaveData> entry : activeWaves.entrySet()) {
-            WaveData waveData = entry.getValue();
-            LOGGER.info("[CometWaveManager] Checking wave at " + entry.getKey() + " with " + waveData.spawnedMobs.size()
-                    + " mobs in list");
-
-            // Check if this mob is in the list (by reference or by checking if ref matches)
-            boolean found = false;
-            for (int i = waveData.spawnedMobs.size() - 1; i >= 0; i--) {
-                Ref<EntityStore> ref = waveData.spawnedMobs.get(i);
-                // Check if refs match (same entity) - use == for reference equality or check if
-                // they point to same entity
-                if (ref != null && (ref == mobRef || ref.equals(mobRef) ||
-                        (ref.isValid() && mobRef.isValid() && ref.getIndex() == mobRef.getIndex()))) {
-                    found = true;
-                    waveData.spawnedMobs.remove(i);
-                    LOGGER.info("[CometWaveManager] Mob died for wave at " + entry.getKey() + " (removed from list, " +
-                            waveData.spawnedMobs.size() + " remaining)");
-                    break;
-                }
-            }
+        if (mobRef == null) {
+            return;
+        }
 
-            if (found) {
-                // Update countdown after mob death. Use player's store if valid, else mob's
-                // (e.g. player dead/DC) so completion and loot still run when boss is killed.
-                com.hypixel.hytale.component.Store<com.hypixel.hytale.server.core.universe.world.storage.EntityStore> store = waveData.playerRef != null
-                        && waveData.playerRef.isValid()
-                                ? waveData.playerRef.getStore()
-                                : mobRef.getStore();
-                updateWaveCountdown(store, waveData.playerRef, waveData);
-                return; // Found and handled, exit
+        WaveMobEntry entry = mobWaveIndex.remove(mobRef);
+        if (entry == null && !unattachedMobs.isEmpty()) {
+            // A recovered mob can die or unload before it was reattached
+            java.util.UUID mobId = entityIdOf(mobRef);
+            entry = mobId != null ? unattachedMobs.remove(mobId) : null;
+            if (entry != null) {
+                entry.wave.unattached--;
             }
         }
+        if (entry == null) {
+            return; // Not a comet wave mob (or already handled)
+        }
 
-        LOGGER.info("[CometWaveManager] Mob death not found in any active wave");
+        WaveData waveData = entry.wave;
+        if (!waveData.markDead(entry.slot)) {
+            return;
+        }
+        checkpointDirty = true;
+
+        LOGGER.fine("[CometWaveManager] Mob died for wave at " + waveData.blockPos + " (" + waveData.aliveCount
+                + " remaining)");
+
+        // Update countdown after mob death. Use player's store if valid, else mob's
+        // (e.g. player dead/DC) so completion and loot still run when boss is killed.
+        com.hypixel.hytale.component.Store<com.hypixel.hytale.server.core.universe.world.storage.EntityStore> store = waveData.playerRef != null
+                && waveData.playerRef.isValid()
+                        ? waveData.playerRef.getStore()
+                        : mobRef.getStore();
+        updateWaveCountdown(store, waveData.playerRef, waveData);
     }
 
     public void cleanup() {
-        activeComets.clear();
-        activeWaves.clear();
-        cometTiers.clear();
-        cometOwners.clear();
-        cometThemes.clear();
+        // Keep the running waves on disk so they are recovered on the next start
+        if (checkpointDirty) {
+            writeCheckpoint(System.currentTimeMillis());
+        }
+        if (checkpoint != null) {
+            checkpoint.flush();
+        }
+        for (CometRecord record : registry.snapshotWaves()) {
+            WaveData waveData = record.getWave();
+            if (waveData != null) {
+                releaseBudget(waveData);
+            }
+        }
+        registry.clear();
+        mobWaveIndex.clear();
+        unattachedMobs.clear();
+        spawnQueue.clear();
     }
 
     // ========== LEGACY FALLBACK METHODS ==========
@@ -0,0 +1,35 @@
+package com.cometmod;
+
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.system.tick.TickingSystem;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import javax.annotation.Nonnull;
+import java.util.logging.Logger;
+
+/**
+ * Drives the wave lifecycle (countdown, spawning, active, transition, complete,
+ * failed) from the world tick.
+ *
+ * Runs on each world's thread: first the world's due comet timers (despawns,
+ * countdowns, timeouts, title hides), then the per-wave checks. None of this
+ * needs scheduler tasks or world.execute hops.
+ */
+public class CometWaveSystem extends TickingSystem<EntityStore> {
+
+    private static final Logger LOGGER = Logger.getLogger("CometWaveSystem");
+
+    @Override
+    public void tick(float dt, int systemIndex, @Nonnull Store<EntityStore> store) {
+        try {
+            // Each world's store ticks its own shard
+            CometWorldShard shard = CometModPlugin.getShard(store);
+            if (shard != null) {
+                shard.getDeadlines().runDue(System.currentTimeMillis());
+                shard.getWaveManager().tickWaves(store);
+            }
+        } catch (Exception e) {
+            LOGGER.warning("Error ticking comet waves: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.cometmod;
+
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+
+import java.util.logging.Logger;
+
+/**
+ * All comet state and workloads for a single world: comets and waves, tracked
+ * projectiles, natural spawn scheduling, the persistent despawn registry and
+ * the checkpoint of running waves.
+ *
+ * Shards are created when a world is added and torn down when it is removed,
+ * so each world's comets run independently on that world's thread.
+ */
+public class CometWorldShard {
+
+    private static final Logger LOGGER = Logger.getLogger("CometWorldShard");
+
+    private final World world;
+    private final CometRegistry registry = new CometRegistry();
+    private final CometDeadlineQueue deadlines = new CometDeadlineQueue();
+    private final CometWaveManager waveManager;
+    private final CometFallingSystem fallingSystem;
+    private final CometDespawnTracker despawnTracker;
+    private final CometWaveCheckpoint waveCheckpoint;
+    private CometSpawnTask spawnTask;
+    private boolean started = false;
+
+    public CometWorldShard(World world, com.hypixel.hytale.server.core.plugin.PluginBase plugin) {
+        this.world = world;
+        this.waveManager = new CometWaveManager(registry, deadlines);
+        this.waveManager.setPlugin(plugin);
+        this.fallingSystem = new CometFallingSystem(world, deadlines);
+        this.despawnTracker = new CometDespawnTracker(world, registry, deadlines);
+        this.waveCheckpoint = new CometWaveCheckpoint(world);
+        this.waveManager.setCheckpoint(waveCheckpoint);
+        // Removing a comet cancels all of its timers (despawn, countdown, timeout)
+        this.registry.addRemovalListener(record -> deadlines.cancelComet(record.getKey()));
+    }
+
+    public World getWorld() {
+        return world;
+    }
+
+    /**
+     * @return The single record store for every comet in this world
+     */
+    public CometRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * @return The timer queue for this world's despawns, countdowns, comet impacts and
+     *         title hides
+     */
+    public CometDeadlineQueue getDeadlines() {
+        return deadlines;
+    }
+
+    public CometWaveManager getWaveManager() {
+        return waveManager;
+    }
+
+    public CometFallingSystem getFallingSystem() {
+        return fallingSystem;
+    }
+
+    public CometDespawnTracker getDespawnTracker() {
+        return despawnTracker;
+    }
+
+    /**
+     * @return The natural spawn task, or null until the shard has been started
+     */
+    public CometSpawnTask getSpawnTask() {
+        return spawnTask;
+    }
+
+    public synchronized boolean isStarted() {
+        return started;
+    }
+
+    /**
+     * Start spawn scheduling, despawn processing and projectile checks for this
+     * world. Deferred until the world's entity store is ready (first player).
+     *
+     * @return true if this call started the shard, false if it was already
+     *         running or the store is not ready yet
+     */
+    public synchronized boolean start(CometConfig config) {
+        if (started) {
+            return false;
+        }
+
+        Store<EntityStore> store = world.getEntityStore().getStore();
+        if (store == null) {
+            return false;
+        }
+
+        spawnTask = new CometSpawnTask(world, store);
+        if (config != null) {
+            config.applyToSpawnTask(spawnTask);
+        }
+        spawnTask.start();
+
+        try {
+            despawnTracker.processOnStartup(world, CometFallingSystem.getDespawnTimeMinutes());
+        } catch (Exception e) {
+            LOGGER.warning("Failed to process despawn tracker for world " + world.getName() + ": " + e.getMessage());
+        }
+
+        try {
+            waveManager.recoverWaves(store);
+        } catch (Exception e) {
+            LOGGER.warning("Failed to recover comet waves for world " + world.getName() + ": " + e.getMessage());
+        }
+
+        started = true;
+        LOGGER.info("Started comet shard for world " + world.getName());
+        return true;
+    }
+
+    /**
+     * Stop all scheduled work and drop in-memory state for this world
+     */
+    public synchronized void shutdown() {
+        if (spawnTask != null) {
+            spawnTask.stop();
+            spawnTask = null;
+        }
+        int dropped = deadlines.clear();
+        if (dropped > 0) {
+            LOGGER.info("Dropped " + dropped + " pending comet timers for world " + world.getName());
+        }
+        despawnTracker.shutdown();
+        fallingSystem.clear();
+        waveManager.cleanup();
+        started = false;
+        LOGGER.info("Stopped comet shard for world " + world.getName());
+    }
+}
@@ -9,6 +9,7 @@ import com.cometmod.config.ThemeConfig;
 import com.cometmod.config.TierRewards;
 import com.cometmod.config.TierSettings;
 import com.cometmod.config.WaveEntry;
+import com.cometmod.config.WavePlan;
 
 /**
  * Bridge class that provides config-based theme access while maintaining
@@ -131,6 +132,17 @@ public class WaveThemeProvider {
         return count > 0 ? count : 5;
     }
 
+    /**
+     * Get the settings of a tier (timeout, arena radius, wave clock)
+     */
+    public static TierSettings getTierSettings(CometTier tier) {
+        CometConfig config = CometConfig.getInstance();
+        if (config == null) {
+            return TierSettings.getDefaultForTier(getTierNumber(tier));
+        }
+        return config.getTierSettings(getTierNumber(tier));
+    }
+
     /**
      * Get timeout for a tier in milliseconds.
      * 
@@ -161,6 +173,50 @@ public class WaveThemeProvider {
         return config.getSpawnRadiusRange(getTierNumber(tier));
     }
 
+    /**
+     * Get every mob or boss role a theme can spawn, across its flat lists and
+     * all of its waves (base IDs, no suffixes).
+     *
+     * @param theme  The theme config
+     * @param bosses true for boss roles, false for mob roles
+     * @return Distinct role IDs in config order
+     */
+    public static java.util.Set<String> getRoleIds(ThemeConfig theme, boolean bosses) {
+        java.util.Set<String> roles = new java.util.LinkedHashSet<>();
+        if (theme == null)
+            return roles;
+        if (bosses) {
+            if (theme.getBosses() != null)
+                for (com.cometmod.config.BossEntry boss : theme.getBosses())
+                    roles.add(boss.getId());
+        } else if (theme.getMobs() != null) {
+            for (com.cometmod.config.MobEntry mob : theme.getMobs())
+                roles.add(mob.getId());
+        }
+        if (theme.getWaves() != null) {
+            for (WaveEntry wave : theme.getWaves()) {
+                if (bosses) {
+                    if (wave.getBosses() != null)
+                        for (com.cometmod.config.BossEntry boss : wave.getBosses())
+                            roles.add(boss.getId());
+                } else if (wave.getMobs() != null) {
+                    for (com.cometmod.config.MobEntry mob : wave.getMobs())
+                        roles.add(mob.getId());
+                }
+            }
+        }
+        return roles;
+    }
+
+    /**
+     * Get every mob and boss role a theme can spawn.
+     */
+    public static java.util.Set<String> getRoleIds(ThemeConfig theme) {
+        java.util.Set<String> roles = getRoleIds(theme, false);
+        roles.addAll(getRoleIds(theme, true));
+        return roles;
+    }
+
     /**
      * Get all theme IDs as array (for display/validation).
      * 
@@ -470,6 +526,21 @@ public class WaveThemeProvider {
         return wave.getBossIdsForTier(tierNum);
     }
 
+    /**
+     * Get the compiled plan of a wave: its mobs, bosses and multipliers at a tier.
+     *
+     * @param themeId   The theme ID
+     * @param tier      The comet tier
+     * @param waveIndex The wave index (0-based)
+     * @return The plan, or null if the theme or wave does not exist
+     */
+    public static WavePlan getWavePlan(String themeId, CometTier tier, int waveIndex) {
+        CometConfig config = CometConfig.getInstance();
+        if (config == null) return null;
+
+        return config.getWavePlan(themeId, getTierNumber(tier), waveIndex);
+    }
+
     /**
      * Get mob stat multipliers for a specific wave.
      *
@@ -19,6 +19,7 @@ public class ThemeConfig {
     private boolean useTierSuffix;
     private boolean randomBossSelection;
     private boolean naturalSpawn;  // If false, theme won't spawn naturally (manual spawn only)
+    private int maxAlive;  // Mobs of a wave alive at once, the rest trickle in (0 = no cap)
 
     // Multi-wave support: if waves is non-empty, it overrides mobs/bosses
     private List<WaveEntry> waves;
@@ -82,6 +83,13 @@ public class ThemeConfig {
         return naturalSpawn;
     }
 
+    /**
+     * @return Default cap on mobs of a wave alive at once, or 0 for no cap
+     */
+    public int getMaxAlive() {
+        return maxAlive;
+    }
+
     // Setters
     public void setId(String id) {
         this.id = id;
@@ -115,6 +123,10 @@ public class ThemeConfig {
         this.naturalSpawn = naturalSpawn;
     }
 
+    public void setMaxAlive(int maxAlive) {
+        this.maxAlive = Math.max(0, maxAlive);
+    }
+
     // ========== REWARD OVERRIDE ==========
 
     public Map<Integer, TierRewards> getRewardOverride() {
@@ -98,6 +98,12 @@ public class ThemeConfigParser {
                 theme.setNaturalSpawn(testOnly != null ? !testOnly : true);
             }
 
+            // Parse maxAlive (default 0 = no cap); waves may set their own, so only
+            // look outside the waves array
+            String wavesArray = extractJsonArray(json, "waves");
+            Integer maxAlive = extractIntValue(wavesArray != null ? json.replace(wavesArray, "") : json, "maxAlive");
+            theme.setMaxAlive(maxAlive != null ? maxAlive : 0);
+
             // Parse tiers array
             List<Integer> tiers = extractIntArray(json, "tiers");
             theme.setTiers(tiers);
@@ -351,6 +357,7 @@ public class ThemeConfigParser {
      * "waves": [
      *   { "type": "normal", "mobs": [...] },
      *   { "type": "normal", "mobs": [...] },
+     *   { "type": "normal", "mobs": [...], "maxAlive": 8 },
      *   { "type": "boss", "bosses": [...], "randomBossSelection": true }
      * ]
      */
@@ -386,6 +393,10 @@ public class ThemeConfigParser {
                 Boolean randomBossSelection = extractBooleanValue(waveJson, "randomBossSelection");
                 wave.setRandomBossSelection(randomBossSelection != null ? randomBossSelection : false);
 
+                // Parse maxAlive (default 0 = theme default)
+                Integer maxAlive = extractIntValue(waveJson, "maxAlive");
+                wave.setMaxAlive(maxAlive != null ? maxAlive : 0);
+
                 waves.add(wave);
             }
 
@@ -500,6 +511,18 @@ public class ThemeConfigParser {
                     if (timeout != null)
                         ts.setTimeoutSeconds(timeout);
 
+                    String waveClock = extractStringValue(tierJson, "waveClock");
+                    if (waveClock != null)
+                        ts.setWaveClock(TierSettings.WaveClock.fromString(waveClock));
+
+                    Integer clockTick = extractIntValue(tierJson, "clockTickMillis");
+                    if (clockTick != null)
+                        ts.setClockTickMillis(clockTick);
+
+                    Integer clockMaxTick = extractIntValue(tierJson, "clockMaxTickMillis");
+                    if (clockMaxTick != null)
+                        ts.setClockMaxTickMillis(clockMaxTick);
+
                     Double minRadius = extractDoubleValue(tierJson, "minRadius");
                     if (minRadius != null)
                         ts.setMinRadius(minRadius);
@@ -50,6 +50,42 @@ public class ThemeConfigWriter {
             boolean naturalSpawnsEnabled, boolean globalComets,
             Map<String, ThemeConfig> themes, Map<Integer, TierSettings> tierSettings,
             Map<Integer, TierRewards> rewardSettings, Map<String, ZoneSpawnChances> zoneSpawnChances) {
+        // Call overloaded method with defaults for new parameters
+        return generateFullConfig(minDelaySeconds, maxDelaySeconds, spawnChance,
+                despawnTimeMinutes, minSpawnDistance, maxSpawnDistance,
+                naturalSpawnsEnabled, globalComets, 4, 2000, // waveSpawnsPerTick, waveSpawnMicrosPerTick
+                themes, tierSettings, rewardSettings, zoneSpawnChances);
+    }
+
+    /**
+     * Generate complete config JSON with all settings including the wave spawn budget
+     */
+    public static String generateFullConfig(
+            int minDelaySeconds, int maxDelaySeconds, double spawnChance,
+            double despawnTimeMinutes, int minSpawnDistance, int maxSpawnDistance,
+            boolean naturalSpawnsEnabled, boolean globalComets,
+            int waveSpawnsPerTick, int waveSpawnMicrosPerTick,
+            Map<String, ThemeConfig> themes, Map<Integer, TierSettings> tierSettings,
+            Map<Integer, TierRewards> rewardSettings, Map<String, ZoneSpawnChances> zoneSpawnChances) {
+        return generateFullConfig(minDelaySeconds, maxDelaySeconds, spawnChance,
+                despawnTimeMinutes, minSpawnDistance, maxSpawnDistance,
+                naturalSpawnsEnabled, globalComets, waveSpawnsPerTick, waveSpawnMicrosPerTick,
+                0, "queue", // waveNpcBudget, waveBudgetPolicy
+                themes, tierSettings, rewardSettings, zoneSpawnChances);
+    }
+
+    /**
+     * Generate complete config JSON with all settings including the server-wide
+     * wave NPC budget
+     */
+    public static String generateFullConfig(
+            int minDelaySeconds, int maxDelaySeconds, double spawnChance,
+            double despawnTimeMinutes, int minSpawnDistance, int maxSpawnDistance,
+            boolean naturalSpawnsEnabled, boolean globalComets,
+            int waveSpawnsPerTick, int waveSpawnMicrosPerTick,
+            int waveNpcBudget, String waveBudgetPolicy,
+            Map<String, ThemeConfig> themes, Map<Integer, TierSettings> tierSettings,
+            Map<Integer, TierRewards> rewardSettings, Map<String, ZoneSpawnChances> zoneSpawnChances) {
 
         StringBuilder sb = new StringBuilder();
         sb.append("{\n");
@@ -63,7 +99,11 @@ public class ThemeConfigWriter {
         sb.append(INDENT).append(INDENT).append("\"despawnTimeMinutes\": ").append(despawnTimeMinutes).append(",\n");
         sb.append(INDENT).append(INDENT).append("\"minSpawnDistance\": ").append(minSpawnDistance).append(",\n");
         sb.append(INDENT).append(INDENT).append("\"maxSpawnDistance\": ").append(maxSpawnDistance).append(",\n");
-        sb.append(INDENT).append(INDENT).append("\"globalComets\": ").append(globalComets).append("\n");
+        sb.append(INDENT).append(INDENT).append("\"globalComets\": ").append(globalComets).append(",\n");
+        sb.append(INDENT).append(INDENT).append("\"waveSpawnsPerTick\": ").append(waveSpawnsPerTick).append(",\n");
+        sb.append(INDENT).append(INDENT).append("\"waveSpawnMicrosPerTick\": ").append(waveSpawnMicrosPerTick).append(",\n");
+        sb.append(INDENT).append(INDENT).append("\"waveNpcBudget\": ").append(waveNpcBudget).append(",\n");
+        sb.append(INDENT).append(INDENT).append("\"waveBudgetPolicy\": \"").append(waveBudgetPolicy).append("\"\n");
         sb.append(INDENT).append("},\n\n");
 
         // Zone spawn chances section
@@ -78,6 +118,12 @@ public class ThemeConfigWriter {
             sb.append(INDENT).append(INDENT).append("\"").append(entry.getKey()).append("\": {\n");
             sb.append(INDENT).append(INDENT).append(INDENT).append("\"timeoutSeconds\": ")
                     .append(ts.getTimeoutSeconds()).append(",\n");
+            sb.append(INDENT).append(INDENT).append(INDENT).append("\"waveClock\": \"")
+                    .append(ts.getWaveClock().getId()).append("\",\n");
+            sb.append(INDENT).append(INDENT).append(INDENT).append("\"clockTickMillis\": ")
+                    .append(ts.getClockTickMillis()).append(",\n");
+            sb.append(INDENT).append(INDENT).append(INDENT).append("\"clockMaxTickMillis\": ")
+                    .append(ts.getClockMaxTickMillis()).append(",\n");
             sb.append(INDENT).append(INDENT).append(INDENT).append("\"minRadius\": ").append(ts.getMinRadius())
                     .append(",\n");
             sb.append(INDENT).append(INDENT).append(INDENT).append("\"maxRadius\": ").append(ts.getMaxRadius())
@@ -172,6 +218,10 @@ public class ThemeConfigWriter {
         }
         sb.append("],\n");
 
+        if (theme.getMaxAlive() > 0) {
+            sb.append(i3).append("\"maxAlive\": ").append(theme.getMaxAlive()).append(",\n");
+        }
+
         // Write mobs array
         // Write mobs array
         sb.append(i3).append("\"mobs\": [\n");
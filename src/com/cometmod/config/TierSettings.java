@@ -5,9 +5,37 @@ package com.cometmod.config;
  */
 public class TierSettings {
 
+    /**
+     * How wave time is counted against the timeout. WALL counts real time;
+     * TICKS counts world ticks at clockTickMillis each; COMPENSATED counts real
+     * time but at most clockMaxTickMillis per tick, so time lost while the
+     * server lags is not charged to the players.
+     */
+    public enum WaveClock {
+        WALL, TICKS, COMPENSATED;
+
+        public static WaveClock fromString(String value) {
+            if (value != null) {
+                for (WaveClock clock : values()) {
+                    if (clock.name().equalsIgnoreCase(value.trim())) {
+                        return clock;
+                    }
+                }
+            }
+            return COMPENSATED;
+        }
+
+        public String getId() {
+            return name().toLowerCase();
+        }
+    }
+
     private int timeoutSeconds;
     private double minRadius;
     private double maxRadius;
+    private WaveClock waveClock = WaveClock.COMPENSATED;
+    private int clockTickMillis = 33; // One tick of wave time (TICKS)
+    private int clockMaxTickMillis = 250; // Most wave time one tick can count (COMPENSATED)
 
     // Default values for each tier
     public static final TierSettings TIER1_DEFAULTS = new TierSettings(90, 3.0, 5.0);
@@ -44,6 +72,18 @@ public class TierSettings {
         return maxRadius;
     }
 
+    public WaveClock getWaveClock() {
+        return waveClock;
+    }
+
+    public int getClockTickMillis() {
+        return clockTickMillis;
+    }
+
+    public int getClockMaxTickMillis() {
+        return clockMaxTickMillis;
+    }
+
     // Setters
     public void setTimeoutSeconds(int timeoutSeconds) {
         this.timeoutSeconds = Math.max(10, timeoutSeconds);
@@ -57,6 +97,18 @@ public class TierSettings {
         this.maxRadius = Math.max(this.minRadius + 1.0, maxRadius);
     }
 
+    public void setWaveClock(WaveClock waveClock) {
+        this.waveClock = waveClock != null ? waveClock : WaveClock.COMPENSATED;
+    }
+
+    public void setClockTickMillis(int clockTickMillis) {
+        this.clockTickMillis = Math.max(1, clockTickMillis);
+    }
+
+    public void setClockMaxTickMillis(int clockMaxTickMillis) {
+        this.clockMaxTickMillis = Math.max(1, clockMaxTickMillis);
+    }
+
     /**
      * Get default settings for a tier
      * 
@@ -80,6 +132,7 @@ public class TierSettings {
 
     @Override
     public String toString() {
-        return "TierSettings{timeout=" + timeoutSeconds + "s, radius=" + minRadius + "-" + maxRadius + "}";
+        return "TierSettings{timeout=" + timeoutSeconds + "s, radius=" + minRadius + "-" + maxRadius + ", clock="
+                + waveClock.getId() + "}";
     }
 }
@@ -23,6 +23,7 @@ public class WaveEntry {
     private List<MobEntry> mobs;
     private List<BossEntry> bosses;
     private boolean randomBossSelection;
+    private int maxAlive; // Mobs alive at once, the rest trickle in (0 = theme default)
 
     public WaveEntry() {
         this.type = WaveType.NORMAL;
@@ -55,6 +56,13 @@ public class WaveEntry {
         return randomBossSelection;
     }
 
+    /**
+     * @return Cap on this wave's mobs alive at once, or 0 to use the theme's
+     */
+    public int getMaxAlive() {
+        return maxAlive;
+    }
+
     public boolean isNormalWave() {
         return type == WaveType.NORMAL;
     }
@@ -88,6 +96,10 @@ public class WaveEntry {
         this.randomBossSelection = randomBossSelection;
     }
 
+    public void setMaxAlive(int maxAlive) {
+        this.maxAlive = Math.max(0, maxAlive);
+    }
+
     /**
      * Get all mob IDs for this wave at the given tier.
      *
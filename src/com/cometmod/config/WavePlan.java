@@ -0,0 +1,234 @@
+package com.cometmod.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * One wave of a theme at one tier, compiled from the theme config when it is
+ * loaded: the role ids to spawn with their counts expanded, whether each role
+ * attacks from range, and the stat multipliers of every mob and boss.
+ *
+ * Plans are immutable and shared by every comet running the theme, so starting
+ * a wave walks these arrays instead of looking up the theme, the wave entry and
+ * each mob's multipliers again. The returned arrays must not be modified.
+ */
+public final class WavePlan {
+
+    public static final int TIER_COUNT = 4;
+
+    // Role id fragments of mobs that attack from range (limited per wave)
+    private static final String[] RANGED_ROLES = {
+            "Archer", "Archmage", "Lobber", "Shaman", "Mage", "Ranger",
+            "Hunter", "Stalker", "Priest", "Gunner", "Alchemist"
+    };
+
+    private final boolean boss;
+    private final int maxAlive; // Mobs alive at once, 0 = no cap
+
+    // Normal wave: one entry per mob to spawn
+    private final String[] roleIds;
+    private final boolean[] ranged;
+    private final float[][] multipliers; // {hp, damage, scale, speed} or null per mob
+
+    // Boss wave
+    private final String[] bossIds;
+    private final float[][] bossMultipliers;
+    private final boolean randomBossSelection;
+    private final int[] randomBossPool; // Bosses a random pick is made from
+
+    private WavePlan(boolean boss, int maxAlive, String[] roleIds, boolean[] ranged, float[][] multipliers, String[] bossIds,
+            float[][] bossMultipliers, boolean randomBossSelection, int[] randomBossPool) {
+        this.boss = boss;
+        this.maxAlive = maxAlive;
+        this.roleIds = roleIds;
+        this.ranged = ranged;
+        this.multipliers = multipliers;
+        this.bossIds = bossIds;
+        this.bossMultipliers = bossMultipliers;
+        this.randomBossSelection = randomBossSelection;
+        this.randomBossPool = randomBossPool;
+    }
+
+    /**
+     * @return true if the role attacks from range and counts toward the per-wave
+     *         ranged limit
+     */
+    public static boolean isRangedRole(String roleId) {
+        if (roleId == null) {
+            return false;
+        }
+        for (String ranged : RANGED_ROLES) {
+            if (roleId.contains(ranged)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Compile every wave of a theme for every tier
+     *
+     * @return Plans indexed by [tier - 1][waveIndex]
+     */
+    public static WavePlan[][] compile(ThemeConfig theme) {
+        int waveCount = theme.getWaveCount();
+        WavePlan[][] plans = new WavePlan[TIER_COUNT][waveCount];
+        for (int waveIndex = 0; waveIndex < waveCount; waveIndex++) {
+            WaveEntry wave = theme.getWave(waveIndex);
+            if (wave == null) {
+                continue;
+            }
+            int maxAlive = wave.getMaxAlive() > 0 ? wave.getMaxAlive() : theme.getMaxAlive();
+            for (int tier = 1; tier <= TIER_COUNT; tier++) {
+                plans[tier - 1][waveIndex] = compile(wave, tier, maxAlive);
+            }
+        }
+        return plans;
+    }
+
+    /**
+     * Compile one wave entry at a tier (1-4)
+     *
+     * @param maxAlive Cap on mobs alive at once, 0 for no cap
+     */
+    public static WavePlan compile(WaveEntry wave, int tier, int maxAlive) {
+        String[] roleIds = wave.getMobIdsForTier(tier);
+        boolean[] ranged = new boolean[roleIds.length];
+        float[][] multipliers = new float[roleIds.length][];
+        for (int i = 0; i < roleIds.length; i++) {
+            ranged[i] = isRangedRole(roleIds[i]);
+            // Counts repeat the same role, so reuse the previous lookup
+            multipliers[i] = i > 0 && roleIds[i].equals(roleIds[i - 1]) ? multipliers[i - 1]
+                    : copy(wave.getMobMultipliers(tier, roleIds[i]));
+        }
+
+        List<BossEntry> bosses = wave.getBosses();
+        String[] bossIds = new String[bosses.size()];
+        float[][] bossMultipliers = new float[bosses.size()][];
+        List<Integer> pool = new ArrayList<>();
+        for (int i = 0; i < bossIds.length; i++) {
+            bossIds[i] = bosses.get(i).getId();
+            bossMultipliers[i] = copy(wave.getBossMultipliers(tier, bossIds[i]));
+            if (bosses.get(i).getMultipliersForTier(tier) != null) {
+                pool.add(i);
+            }
+        }
+        // No boss has multipliers for this tier: pick from all of them
+        if (pool.isEmpty()) {
+            for (int i = 0; i < bossIds.length; i++) {
+                pool.add(i);
+            }
+        }
+        int[] randomBossPool = new int[pool.size()];
+        for (int i = 0; i < randomBossPool.length; i++) {
+            randomBossPool[i] = pool.get(i);
+        }
+
+        return new WavePlan(wave.isBossWave(), maxAlive, roleIds, ranged, multipliers, bossIds, bossMultipliers,
+                wave.useRandomBossSelection(), randomBossPool);
+    }
+
+    /**
+     * Plan for a fixed list of mobs without multipliers (legacy fallback lists)
+     */
+    public static WavePlan ofMobs(String[] roleIds) {
+        String[] ids = roleIds.clone();
+        boolean[] ranged = new boolean[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            ranged[i] = isRangedRole(ids[i]);
+        }
+        return new WavePlan(false, 0, ids, ranged, new float[ids.length][], new String[0], new float[0][], false,
+                new int[0]);
+    }
+
+    /**
+     * Plan for a fixed list of bosses without multipliers (legacy fallback lists)
+     */
+    public static WavePlan ofBosses(List<String> bossIds) {
+        return new WavePlan(true, 0, new String[0], new boolean[0], new float[0][], bossIds.toArray(new String[0]),
+                new float[bossIds.size()][], false, new int[0]);
+    }
+
+    private static float[] copy(float[] multipliers) {
+        return multipliers != null ? multipliers.clone() : null;
+    }
+
+    public boolean isBossWave() {
+        return boss;
+    }
+
+    /**
+     * @return Cap on the wave's mobs alive at once; the rest spawn as earlier
+     *         ones die. 0 for no cap.
+     */
+    public int getMaxAlive() {
+        return maxAlive;
+    }
+
+    /**
+     * @return Number of mobs in a normal wave
+     */
+    public int getMobCount() {
+        return roleIds.length;
+    }
+
+    public String getRoleId(int mob) {
+        return roleIds[mob];
+    }
+
+    public boolean isRanged(int mob) {
+        return ranged[mob];
+    }
+
+    /**
+     * @return {hp, damage, scale, speed} for a mob, or null if not set
+     */
+    public float[] getMultipliers(int mob) {
+        return multipliers[mob];
+    }
+
+    public int getBossCount() {
+        return bossIds.length;
+    }
+
+    /**
+     * @return Number of bosses one encounter spawns (one under random selection)
+     */
+    public int getBossSpawnCount() {
+        return randomBossSelection && bossIds.length > 0 ? 1 : bossIds.length;
+    }
+
+    public String getBossId(int boss) {
+        return bossIds[boss];
+    }
+
+    /**
+     * @return {hp, damage, scale, speed} for a boss, or null if not set
+     */
+    public float[] getBossMultipliers(int boss) {
+        return bossMultipliers[boss];
+    }
+
+    /**
+     * Choose the bosses of one encounter: all of them, or a single random one
+     * when the wave uses random boss selection
+     *
+     * @return Boss indices to spawn
+     */
+    public int[] pickBosses(Random random) {
+        if (!randomBossSelection || bossIds.length == 0) {
+            int[] all = new int[bossIds.length];
+            for (int i = 0; i < all.length; i++) {
+                all[i] = i;
+            }
+            return all;
+        }
+        return new int[] { randomBossPool[random.nextInt(randomBossPool.length)] };
+    }
+
+    @Override
+    public String toString() {
+        return "WavePlan{boss=" + boss + ", mobs=" + roleIds.length + ", bosses=" + bossIds.length + "}";
+    }
+}